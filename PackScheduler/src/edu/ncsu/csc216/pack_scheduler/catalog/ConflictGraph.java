@@ -0,0 +1,205 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Class maintains a graph of meeting time conflicts between all Courses in a
+ * CourseCatalog. Each Course is given a slot and a BitSet row marking the slots
+ * of every Course it conflicts with. Rows are updated incrementally as Courses
+ * are added, removed, or retimed through the CourseCatalog, so conflict queries
+ * are answered from the rows instead of comparing meeting times pairwise.
+ *
+ * @author Nick Garner
+ *
+ */
+public class ConflictGraph {
+
+	/** Initial number of slots */
+	private static final int INIT_SIZE = 16;
+	/** Course held in each slot, null if the slot is free */
+	private Course[] slots;
+	/** Conflict row for each slot */
+	private BitSet[] rows;
+	/** Slots currently holding a Course */
+	private BitSet active;
+	/** Slot of each Course in the graph, by identity since Course hash codes change */
+	private IdentityHashMap<Course, Integer> slotIndex;
+
+	/**
+	 * Constructs an empty ConflictGraph
+	 */
+	public ConflictGraph() {
+		slots = new Course[INIT_SIZE];
+		rows = new BitSet[INIT_SIZE];
+		active = new BitSet();
+		slotIndex = new IdentityHashMap<Course, Integer>();
+	}
+
+	/**
+	 * Adds the given Course to the graph, comparing it once against every Course
+	 * already in the graph.
+	 *
+	 * @param c Course to add
+	 */
+	void add(Course c) {
+		if (slotIndex.containsKey(c)) {
+			return;
+		}
+		int slot = active.nextClearBit(0);
+		if (slot == slots.length) {
+			slots = Arrays.copyOf(slots, slots.length * 2);
+			rows = Arrays.copyOf(rows, rows.length * 2);
+		}
+		BitSet row = new BitSet();
+		for (int i = active.nextSetBit(0); i >= 0; i = active.nextSetBit(i + 1)) {
+			if (c.conflictsWith(slots[i])) {
+				row.set(i);
+				rows[i].set(slot);
+			}
+		}
+		slots[slot] = c;
+		rows[slot] = row;
+		active.set(slot);
+		slotIndex.put(c, slot);
+	}
+
+	/**
+	 * Removes the given Course from the graph and from the rows of every Course it
+	 * conflicts with.
+	 *
+	 * @param c Course to remove
+	 */
+	void remove(Course c) {
+		Integer slot = slotIndex.remove(c);
+		if (slot == null) {
+			return;
+		}
+		BitSet row = rows[slot];
+		for (int i = row.nextSetBit(0); i >= 0; i = row.nextSetBit(i + 1)) {
+			rows[i].clear(slot);
+		}
+		slots[slot] = null;
+		rows[slot] = null;
+		active.clear(slot);
+	}
+
+	/**
+	 * Recomputes the conflicts of a Course in the graph after its meeting days or
+	 * times have changed.
+	 *
+	 * @param c Course to update
+	 */
+	void update(Course c) {
+		if (slotIndex.containsKey(c)) {
+			remove(c);
+			add(c);
+		}
+	}
+
+	/**
+	 * Returns the number of Courses in the graph
+	 *
+	 * @return Number of Courses in the graph
+	 */
+	public int size() {
+		return slotIndex.size();
+	}
+
+	/**
+	 * Returns true if the two Courses conflict. Courses in the graph are looked up
+	 * in their conflict row; otherwise their meeting times are compared.
+	 *
+	 * @param a First Course
+	 * @param b Second Course
+	 * @return True if the Courses meet on a shared day at overlapping times
+	 */
+	public boolean conflicts(Course a, Course b) {
+		Integer slotA = slotIndex.get(a);
+		Integer slotB = slotIndex.get(b);
+		if (slotA != null && slotB != null) {
+			return rows[slotA].get(slotB);
+		}
+		return a.conflictsWith(b);
+	}
+
+	/**
+	 * Returns all Courses in the graph that conflict with the given Course, in
+	 * sorted order.
+	 *
+	 * @param c Course to find conflicts for
+	 * @return Array of conflicting Courses
+	 */
+	public Course[] getConflictingCourses(Course c) {
+		BitSet conflicts = new BitSet();
+		addConflicts(conflicts, c);
+		conflicts.and(active);
+		Integer slot = slotIndex.get(c);
+		if (slot != null) {
+			conflicts.clear(slot);
+		}
+		return toCourses(conflicts);
+	}
+
+	/**
+	 * Returns all Courses in the graph that conflict with none of the given
+	 * scheduled Courses, in sorted order. The scheduled Courses themselves are not
+	 * included.
+	 *
+	 * @param schedule Courses already on a schedule
+	 * @return Array of Courses that can be added without a time conflict
+	 */
+	public Course[] getNonConflictingCourses(Course[] schedule) {
+		BitSet blocked = new BitSet();
+		for (int i = 0; i < schedule.length; i++) {
+			addConflicts(blocked, schedule[i]);
+			Integer slot = slotIndex.get(schedule[i]);
+			if (slot != null) {
+				blocked.set(slot);
+			}
+		}
+		BitSet open = (BitSet) active.clone();
+		open.andNot(blocked);
+		return toCourses(open);
+	}
+
+	/**
+	 * Sets the slot of every Course in the graph that conflicts with the given
+	 * Course. Uses the Course's row if it is in the graph, otherwise compares
+	 * meeting times against every Course in the graph.
+	 *
+	 * @param conflicts BitSet to add conflicting slots to
+	 * @param c         Course to find conflicts for
+	 */
+	private void addConflicts(BitSet conflicts, Course c) {
+		Integer slot = slotIndex.get(c);
+		if (slot != null) {
+			conflicts.or(rows[slot]);
+			return;
+		}
+		for (int i = active.nextSetBit(0); i >= 0; i = active.nextSetBit(i + 1)) {
+			if (c.conflictsWith(slots[i])) {
+				conflicts.set(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the Courses in the given slots in sorted order
+	 *
+	 * @param set Slots to return Courses for
+	 * @return Sorted array of Courses
+	 */
+	private Course[] toCourses(BitSet set) {
+		Course[] output = new Course[set.cardinality()];
+		int index = 0;
+		for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+			output[index++] = slots[i];
+		}
+		Arrays.sort(output);
+		return output;
+	}
+}
@@ -2,10 +2,14 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.HashMap;
 
 import edu.ncsu.csc216.collections.list.SortedList;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.OperationLog;
+import edu.ncsu.csc216.pack_scheduler.io.SegmentedRecordFile;
 
 /**
  * CourseCatalog maintains a SortedList of all Courses that may be scheduled,
@@ -19,6 +23,14 @@ public class CourseCatalog {
 
 	/** SortedList to contain courses for scheduling */
 	private SortedList<Course> catalog;
+	/** Index of catalog courses keyed by name and section for constant time lookup */
+	private HashMap<String, Course> courseIndex;
+	/** Meeting time conflicts between courses in the catalog */
+	private ConflictGraph conflictGraph;
+	/** Receives catalog edits to log, or null if edits are not logged */
+	private EditLog editLog;
+	/** Tracks the courses as last loaded or saved, or null if neither */
+	private SegmentedRecordFile savedFile;
 
 	/**
 	 * Constructs an empty CourseCatalog object
@@ -33,6 +45,9 @@ public class CourseCatalog {
 	 */
 	public void newCourseCatalog() {
 		catalog = new SortedList<Course>();
+		courseIndex = new HashMap<String, Course>();
+		conflictGraph = new ConflictGraph();
+		savedFile = null;
 	}
 
 	/**
@@ -48,7 +63,74 @@ public class CourseCatalog {
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		buildIndexes();
+		savedFile = CourseRecordIO.openSegmentedFile(fileName, catalog);
+	}
+
+	/**
+	 * Constructs the course catalog by reading in course information from given
+	 * file, binding each course to its instructor in the given faculty directory
+	 * rather than the RegistrationManager's. If the directory is null, courses
+	 * keep the instructor ids of their records.
+	 * 
+	 * @param fileName File containing the courses to be loaded
+	 * @param faculty  Directory of the instructors to bind, or null
+	 * @throws IllegalArgumentException When given file cannot be read
+	 */
+	public void loadCoursesFromFile(String fileName, FacultyDirectory faculty) {
+		try {
+			catalog = CourseRecordIO.readCourseRecords(fileName, null, faculty);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		buildIndexes();
+		savedFile = CourseRecordIO.openSegmentedFile(fileName, catalog);
+	}
 
+	/**
+	 * Replaces the catalog with the given courses, which must have distinct names
+	 * and sections. Used to restore a saved snapshot without reparsing records.
+	 * 
+	 * @param courses Courses to place in the catalog
+	 * @throws IllegalArgumentException If two courses share a name and section
+	 */
+	public void loadCourses(Course[] courses) {
+		SortedList<Course> list = new SortedList<Course>();
+		for (int i = 0; i < courses.length; i++) {
+			list.add(courses[i]);
+		}
+		catalog = list;
+		buildIndexes();
+		savedFile = null;
+		if (courseIndex.size() != catalog.size()) {
+			newCourseCatalog();
+			throw new IllegalArgumentException("Duplicate course in catalog.");
+		}
+	}
+
+	/**
+	 * Rebuilds the course index and conflict graph from the catalog list
+	 */
+	private void buildIndexes() {
+		courseIndex = new HashMap<String, Course>();
+		conflictGraph = new ConflictGraph();
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			courseIndex.put(getKey(c.getName(), c.getSection()), c);
+			conflictGraph.add(c);
+		}
+	}
+
+	/**
+	 * Sets the EditLog that adds, removes, and meeting changes are made through.
+	 * Each edit is started with beginEdit, appended to the log it returns if it
+	 * succeeds, and ended with endEdit. Loading or clearing the catalog is not
+	 * logged.
+	 * 
+	 * @param editLog EditLog to make edits through, or null to stop logging
+	 */
+	public void setEditLog(EditLog editLog) {
+		this.editLog = editLog;
 	}
 
 	/**
@@ -78,12 +160,27 @@ public class CourseCatalog {
 			courseAdd = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime,
 					endTime);
 		}
-		for (int i = 0; i < catalog.size(); i++) {
-			if (courseAdd.compareTo(catalog.get(i)) == 0) {
+		String key = getKey(courseAdd.getName(), courseAdd.getSection());
+		EditLog edits = editLog;
+		OperationLog log = edits == null ? null : edits.beginEdit();
+		long sequence = 0;
+		try {
+			if (courseIndex.containsKey(key) || !catalog.add(courseAdd)) {
 				return false;
 			}
+			courseIndex.put(key, courseAdd);
+			conflictGraph.add(courseAdd);
+			if (log != null) {
+				sequence = log.append(OperationLog.ADD_COURSE, courseAdd.getName(), courseAdd.getTitle(),
+						courseAdd.getSection(), String.valueOf(credits), instructorId, String.valueOf(enrollmentCap),
+						meetingDays, String.valueOf(startTime), String.valueOf(endTime));
+			}
+			return true;
+		} finally {
+			if (edits != null) {
+				edits.endEdit(log, sequence);
+			}
 		}
-		return catalog.add(courseAdd);
 	}
 
 	/**
@@ -95,14 +192,82 @@ public class CourseCatalog {
 	 * @return True if removed, false otherwise
 	 */
 	public boolean removeCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			Course c = catalog.get(i);
-			if (c.getName().equals(name) && c.getSection().equals(section)) {
-				catalog.remove(i);
-				return true;
+		EditLog edits = editLog;
+		OperationLog log = edits == null ? null : edits.beginEdit();
+		long sequence = 0;
+		try {
+			Course c = courseIndex.remove(getKey(name, section));
+			if (c == null) {
+				return false;
+			}
+			catalog.remove(indexOf(c));
+			conflictGraph.remove(c);
+			if (log != null) {
+				sequence = log.append(OperationLog.REMOVE_COURSE, name, section);
+			}
+			return true;
+		} finally {
+			if (edits != null) {
+				edits.endEdit(log, sequence);
+			}
+		}
+	}
+
+	/**
+	 * Changes the meeting days and times of the course with matching name and
+	 * section and updates its conflicts in the catalog's conflict graph. If the
+	 * new meeting information is invalid the course is left unchanged.
+	 * 
+	 * @param name        Name of course to update
+	 * @param section     Section of course to update
+	 * @param meetingDays New meeting days for the course
+	 * @param startTime   New starting time in 24hr format
+	 * @param endTime     New ending time in 24hr format
+	 * @return True if the course was found and updated, false if not found
+	 * @throws IllegalArgumentException If the meeting days or times are invalid
+	 */
+	public boolean setCourseMeeting(String name, String section, String meetingDays, int startTime, int endTime) {
+		EditLog edits = editLog;
+		OperationLog log = edits == null ? null : edits.beginEdit();
+		long sequence = 0;
+		try {
+			Course c = getCourseFromCatalog(name, section);
+			if (c == null) {
+				return false;
+			}
+			String oldDays = c.getMeetingDays();
+			int oldStart = c.getStartTime();
+			int oldEnd = c.getEndTime();
+			try {
+				c.setMeetingDays(meetingDays);
+				c.setActivityTime(startTime, endTime);
+			} catch (IllegalArgumentException e) {
+				c.setMeetingDays(oldDays);
+				c.setActivityTime(oldStart, oldEnd);
+				throw e;
+			}
+			conflictGraph.update(c);
+			if (log != null) {
+				sequence = log.append(OperationLog.SET_COURSE_MEETING, name, section, meetingDays,
+						String.valueOf(startTime), String.valueOf(endTime));
+			}
+			return true;
+		} finally {
+			if (edits != null) {
+				edits.endEdit(log, sequence);
 			}
 		}
-		return false;
+	}
+
+	/**
+	 * Returns the graph of meeting time conflicts between the courses in the
+	 * catalog. The graph is kept up to date as courses are added, removed, loaded,
+	 * or changed through setCourseMeeting.
+	 * 
+	 * @return ConflictGraph of the catalog's courses
+	 */
+	public ConflictGraph getConflictGraph() {
+		return conflictGraph;
 	}
 
 	/**
@@ -114,12 +279,49 @@ public class CourseCatalog {
 	 * @return Returns course if found, otherwise returns null
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			if (catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section)) {
-				return catalog.get(i);
+		return courseIndex.get(getKey(name, section));
+	}
+
+	/**
+	 * Returns every section of the course with the given name, in section order.
+	 * The catalog is sorted by name, so the sections are found by binary search.
+	 * 
+	 * @param name Course name to search
+	 * @return Array of all sections with the given name, empty if none
+	 */
+	public Course[] getCourseSections(String name) {
+		int low = 0;
+		int high = catalog.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (catalog.get(mid).getName().compareTo(name) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
 			}
 		}
-		return null;
+		int end = low;
+		while (end < catalog.size() && catalog.get(end).getName().equals(name)) {
+			end++;
+		}
+		Course[] sections = new Course[end - low];
+		for (int i = low; i < end; i++) {
+			sections[i - low] = catalog.get(i);
+		}
+		return sections;
+	}
+
+	/**
+	 * Returns every Course in the catalog in sorted order
+	 * 
+	 * @return Array of all courses in the catalog
+	 */
+	public Course[] getCourses() {
+		Course[] courses = new Course[catalog.size()];
+		for (int i = 0; i < catalog.size(); i++) {
+			courses[i] = catalog.get(i);
+		}
+		return courses;
 	}
 
 	/**
@@ -154,6 +356,90 @@ public class CourseCatalog {
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
+		savedFile = CourseRecordIO.openSegmentedFile(fileName, catalog);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Saves only the courses added, changed, or removed since the catalog was
+	 * last loaded from or saved to the given file. If the catalog was last loaded
+	 * or saved elsewhere, every course is saved.
+	 * 
+	 * @param fileName Name of file to save course catalog to
+	 * @return Number of course records written
+	 * @throws IllegalArgumentException If file cannot be written to
+	 */
+	public int saveCourseCatalogChanges(String fileName) {
+		if (savedFile == null || !savedFile.getFileName().equals(fileName)) {
+			saveCourseCatalog(fileName);
+			return catalog.size();
+		}
+		try {
+			return CourseRecordIO.writeCourseChanges(savedFile, catalog);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
+	/**
+	 * Returns the key used to index a course by its name and section. Course
+	 * records are comma separated, so a comma cannot appear in either field.
+	 * 
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return Key combining name and section
+	 */
+	private static String getKey(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Binary searches the sorted catalog for the position of the given course.
+	 * 
+	 * @param course Course to locate, must be present in the catalog
+	 * @return Index of the course in the catalog, or -1 if not found
+	 */
+	private int indexOf(Course course) {
+		int low = 0;
+		int high = catalog.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = catalog.get(mid).compareTo(course);
+			if (compare < 0) {
+				low = mid + 1;
+			} else if (compare > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Logs the edits of a CourseCatalog. An edit is begun before the catalog is
+	 * changed and ended after its record is appended, so that whatever logs the
+	 * edits can keep them in step with its other operations and checkpoints.
+	 * 
+	 * @author Nick Garner
+	 *
+	 */
+	public interface EditLog {
+
+		/**
+		 * Starts an edit of the catalog
+		 * 
+		 * @return Log to append the edit to, or null if edits are not logged
+		 */
+		OperationLog beginEdit();
+
+		/**
+		 * Ends an edit started with beginEdit, once its record is appended. Called
+		 * whether or not the edit succeeded.
+		 * 
+		 * @param log      Log returned by beginEdit
+		 * @param sequence Sequence number of the appended record, or 0 if nothing
+		 *                 was logged
+		 */
+		void endEdit(OperationLog log, long sequence);
+	}
+}
@@ -0,0 +1,430 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Class generates schedules for a Student from a list of desired course names.
+ * Every section in the CourseCatalog with an open seat that the Student's
+ * current Schedule can accept is a candidate. Combinations of at most one
+ * section per course are searched in parallel on a fork/join pool, skipping
+ * sections that conflict with sections already chosen or exceed the Student's
+ * remaining credits, and pruning branches that cannot beat the schedules
+ * already found.
+ *
+ * Schedules are ranked by number of desired courses included, then by total
+ * credits, then by course order, and the best are returned.
+ *
+ * @author Nick Garner
+ *
+ */
+public class ScheduleGenerator {
+
+	/** Search depths below this are split into parallel tasks */
+	private static final int FORK_DEPTH = 2;
+	/** Weight of each course in a schedule's score, greater than any credit total */
+	private static final int COURSE_WEIGHT = 32;
+	/** Catalog to choose sections from */
+	private CourseCatalog catalog;
+	/** Pool to run the search on */
+	private ForkJoinPool pool;
+
+	/**
+	 * Constructs a ScheduleGenerator for the given catalog that searches on the
+	 * common fork/join pool.
+	 *
+	 * @param catalog Catalog to choose sections from
+	 * @throws IllegalArgumentException If catalog is null
+	 */
+	public ScheduleGenerator(CourseCatalog catalog) {
+		this(catalog, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a ScheduleGenerator for the given catalog that searches on the
+	 * given fork/join pool.
+	 *
+	 * @param catalog Catalog to choose sections from
+	 * @param pool    Pool to run the search on
+	 * @throws IllegalArgumentException If catalog or pool is null
+	 */
+	public ScheduleGenerator(CourseCatalog catalog, ForkJoinPool pool) {
+		if (catalog == null || pool == null) {
+			throw new IllegalArgumentException("Invalid schedule generator.");
+		}
+		this.catalog = catalog;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns up to maxResults of the best schedules of sections for the given
+	 * course names that can be added to the Student's current Schedule. Each
+	 * schedule holds at most one section of each course, sorted in catalog order.
+	 * If the time limit passes, the best schedules found so far are returned.
+	 *
+	 * @param student     Student to build schedules for
+	 * @param courseNames Names of the courses the Student wants
+	 * @param maxResults  Maximum number of schedules to return
+	 * @param timeLimit   Time limit for the search in milliseconds, or zero for
+	 *                    no limit
+	 * @return Schedules ordered best first, each an array of sections to add
+	 * @throws IllegalArgumentException If student or courseNames is null, or if
+	 *                                  maxResults is less than 1 or timeLimit is
+	 *                                  negative
+	 */
+	public Course[][] generateSchedules(Student student, String[] courseNames, int maxResults, long timeLimit) {
+		if (student == null || courseNames == null) {
+			throw new IllegalArgumentException("Invalid schedule request.");
+		}
+		if (maxResults < 1 || timeLimit < 0) {
+			throw new IllegalArgumentException("Invalid schedule request.");
+		}
+		Schedule schedule = student.getSchedule();
+		int creditLimit = student.getMaxCredits() - schedule.getScheduleCredits();
+
+		// Candidate sections for each distinct course name
+		LinkedHashSet<String> names = new LinkedHashSet<String>(Arrays.asList(courseNames));
+		Course[][] groups = new Course[names.size()][];
+		int numGroups = 0;
+		for (String name : names) {
+			Course[] sections = catalog.getCourseSections(name);
+			Course[] candidates = new Course[sections.length];
+			int numCandidates = 0;
+			for (int i = 0; i < sections.length; i++) {
+				Course c = sections[i];
+				if (c.getCredits() <= creditLimit && c.getCourseRoll().getOpenSeats() > 0 && schedule.canAdd(c)) {
+					candidates[numCandidates++] = c;
+				}
+			}
+			if (numCandidates > 0) {
+				groups[numGroups++] = Arrays.copyOf(candidates, numCandidates);
+			}
+		}
+		groups = Arrays.copyOf(groups, numGroups);
+		// Courses with the fewest sections first so conflicts prune early
+		Arrays.sort(groups, Comparator.comparingInt(g -> g.length));
+
+		Search search = new Search(groups, creditLimit, maxResults,
+				timeLimit == 0 ? Long.MAX_VALUE : System.nanoTime() + timeLimit * 1000000L);
+		pool.invoke(new SearchTask(search, 0, new int[numGroups], 0, 0));
+		return search.getResults();
+	}
+
+	/**
+	 * Shared state of one schedule search: the candidate sections, their
+	 * conflicts, and the best schedules found so far.
+	 */
+	private static class Search {
+
+		/** All candidate sections */
+		private Course[] candidates;
+		/** Index in candidates of the first section of each group */
+		private int[] groupStart;
+		/** Candidates each candidate conflicts with */
+		private BitSet[] conflicts;
+		/** Most credits any section of each group and all later groups can add */
+		private int[] remainingCredits;
+		/** Credits the Student can still add */
+		private int creditLimit;
+		/** Number of schedules to keep */
+		private int maxResults;
+		/** Time to stop searching, from System.nanoTime */
+		private long deadline;
+		/** Best schedules found so far, worst at the head */
+		private PriorityQueue<Result> results;
+		/** Score a schedule must reach to be kept once results is full */
+		private volatile int threshold;
+
+		/**
+		 * Sets up a search over the given groups of sections
+		 *
+		 * @param groups      Candidate sections of each course
+		 * @param creditLimit Credits the Student can still add
+		 * @param maxResults  Number of schedules to keep
+		 * @param deadline    Time to stop searching, from System.nanoTime
+		 */
+		Search(Course[][] groups, int creditLimit, int maxResults, long deadline) {
+			this.creditLimit = creditLimit;
+			this.maxResults = maxResults;
+			this.deadline = deadline;
+			this.results = new PriorityQueue<Result>(maxResults + 1);
+			this.threshold = Integer.MIN_VALUE;
+
+			groupStart = new int[groups.length + 1];
+			for (int g = 0; g < groups.length; g++) {
+				groupStart[g + 1] = groupStart[g] + groups[g].length;
+			}
+			candidates = new Course[groupStart[groups.length]];
+			for (int g = 0; g < groups.length; g++) {
+				System.arraycopy(groups[g], 0, candidates, groupStart[g], groups[g].length);
+			}
+			conflicts = new BitSet[candidates.length];
+			for (int i = 0; i < candidates.length; i++) {
+				conflicts[i] = new BitSet(candidates.length);
+			}
+			for (int i = 0; i < candidates.length; i++) {
+				for (int j = i + 1; j < candidates.length; j++) {
+					if (candidates[i].conflictsWith(candidates[j])) {
+						conflicts[i].set(j);
+						conflicts[j].set(i);
+					}
+				}
+			}
+			remainingCredits = new int[groups.length + 1];
+			for (int g = groups.length - 1; g >= 0; g--) {
+				int max = 0;
+				for (int i = 0; i < groups[g].length; i++) {
+					max = Math.max(max, groups[g][i].getCredits());
+				}
+				remainingCredits[g] = remainingCredits[g + 1] + max;
+			}
+		}
+
+		/**
+		 * Returns the number of groups in the search
+		 *
+		 * @return Number of groups
+		 */
+		int getNumGroups() {
+			return groupStart.length - 1;
+		}
+
+		/**
+		 * Returns true if a branch at the given group with the given courses and
+		 * credits chosen could still produce a schedule worth keeping.
+		 *
+		 * @param group   Group the branch is at
+		 * @param count   Number of sections chosen
+		 * @param credits Credits of the sections chosen
+		 * @return True if the branch should be searched
+		 */
+		boolean isPromising(int group, int count, int credits) {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			int bestCount = count + getNumGroups() - group;
+			int bestCredits = Math.min(creditLimit, credits + remainingCredits[group]);
+			return bestCount * COURSE_WEIGHT + bestCredits >= threshold;
+		}
+
+		/**
+		 * Records a complete schedule if it ranks among the best found
+		 *
+		 * @param chosen  Candidate index chosen for each group, -1 if skipped
+		 * @param count   Number of sections chosen
+		 * @param credits Credits of the sections chosen
+		 */
+		void record(int[] chosen, int count, int credits) {
+			if (count == 0) {
+				return;
+			}
+			Course[] courses = new Course[count];
+			int index = 0;
+			for (int g = 0; g < chosen.length; g++) {
+				if (chosen[g] >= 0) {
+					courses[index++] = candidates[chosen[g]];
+				}
+			}
+			Arrays.sort(courses);
+			Result result = new Result(courses, count * COURSE_WEIGHT + credits);
+			synchronized (results) {
+				if (results.size() < maxResults) {
+					results.add(result);
+				} else if (result.compareTo(results.peek()) > 0) {
+					results.poll();
+					results.add(result);
+				}
+				if (results.size() == maxResults) {
+					threshold = results.peek().score;
+				}
+			}
+		}
+
+		/**
+		 * Returns the schedules found, best first
+		 *
+		 * @return Array of schedules
+		 */
+		Course[][] getResults() {
+			synchronized (results) {
+				Result[] sorted = results.toArray(new Result[results.size()]);
+				Arrays.sort(sorted, Comparator.reverseOrder());
+				Course[][] output = new Course[sorted.length][];
+				for (int i = 0; i < sorted.length; i++) {
+					output[i] = sorted[i].courses;
+				}
+				return output;
+			}
+		}
+	}
+
+	/**
+	 * Task searching every schedule that extends a partial choice of sections.
+	 * Tasks near the top of the search fork a subtask for each option; deeper
+	 * tasks search sequentially.
+	 */
+	private static class SearchTask extends RecursiveAction {
+
+		/** Serial version UID */
+		private static final long serialVersionUID = 1L;
+		/** Search this task is part of */
+		private final Search search;
+		/** Group to choose a section for */
+		private final int group;
+		/** Candidate index chosen for each earlier group, -1 if skipped */
+		private final int[] chosen;
+		/** Number of sections chosen */
+		private final int count;
+		/** Credits of the sections chosen */
+		private final int credits;
+
+		/**
+		 * Constructs a task for the given partial choice
+		 *
+		 * @param search  Search this task is part of
+		 * @param group   Group to choose a section for
+		 * @param chosen  Candidate index chosen for each earlier group
+		 * @param count   Number of sections chosen
+		 * @param credits Credits of the sections chosen
+		 */
+		SearchTask(Search search, int group, int[] chosen, int count, int credits) {
+			this.search = search;
+			this.group = group;
+			this.chosen = chosen;
+			this.count = count;
+			this.credits = credits;
+		}
+
+		/**
+		 * Searches this task's branch
+		 */
+		@Override
+		protected void compute() {
+			if (group >= FORK_DEPTH || group == search.getNumGroups()) {
+				searchBranch(chosen, group, count, credits);
+				return;
+			}
+			if (!search.isPromising(group, count, credits)) {
+				return;
+			}
+			int start = search.groupStart[group];
+			int end = search.groupStart[group + 1];
+			SearchTask[] tasks = new SearchTask[end - start + 1];
+			int numTasks = 0;
+			for (int i = start; i < end; i++) {
+				if (canChoose(chosen, group, i, credits)) {
+					int[] next = chosen.clone();
+					next[group] = i;
+					tasks[numTasks++] = new SearchTask(search, group + 1, next, count + 1,
+							credits + search.candidates[i].getCredits());
+				}
+			}
+			int[] next = chosen.clone();
+			next[group] = -1;
+			tasks[numTasks++] = new SearchTask(search, group + 1, next, count, credits);
+			invokeAll(Arrays.copyOf(tasks, numTasks));
+		}
+
+		/**
+		 * Searches all schedules extending the given choice sequentially, reusing
+		 * the chosen array.
+		 *
+		 * @param path     Candidate index chosen for each earlier group
+		 * @param g        Group to choose a section for
+		 * @param numCourses Number of sections chosen
+		 * @param numCredits Credits of the sections chosen
+		 */
+		private void searchBranch(int[] path, int g, int numCourses, int numCredits) {
+			if (g == search.getNumGroups()) {
+				search.record(path, numCourses, numCredits);
+				return;
+			}
+			if (!search.isPromising(g, numCourses, numCredits)) {
+				return;
+			}
+			for (int i = search.groupStart[g]; i < search.groupStart[g + 1]; i++) {
+				if (canChoose(path, g, i, numCredits)) {
+					path[g] = i;
+					searchBranch(path, g + 1, numCourses + 1, numCredits + search.candidates[i].getCredits());
+				}
+			}
+			path[g] = -1;
+			searchBranch(path, g + 1, numCourses, numCredits);
+		}
+
+		/**
+		 * Returns true if the candidate fits the remaining credits and conflicts
+		 * with no section chosen for an earlier group.
+		 *
+		 * @param path       Candidate index chosen for each earlier group
+		 * @param g          Group of the candidate
+		 * @param candidate  Candidate index to check
+		 * @param numCredits Credits of the sections chosen
+		 * @return True if the candidate can be added
+		 */
+		private boolean canChoose(int[] path, int g, int candidate, int numCredits) {
+			if (numCredits + search.candidates[candidate].getCredits() > search.creditLimit) {
+				return false;
+			}
+			BitSet conflicts = search.conflicts[candidate];
+			for (int i = 0; i < g; i++) {
+				if (path[i] >= 0 && conflicts.get(path[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * A generated schedule and its score. Results are ordered by score, then by
+	 * course order with earlier courses ranking higher.
+	 */
+	private static class Result implements Comparable<Result> {
+
+		/** Sections in the schedule in catalog order */
+		private final Course[] courses;
+		/** Score of the schedule */
+		private final int score;
+
+		/**
+		 * Constructs a Result
+		 *
+		 * @param courses Sections in the schedule in catalog order
+		 * @param score   Score of the schedule
+		 */
+		Result(Course[] courses, int score) {
+			this.courses = courses;
+			this.score = score;
+		}
+
+		/**
+		 * Compares results so that better results are greater
+		 *
+		 * @param other Result to compare to
+		 * @return Positive if this result is better, negative if worse
+		 */
+		@Override
+		public int compareTo(Result other) {
+			if (score != other.score) {
+				return Integer.compare(score, other.score);
+			}
+			for (int i = 0; i < courses.length && i < other.courses.length; i++) {
+				int compare = courses[i].compareTo(other.courses[i]);
+				if (compare != 0) {
+					return -compare;
+				}
+			}
+			return Integer.compare(other.courses.length, courses.length);
+		}
+	}
+}
@@ -19,6 +19,14 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Course's ending time */
 	private int endTime;
+	/** Bitmask of meeting days, one bit per day in DAYS, zero if Arranged */
+	private int dayMask;
+	/** Starting time as minutes after midnight */
+	private int startMinute;
+	/** Ending time as minutes after midnight */
+	private int endMinute;
+	/** Meeting day characters in bit order for dayMask */
+	private static final String DAYS = "MTWHF";
 	/** Max time of day */
 	private static final int UPPER_TIME = 2400;
 	/** Upper bound for minutes in hour */
@@ -92,7 +100,15 @@ public abstract class Activity implements Conflict {
 		if (meetingDays.contains("A") && meetingDays.length() > 1) {
 			throw new IllegalArgumentException("Invalid meeting days");
 		}
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = DAYS.indexOf(Character.toUpperCase(meetingDays.charAt(i)));
+			if (day >= 0) {
+				mask |= 1 << day;
+			}
+		}
 		this.meetingDays = meetingDays;
+		this.dayMask = mask;
 	}
 
 	/**
@@ -146,6 +162,8 @@ public abstract class Activity implements Conflict {
 		}
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.startMinute = startTime / 100 * UPPER_HOUR + startTime % 100;
+		this.endMinute = endTime / 100 * UPPER_HOUR + endTime % 100;
 	}
 
 	/**
@@ -270,23 +288,25 @@ public abstract class Activity implements Conflict {
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		String days = possibleConflictingActivity.getMeetingDays();
-		int thisStart = this.getStartTime();
-		int thisEnd = this.getEndTime();
-		int conStart = possibleConflictingActivity.getStartTime();
-		int conEnd = possibleConflictingActivity.getEndTime();
-		boolean timeConflict = thisStart >= conStart && thisStart <= conEnd || thisEnd >= conStart && thisEnd <= conEnd
-				|| thisStart <= conStart && thisEnd >= conEnd;
-		// Loop through meetingDays string for possibleConflictingActivity
-		for (int i = 0; i < days.length(); i++) {
-			/*
-			 * Check if this.meetingDays contains the current
-			 * possibleConflictingActivity.meetingDays substring
-			 */
-			boolean dayConflict = this.meetingDays.contains(days.substring(i, i + 1));
-			if (dayConflict && timeConflict && !this.meetingDays.contains("A") && !days.contains("A")) {
-				throw new ConflictException();
-			}
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
 		}
 	}
+
+	/**
+	 * Returns true if this Activity and the parameter Activity meet on a shared
+	 * day at overlapping times. Times that touch at the same minute overlap.
+	 * Arranged activities never conflict. Uses the day bitmask and minute range
+	 * computed when meeting days and times are set, so the check allocates
+	 * nothing.
+	 * 
+	 * @param possibleConflictingActivity The Activity object to compare the method
+	 *                                    caller's meeting information to.
+	 * @return True if a day and time conflict is detected.
+	 */
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		return (dayMask & possibleConflictingActivity.dayMask) != 0
+				&& startMinute <= possibleConflictingActivity.endMinute
+				&& endMinute >= possibleConflictingActivity.startMinute;
+	}
 }
\ No newline at end of file
@@ -1,34 +1,75 @@
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
-import java.util.NoSuchElementException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedQueue;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+import edu.ncsu.csc216.pack_scheduler.util.IndexedQueue;
 
 /**
- * Class defines state and behavior for CourseRoll objects that maintain a
- * LinkedAbstractList of Students that are enrolled in a Course. Class has
- * functionality for enroll, drop, and open seat checks.
+ * Class defines state and behavior for CourseRoll objects that maintain the
+ * Students that are enrolled in a Course. Class has functionality for enroll,
+ * drop, and open seat checks. Enrolled and waitlisted Students are kept in
+ * hashed collections, so enroll, drop, and canEnroll take constant time however
+ * large the section. They are indexed by id, which cannot change, so a Student
+ * is still found after changing their name, password, or max credits.
+ * Open seats are counted with an atomic counter. A seat is claimed with a
+ * compare-and-set, so concurrent enrollments never overbook the course and an
+ * enrollment that gets a seat takes no lock. Only enrollments that find the
+ * course full, and drops, lock the CourseRoll, so that the waitlist and the
+ * seats it is waiting for are changed together. A CourseRoll is always locked
+ * before any Student's Schedule.
+ * Seats freed by drops, expired holds, or a raised enrollment cap are filled
+ * from the waitlist in one pass, in waitlist order. Waitlisted Students who
+ * could not add the course to their schedule are skipped and stay on the
+ * waitlist, so seats may be open while only such Students are waiting. A
+ * waitlisted Student who takes one of those seats by enrolling leaves the
+ * waitlist, and is passed over if the waitlist is reached first.
+ * A seat may also be held for a Student with SeatHolds. A held seat is claimed
+ * like any other, and is given to the Student if they enroll before the hold
+ * expires. Holds are not saved with the roll.
  * 
  * @author Nick Garner
  *
  */
 public class CourseRoll {
 
-	/** List to hold Students enrolled in Course */
-	private LinkedAbstractList<Student> roll;
+	/**
+	 * Students enrolled in Course by id, each with its place in enrollment order
+	 */
+	private final ConcurrentHashMap<String, Map.Entry<Student, Long>> roll;
+	/** Seats held for Students who have not yet enrolled, by Student id */
+	private final ConcurrentHashMap<String, SeatHold> holds;
+	/** Next place in enrollment order */
+	private final AtomicLong enrollments;
+	/** Number of seats not claimed by an enrolled or enrolling Student */
+	private final AtomicInteger openSeats;
 	/** Max number of Students that can enroll in Course */
-	private int enrollmentCap;
-	/** Queue to hold students waiting for an enrollment spot */
-	private LinkedQueue<Student> waitlist;
+	private volatile int enrollmentCap;
+	/** Queue to hold students waiting for an enrollment spot, indexed by id */
+	private IndexedQueue<Student> waitlist;
+	/**
+	 * Number of Students on the waitlist, read by enrollments that take no lock
+	 */
+	private volatile int waiting;
 	/** Course object associated with this CourseRoll */
 	private Course course;
 	/** Minimum Course enrollment capacity */
 	private static final int MIN_ENROLLMENT = 10;
 	/** Maximum Course enrollment capacity */
 	private static final int MAX_ENROLLMENT = 250;
+	/** Default number of Students that can wait for a seat */
+	public static final int DEFAULT_WAITLIST_CAP = 10;
 
 	/**
 	 * Creates a CourseRoll object with the specified enrollmentCap and Course
@@ -43,8 +84,11 @@ public class CourseRoll {
 			throw new IllegalArgumentException("Course cannot be null.");
 		}
 		course = c;
-		waitlist = new LinkedQueue<Student>(10);
-		roll = new LinkedAbstractList<Student>(enrollmentCap);
+		waitlist = new IndexedQueue<Student>(DEFAULT_WAITLIST_CAP, Student::getId);
+		roll = new ConcurrentHashMap<String, Map.Entry<Student, Long>>();
+		holds = new ConcurrentHashMap<String, SeatHold>();
+		enrollments = new AtomicLong();
+		openSeats = new AtomicInteger();
 		setEnrollmentCap(enrollmentCap);
 	}
 
@@ -58,124 +102,408 @@ public class CourseRoll {
 	}
 
 	/**
-	 * Sets the enrollmentCap to the provided int parameter.
+	 * Sets the enrollmentCap to the provided int parameter. Any seats added are
+	 * filled from the waitlist.
 	 * 
 	 * @param enrollmentCap The maximum number of Students that can be added to the
 	 *                      CourseRoll.
+	 * @return Outcome for each waitlisted Student the promotion pass reached,
+	 *         empty if the cap was not raised
 	 * @throws IllegalArgumentException If enrollmentCap is outside the bounds of
 	 *                                  the min and max allowed enrollment or is
-	 *                                  lower than the roll's current size.
+	 *                                  lower than the number of claimed seats.
 	 */
-	public void setEnrollmentCap(int enrollmentCap) {
+	public synchronized PromotionReport setEnrollmentCap(int enrollmentCap) {
 		if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT) {
 			throw new IllegalArgumentException("Enrollment cap is not valid.");
 		}
-		if (roll != null && enrollmentCap < roll.size()) {
-			throw new IllegalArgumentException("Enrollment cap is not valid.");
-		}
-		if (roll != null) {
+		int added = enrollmentCap - this.enrollmentCap;
+		if (added >= 0) {
 			this.enrollmentCap = enrollmentCap;
-			roll.setCapacity(enrollmentCap);
+			return promoteWaitlist(added);
+		}
+		while (true) {
+			int open = openSeats.get();
+			if (open + added < 0) {
+				throw new IllegalArgumentException("Enrollment cap is not valid.");
+			}
+			if (openSeats.compareAndSet(open, open + added)) {
+				break;
+			}
+		}
+		this.enrollmentCap = enrollmentCap;
+		return new PromotionReport();
+	}
+
+	/**
+	 * Atomically claims one open seat, without locking the CourseRoll. Each open
+	 * seat is claimed by exactly one caller however many race for it. A caller
+	 * that claims a seat must either enroll a Student in it with enroll or give
+	 * it back with releaseSeat.
+	 * 
+	 * @return True if a seat was claimed, false if the course is full
+	 */
+	public boolean claimSeat() {
+		while (true) {
+			int open = openSeats.get();
+			if (open == 0) {
+				return false;
+			}
+			if (openSeats.compareAndSet(open, open - 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Gives back a seat claimed with claimSeat that was not used. The seat goes to
+	 * the first eligible Student on the waitlist if there is one.
+	 */
+	public synchronized void releaseSeat() {
+		if (waitlist.isEmpty()) {
+			openSeats.incrementAndGet();
+		} else {
+			promoteWaitlist(1);
+		}
+	}
+
+	/**
+	 * Fills as many open seats as possible from the waitlist in one pass. Each
+	 * Student is checked in waitlist order, and is given a seat if the course is
+	 * already on their schedule or can be added to it without exceeding their
+	 * max credits or conflicting with another course. Students who cannot take
+	 * the course are skipped and stay on the waitlist. The pass ends when the
+	 * seats or the waitlist run out.
+	 * 
+	 * @return Outcome for each Student the pass reached
+	 */
+	public synchronized PromotionReport promoteWaitlist() {
+		return promoteWaitlist(0);
+	}
+
+	/**
+	 * Fills the given freed seats, then any open seats, from the waitlist in one
+	 * pass. Freed seats are given to waitlisted Students before they are opened,
+	 * so an enrollment that takes no lock cannot claim them ahead of the
+	 * waitlist. Students who enrolled in a seat of their own while waitlisted
+	 * are removed from the waitlist without taking a seat or being reported.
+	 * 
+	 * @param freed Number of seats given up and not yet counted as open
+	 * @return Outcome for each Student the pass reached
+	 */
+	private PromotionReport promoteWaitlist(int freed) {
+		PromotionReport report = new PromotionReport();
+		List<Student> enrolled = new ArrayList<Student>();
+		int seats = freed;
+		Iterator<Student> it = waitlist.iterator();
+		while (it.hasNext() && (seats > 0 || claimSeat())) {
+			if (seats > 0) {
+				seats--;
+			}
+			Student s = it.next();
+			if (roll.containsKey(s.getId())) {
+				enrolled.add(s);
+				seats++;
+				continue;
+			}
+			int outcome = admit(s);
+			if (outcome != PromotionReport.PROMOTED) {
+				// Keep the seat for the next Student on the waitlist
+				seats++;
+			}
+			report.add(s, outcome);
+		}
+		Student[] promoted = report.getPromoted();
+		for (int i = 0; i < promoted.length; i++) {
+			waitlist.remove(promoted[i]);
+			if (roll.putIfAbsent(promoted[i].getId(), nextPlace(promoted[i])) != null) {
+				// Enrolled in a seat of their own since being admitted
+				seats++;
+			}
+		}
+		for (Student s : enrolled) {
+			waitlist.remove(s);
+		}
+		waiting = waitlist.size();
+		openSeats.addAndGet(seats);
+		return report;
+	}
+
+	/**
+	 * Adds the course to a waitlisted Student's schedule if it is not already on
+	 * it. Students waitlisted through RegistrationManager already have the course
+	 * on their schedule.
+	 * 
+	 * @param s The Student to check
+	 * @return PROMOTED if the Student can take the seat, otherwise the reason they
+	 *         cannot
+	 */
+	private int admit(Student s) {
+		Schedule schedule = s.getSchedule();
+		synchronized (schedule) {
+			if (schedule.contains(course)) {
+				return PromotionReport.PROMOTED;
+			}
+			if (schedule.getScheduleCredits() + course.getCredits() > s.getMaxCredits()) {
+				return PromotionReport.OVER_CREDITS;
+			}
+			if (!schedule.canAdd(course)) {
+				return PromotionReport.CONFLICT;
+			}
+			schedule.addCourseToSchedule(course);
+			return PromotionReport.PROMOTED;
 		}
 	}
 
 	/**
-	 * Adds the given Student object to the CourseRoll.
+	 * Claims an open seat and holds it for the Student until the given time
+	 * 
+	 * @param s          The Student to hold a seat for
+	 * @param expiration Time the hold expires
+	 * @return The new hold, or null if the course is full
+	 * @throws IllegalArgumentException If s is null, enrolled, or already holds a
+	 *                                  seat
+	 */
+	SeatHold hold(Student s, long expiration) {
+		if (s == null || roll.containsKey(s.getId()) || holds.containsKey(s.getId())) {
+			throw new IllegalArgumentException("Seat could not be held.");
+		}
+		if (!claimSeat()) {
+			return null;
+		}
+		SeatHold hold = new SeatHold(this, s, expiration);
+		if (holds.putIfAbsent(s.getId(), hold) != null) {
+			releaseSeat();
+			throw new IllegalArgumentException("Seat could not be held.");
+		}
+		return hold;
+	}
+
+	/**
+	 * Returns the active hold of the Student
+	 * 
+	 * @param s The Student to search for
+	 * @return The Student's hold, or null if the Student holds no seat
+	 */
+	public SeatHold getHold(Student s) {
+		return s == null ? null : holds.get(s.getId());
+	}
+
+	/**
+	 * Returns the number of seats held for Students who have not enrolled
+	 * 
+	 * @return Number of active holds
+	 */
+	public int getNumberOfHolds() {
+		return holds.size();
+	}
+
+	/**
+	 * Gives up the hold if it is still active, passing its seat to the first
+	 * Student on the waitlist
+	 * 
+	 * @param hold The hold to release
+	 * @return True if the hold was active
+	 */
+	boolean releaseHold(SeatHold hold) {
+		if (!holds.remove(hold.getStudent().getId(), hold)) {
+			return false;
+		}
+		releaseSeat();
+		return true;
+	}
+
+	/**
+	 * Gives up every hold in the list that is still active, filling the freed
+	 * seats from the waitlist in one pass. The CourseRoll is locked once for the
+	 * whole list.
+	 * 
+	 * @param expired The holds to release
+	 * @return Number of holds that were active
+	 */
+	synchronized int releaseHolds(List<SeatHold> expired) {
+		int freed = 0;
+		for (SeatHold hold : expired) {
+			if (holds.remove(hold.getStudent().getId(), hold)) {
+				freed++;
+			}
+		}
+		promoteWaitlist(freed);
+		return freed;
+	}
+
+	/**
+	 * Adds the given Student object to the CourseRoll, or to the waitlist if the
+	 * CourseRoll is full. A Student that holds a seat is enrolled in it, and a
+	 * Student that claims an open seat is enrolled without locking the
+	 * CourseRoll. A waitlisted Student that gets a seat leaves the waitlist, which
+	 * locks the CourseRoll only while the waitlist is not empty.
 	 * 
 	 * @param s The Student object to add to the CourseRoll.
-	 * @throws IllegalArgumentException If an exception is thrown from
-	 *                                  LinkedAbstractList.add(int,E).
+	 * @throws IllegalArgumentException If s is null or already enrolled, or if
+	 *                                  the roll is full and s cannot be added to
+	 *                                  the waitlist.
 	 */
 	public void enroll(Student s) {
-		try {
-			roll.add(roll.size(), s);
-		} catch (Exception e) {
-			if (roll.size() == enrollmentCap) {
-				try {
-					waitlist.enqueue(s);
-				} catch (IllegalArgumentException f) {
-					throw f;
-				}
-			} else {
+		if (s == null || roll.containsKey(s.getId())) {
+			throw new IllegalArgumentException("Student could not be enrolled.");
+		}
+		if (holds.remove(s.getId()) != null || claimSeat()) {
+			enrollInClaimedSeat(s);
+			removeFromWaitlist(s);
+			return;
+		}
+		synchronized (this) {
+			// A seat may have been released since the first claim
+			if (claimSeat()) {
+				enrollInClaimedSeat(s);
+				leaveWaitlist(s);
+			} else if (roll.containsKey(s.getId())) {
 				throw new IllegalArgumentException("Student could not be enrolled.");
+			} else {
+				waitlist.enqueue(s);
+				waiting = waitlist.size();
 			}
 		}
 	}
 
 	/**
-	 * Searches the roll for a Student matching s and removes that Student from the
-	 * Course roll.
+	 * Enrolls the Student in a seat the caller already claimed with claimSeat,
+	 * without locking the CourseRoll, so the caller may hold the Student's
+	 * Schedule. If the Student cannot be enrolled the caller still owns the seat
+	 * and must give it back with releaseSeat. A Student who may also be on the
+	 * waitlist must then leave it through removeFromWaitlist, once no Schedule is
+	 * held.
+	 * 
+	 * @param s The Student to enroll
+	 * @throws IllegalArgumentException If s is null or already enrolled
+	 */
+	public void enrollInSeat(Student s) {
+		if (s == null || roll.putIfAbsent(s.getId(), nextPlace(s)) != null) {
+			throw new IllegalArgumentException("Student could not be enrolled.");
+		}
+	}
+
+	/**
+	 * Removes an enrolled Student from the waitlist if they are still on it.
+	 * Locks the CourseRoll only while the waitlist is not empty.
+	 * 
+	 * @param s The Student to remove
+	 */
+	public void removeFromWaitlist(Student s) {
+		if (waiting > 0) {
+			synchronized (this) {
+				leaveWaitlist(s);
+			}
+		}
+	}
+
+	/**
+	 * Removes the Student from the waitlist if they are on it, and updates the
+	 * count read by enrollments that take no lock. The CourseRoll must be locked.
+	 * 
+	 * @param s The Student to remove
+	 */
+	private void leaveWaitlist(Student s) {
+		waitlist.remove(s);
+		waiting = waitlist.size();
+	}
+
+	/**
+	 * Enrolls the Student in a seat already claimed for it, giving the seat back
+	 * if the Student is already enrolled
+	 * 
+	 * @param s The Student to enroll
+	 * @throws IllegalArgumentException If s is already enrolled
+	 */
+	private void enrollInClaimedSeat(Student s) {
+		if (roll.putIfAbsent(s.getId(), nextPlace(s)) != null) {
+			releaseSeat();
+			throw new IllegalArgumentException("Student could not be enrolled.");
+		}
+	}
+
+	/**
+	 * Pairs the Student with the next place in enrollment order
+	 * 
+	 * @param s The Student being enrolled
+	 * @return Roll entry for the Student
+	 */
+	private Map.Entry<Student, Long> nextPlace(Student s) {
+		return new AbstractMap.SimpleImmutableEntry<Student, Long>(s, enrollments.getAndIncrement());
+	}
+
+	/**
+	 * Removes the Student matching s from the Course roll or gives up the
+	 * Student's hold, giving the seat to the first eligible Student on the
+	 * waitlist, or removes that Student from the waitlist.
 	 * 
 	 * @param s The Student to remove.
-	 * @throws IllegalArgumentException If s is null or if
-	 *                                  LinkedAbstractList.remove(int) throws an
-	 *                                  exception.
+	 * @throws IllegalArgumentException If s is null.
 	 */
-	public void drop(Student s) {
+	public synchronized void drop(Student s) {
 		if (s == null) {
 			throw new IllegalArgumentException("Student cannot be null.");
 		}
-		int index = 0;
-		// Check if Student is on main roll
-		while (index < roll.size() && !s.equals(roll.get(index))) {
-			index++;
+		// If on main roll, drop Student and pass the seat to the waitlist
+		if (roll.remove(s.getId()) != null || holds.remove(s.getId()) != null) {
+			releaseSeat();
+		} else {
+			leaveWaitlist(s);
 		}
-		// If on main roll, drop Student and add from waitlist
-		if (index < roll.size() && s.equals(roll.get(index))) {
-			roll.remove(index);
-			// If room on course roll and student on waitlist, add student to course roll
-			// and course to student's schedule
-			try {
-				Student temp = waitlist.dequeue();
-				roll.add(temp);
-				temp.getSchedule().addCourseToSchedule(this.course);
-			} catch (NoSuchElementException e) {
-				// Waitlist is empty, do nothing
-			}
-		} else if (waitlist.contains(s)) {
-			LinkedQueue<Student> tempQueue = new LinkedQueue<Student>(10);
-			while (!waitlist.isEmpty()) {
-				Student tempStudent = waitlist.dequeue();
-				if (!tempStudent.equals(s)) {
-					tempQueue.enqueue(tempStudent);
-				}
+	}
+
+	/**
+	 * Removes each of the given Students from the Course roll, their holds, or the
+	 * waitlist, then fills the freed seats from the waitlist in one pass.
+	 * 
+	 * @param students The Students to remove
+	 * @return Outcome for each waitlisted Student the promotion pass reached
+	 * @throws IllegalArgumentException If students or any Student in it is null
+	 */
+	public synchronized PromotionReport dropAll(Student[] students) {
+		if (students == null || Arrays.asList(students).contains(null)) {
+			throw new IllegalArgumentException("Student cannot be null.");
+		}
+		int freed = 0;
+		for (int i = 0; i < students.length; i++) {
+			String id = students[i].getId();
+			if (roll.remove(id) != null || holds.remove(id) != null) {
+				freed++;
+			} else {
+				leaveWaitlist(students[i]);
 			}
-			waitlist = tempQueue;
 		}
+		return promoteWaitlist(freed);
 	}
 
 	/**
-	 * Returns the number of remaining open seats in the course.
+	 * Returns the number of remaining open seats in the course. Reads the seat
+	 * counter without locking the CourseRoll.
 	 * 
-	 * @return Returns the enrollmentCap minus the number of students already
-	 *         enrolled.
+	 * @return Returns the enrollmentCap minus the number of claimed seats.
 	 */
 	public int getOpenSeats() {
-		return enrollmentCap - roll.size();
+		return openSeats.get();
 	}
 
 	/**
-	 * Checks that the CourseRoll has room remaining and that the Student to enroll
-	 * is not a duplicate.
+	 * Checks that the CourseRoll has room remaining or a seat held for the
+	 * Student, and that the Student to enroll is not a duplicate.
 	 * 
 	 * @param s The student to check for enrollment eligibility.
 	 * @return Returns true if CourseRoll has room and Student is not a duplicate.
 	 */
-	public boolean canEnroll(Student s) {
-		// boolean dupeCheck = false;
-		int index = 0;
-		while (index < roll.size() && !s.equals(roll.get(index))) {
-			index++;
-		}
+	public synchronized boolean canEnroll(Student s) {
 		// True if no dupes
-		boolean dupeCheck = index == roll.size();
+		boolean dupeCheck = !roll.containsKey(s.getId());
 		// True if can add to waitlist
-		boolean waitlistEligible = !waitlist.contains(s) && waitlist.size() < 10;
+		boolean waitlistEligible = !waitlist.contains(s) && waitlist.size() < waitlist.getCapacity();
 		// True if class is full
-		boolean classFull = roll.size() == getEnrollmentCap();
-		// Return true if no dupes and class not full, OR class is full and waitlist
-		// eligible
-		return dupeCheck && !classFull || classFull && waitlistEligible;
+		boolean classFull = getOpenSeats() == 0;
+		// Return true if no dupes and class not full, OR no dupes and class is full
+		// and waitlist eligible
+		return dupeCheck && (holds.containsKey(s.getId()) || !classFull || waitlistEligible);
 	}
 
 	/**
@@ -183,7 +511,117 @@ public class CourseRoll {
 	 * 
 	 * @return Number of students on the waitlist
 	 */
-	public int getNumberOnWaitlist() {
+	public synchronized int getNumberOnWaitlist() {
 		return waitlist.size();
 	}
+
+	/**
+	 * Returns the Students enrolled in the course in enrollment order
+	 * 
+	 * @return Array of enrolled Students
+	 */
+	public Student[] getEnrolledStudents() {
+		List<Map.Entry<Student, Long>> entries = new ArrayList<Map.Entry<Student, Long>>(roll.values());
+		entries.sort(Map.Entry.comparingByValue());
+		Student[] students = new Student[entries.size()];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = entries.get(i).getKey();
+		}
+		return students;
+	}
+
+	/**
+	 * Returns the Students on the waitlist from first to last
+	 * 
+	 * @return Array of waitlisted Students
+	 */
+	public synchronized Student[] getWaitlistedStudents() {
+		Student[] students = new Student[waitlist.size()];
+		int i = 0;
+		for (Student s : waitlist) {
+			students[i++] = s;
+		}
+		return students;
+	}
+
+	/**
+	 * Returns the position of the Student on the waitlist, counting the next
+	 * Student to get a seat as 1
+	 * 
+	 * @param s The Student to search for
+	 * @return Position of the Student on the waitlist, or 0 if not waitlisted
+	 */
+	public synchronized int getWaitlistPosition(Student s) {
+		return waitlist.positionOf(s);
+	}
+
+	/**
+	 * Returns the maximum number of Students that can wait for a seat
+	 * 
+	 * @return Capacity of the waitlist
+	 */
+	public synchronized int getWaitlistCap() {
+		return waitlist.getCapacity();
+	}
+
+	/**
+	 * Sets the maximum number of Students that can wait for a seat
+	 * 
+	 * @param waitlistCap Capacity of the waitlist
+	 * @throws IllegalArgumentException If waitlistCap is negative or lower than
+	 *                                  the number of Students on the waitlist
+	 */
+	public synchronized void setWaitlistCap(int waitlistCap) {
+		waitlist.setCapacity(waitlistCap);
+	}
+
+	/**
+	 * Replaces the roll and waitlist with the given Students, in order, keeping
+	 * the waitlist cap unless it must be raised to hold the waitlisted Students.
+	 * For restoring saved records that do not include the waitlist cap.
+	 * 
+	 * @param enrolled   Students to place on the roll
+	 * @param waitlisted Students to place on the waitlist
+	 * @throws IllegalArgumentException If there are more Students than the roll
+	 *                                  can hold or any are duplicates
+	 */
+	public synchronized void restore(Student[] enrolled, Student[] waitlisted) {
+		restore(enrolled, waitlisted, Math.max(waitlist.getCapacity(), waitlisted.length));
+	}
+
+	/**
+	 * Replaces the roll and waitlist with the given Students, in order, and sets
+	 * the waitlist cap. No eligibility checks are made and no schedules are
+	 * changed, so this is only for restoring saved registration state. Any held
+	 * seats are given up.
+	 * 
+	 * @param enrolled    Students to place on the roll
+	 * @param waitlisted  Students to place on the waitlist
+	 * @param waitlistCap Capacity of the waitlist
+	 * @throws IllegalArgumentException If there are more Students than the roll
+	 *                                  or waitlist can hold or any are duplicates
+	 */
+	public synchronized void restore(Student[] enrolled, Student[] waitlisted, int waitlistCap) {
+		if (enrolled.length > enrollmentCap) {
+			throw new IllegalArgumentException("List is full.");
+		}
+		HashSet<String> ids = new HashSet<String>();
+		for (int i = 0; i < enrolled.length; i++) {
+			if (!ids.add(enrolled[i].getId())) {
+				throw new IllegalArgumentException("Cannot add duplicate element.");
+			}
+		}
+		IndexedQueue<Student> newWaitlist = new IndexedQueue<Student>(waitlistCap, Student::getId);
+		for (int i = 0; i < waitlisted.length; i++) {
+			newWaitlist.enqueue(waitlisted[i]);
+		}
+		roll.clear();
+		holds.clear();
+		for (int i = 0; i < enrolled.length; i++) {
+			roll.put(enrolled[i].getId(), nextPlace(enrolled[i]));
+		}
+		openSeats.set(enrollmentCap - enrolled.length);
+		waitlist = newWaitlist;
+		waiting = waitlist.size();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.pack_scheduler.course.roll;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Class defines state for the outcome of one pass promoting Students from a
+ * CourseRoll's waitlist. Each Student the pass reached is listed in waitlist
+ * order with whether they were given a seat or why they were skipped. Skipped
+ * Students stay on the waitlist.
+ * 
+ * @author Nick Garner
+ *
+ */
+public class PromotionReport {
+
+	/** Student was given a seat */
+	public static final int PROMOTED = 0;
+	/** Student was skipped because the course would exceed their max credits */
+	public static final int OVER_CREDITS = 1;
+	/**
+	 * Student was skipped because the course conflicts with or duplicates a
+	 * course on their schedule
+	 */
+	public static final int CONFLICT = 2;
+
+	/** Students the pass reached, in waitlist order */
+	private final ArrayList<Student> students;
+	/** Outcome for each Student */
+	private final ArrayList<Integer> outcomes;
+	/** Number of Students given a seat */
+	private int promoted;
+
+	/**
+	 * Creates an empty PromotionReport
+	 */
+	PromotionReport() {
+		students = new ArrayList<Student>();
+		outcomes = new ArrayList<Integer>();
+	}
+
+	/**
+	 * Records the outcome for a Student
+	 * 
+	 * @param s       Student the pass reached
+	 * @param outcome PROMOTED, OVER_CREDITS, or CONFLICT
+	 */
+	void add(Student s, int outcome) {
+		students.add(s);
+		outcomes.add(outcome);
+		if (outcome == PROMOTED) {
+			promoted++;
+		}
+	}
+
+	/**
+	 * Returns the number of Students the pass reached
+	 * 
+	 * @return Number of outcomes in the report
+	 */
+	public int size() {
+		return students.size();
+	}
+
+	/**
+	 * Returns the Student at the given index
+	 * 
+	 * @param idx Index of the outcome
+	 * @return Student of the outcome
+	 */
+	public Student getStudent(int idx) {
+		return students.get(idx);
+	}
+
+	/**
+	 * Returns the outcome at the given index
+	 * 
+	 * @param idx Index of the outcome
+	 * @return PROMOTED, OVER_CREDITS, or CONFLICT
+	 */
+	public int getOutcome(int idx) {
+		return outcomes.get(idx);
+	}
+
+	/**
+	 * Returns the number of Students given a seat
+	 * 
+	 * @return Number of Students promoted
+	 */
+	public int getNumberPromoted() {
+		return promoted;
+	}
+
+	/**
+	 * Returns the Students given a seat, in the order they were promoted
+	 * 
+	 * @return Array of promoted Students
+	 */
+	public Student[] getPromoted() {
+		return filter(true);
+	}
+
+	/**
+	 * Returns the Students skipped, in waitlist order
+	 * 
+	 * @return Array of skipped Students
+	 */
+	public Student[] getSkipped() {
+		return filter(false);
+	}
+
+	/**
+	 * Returns the Students that were or were not promoted
+	 * 
+	 * @param wasPromoted True for promoted Students, false for skipped ones
+	 * @return Array of matching Students
+	 */
+	private Student[] filter(boolean wasPromoted) {
+		Student[] matches = new Student[wasPromoted ? promoted : students.size() - promoted];
+		int j = 0;
+		for (int i = 0; i < students.size(); i++) {
+			if ((outcomes.get(i) == PROMOTED) == wasPromoted) {
+				matches[j++] = students.get(i);
+			}
+		}
+		return matches;
+	}
+}
@@ -0,0 +1,93 @@
+package edu.ncsu.csc216.pack_scheduler.course.roll;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.TimingWheel;
+
+/**
+ * Class defines state for a seat in a CourseRoll held for a Student until a
+ * set time. The seat is claimed from the roll while the hold lasts, and is
+ * given to the Student if they enroll before the hold expires. Holds are
+ * created and expired by SeatHolds.
+ * 
+ * @author Nick Garner
+ *
+ */
+public class SeatHold {
+
+	/** CourseRoll the seat is held in */
+	private final CourseRoll roll;
+	/** Student the seat is held for */
+	private final Student student;
+	/** Time the hold expires */
+	private final long expiration;
+	/** Timer that expires the hold, or null until it is scheduled */
+	private TimingWheel.Timer<SeatHold> timer;
+
+	/**
+	 * Creates a SeatHold for the given Student in the given CourseRoll
+	 * 
+	 * @param roll       CourseRoll the seat is held in
+	 * @param student    Student the seat is held for
+	 * @param expiration Time the hold expires
+	 */
+	SeatHold(CourseRoll roll, Student student, long expiration) {
+		this.roll = roll;
+		this.student = student;
+		this.expiration = expiration;
+	}
+
+	/**
+	 * Returns the CourseRoll the seat is held in
+	 * 
+	 * @return CourseRoll of the hold
+	 */
+	public CourseRoll getRoll() {
+		return roll;
+	}
+
+	/**
+	 * Returns the Student the seat is held for
+	 * 
+	 * @return Student of the hold
+	 */
+	public Student getStudent() {
+		return student;
+	}
+
+	/**
+	 * Returns the time the hold expires
+	 * 
+	 * @return Expiration of the hold
+	 */
+	public long getExpiration() {
+		return expiration;
+	}
+
+	/**
+	 * Returns true if the seat is still held for the Student, meaning the hold has
+	 * not expired or been released and the Student has not enrolled in it
+	 * 
+	 * @return True if the hold is active
+	 */
+	public boolean isActive() {
+		return roll.getHold(student) == this;
+	}
+
+	/**
+	 * Returns the Timer that expires the hold
+	 * 
+	 * @return Timer of the hold, or null if it is not scheduled
+	 */
+	TimingWheel.Timer<SeatHold> getTimer() {
+		return timer;
+	}
+
+	/**
+	 * Sets the Timer that expires the hold
+	 * 
+	 * @param timer Timer of the hold
+	 */
+	void setTimer(TimingWheel.Timer<SeatHold> timer) {
+		this.timer = timer;
+	}
+}
@@ -0,0 +1,136 @@
+package edu.ncsu.csc216.pack_scheduler.course.roll;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.TimingWheel;
+
+/**
+ * Class defines state and behavior for the seat holds of any number of
+ * CourseRolls. A hold claims a seat in a roll for a Student for a set time, so
+ * a Student can keep a seat while deciding whether to enroll. Holds that are
+ * not used are expired with a hashed timing wheel, so placing, releasing, and
+ * expiring a hold each take constant time however many holds are active.
+ * Expired holds are handed back to each roll in one batch, so the roll is
+ * locked once per expiry however many of its seats are freed, and the freed
+ * seats go to the Students on its waitlist. Times are in milliseconds, but
+ * are passed in by the caller, who decides when to expire holds. A SeatHolds
+ * never locks a CourseRoll while locked itself.
+ * 
+ * Holds are volatile. They are not written to the operation log or to
+ * snapshots, so after a restart no seat is held. The promotions made when holds
+ * expire or are released are not logged either, and replaying the log applies
+ * each enrollment as if no seat had been held. Only a checkpoint taken after a
+ * promotion keeps it.
+ * 
+ * @author Nick Garner
+ *
+ */
+public class SeatHolds {
+
+	/** Number of ticks in a hold duration */
+	private static final int TICKS_PER_HOLD = 256;
+	/** Number of buckets in the timing wheel, covering two hold durations */
+	private static final int WHEEL_SIZE = 2 * TICKS_PER_HOLD;
+
+	/** Time a seat is held for */
+	private final long holdDuration;
+	/** Timers of the active holds */
+	private final TimingWheel<SeatHold> wheel;
+
+	/**
+	 * Creates a SeatHolds that holds seats for the given duration
+	 * 
+	 * @param holdDuration Time a seat is held for
+	 * @param now          Current time
+	 * @throws IllegalArgumentException If holdDuration is not positive
+	 */
+	public SeatHolds(long holdDuration, long now) {
+		if (holdDuration <= 0) {
+			throw new IllegalArgumentException("Hold duration is not valid.");
+		}
+		this.holdDuration = holdDuration;
+		wheel = new TimingWheel<SeatHold>(Math.max(1, holdDuration / TICKS_PER_HOLD), WHEEL_SIZE, now);
+	}
+
+	/**
+	 * Returns the time a seat is held for
+	 * 
+	 * @return Duration of a hold
+	 */
+	public long getHoldDuration() {
+		return holdDuration;
+	}
+
+	/**
+	 * Holds an open seat in the roll for the Student until the hold duration has
+	 * passed
+	 * 
+	 * @param roll CourseRoll to hold a seat in
+	 * @param s    Student to hold the seat for
+	 * @param now  Current time
+	 * @return The new hold, or null if the roll has no open seat
+	 * @throws IllegalArgumentException If s is null, enrolled, or already holds a
+	 *                                  seat in the roll
+	 */
+	public SeatHold hold(CourseRoll roll, Student s, long now) {
+		SeatHold hold = roll.hold(s, now + holdDuration);
+		if (hold != null) {
+			synchronized (this) {
+				hold.setTimer(wheel.schedule(hold, hold.getExpiration()));
+			}
+		}
+		return hold;
+	}
+
+	/**
+	 * Gives up a hold before it expires, returning the seat to its roll
+	 * 
+	 * @param hold The hold to release
+	 * @return True if the hold was still active
+	 */
+	public boolean release(SeatHold hold) {
+		synchronized (this) {
+			wheel.cancel(hold.getTimer());
+		}
+		return hold.getRoll().releaseHold(hold);
+	}
+
+	/**
+	 * Expires every hold that has passed its expiration by the given time. The
+	 * seats of the expired holds are returned to each roll together, going to
+	 * Students on the waitlist first. Holds that were used to enroll or were
+	 * released since they were placed are ignored.
+	 * 
+	 * @param now Current time
+	 * @return Number of seats freed
+	 */
+	public int expire(long now) {
+		List<SeatHold> expired;
+		synchronized (this) {
+			expired = wheel.advance(now);
+		}
+		Map<CourseRoll, List<SeatHold>> byRoll = new IdentityHashMap<CourseRoll, List<SeatHold>>();
+		for (SeatHold hold : expired) {
+			byRoll.computeIfAbsent(hold.getRoll(), r -> new ArrayList<SeatHold>()).add(hold);
+		}
+		int freed = 0;
+		for (Map.Entry<CourseRoll, List<SeatHold>> entry : byRoll.entrySet()) {
+			freed += entry.getKey().releaseHolds(entry.getValue());
+		}
+		return freed;
+	}
+
+	/**
+	 * Returns the number of holds waiting to expire, including holds used to
+	 * enroll since they were placed
+	 * 
+	 * @return Number of pending holds
+	 */
+	public synchronized int getNumberPending() {
+		return wheel.size();
+	}
+}
@@ -4,8 +4,10 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.SegmentedRecordFile;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -21,6 +23,10 @@ public class FacultyDirectory {
 
 	/** List of Faculty in the directory */
 	private LinkedList<Faculty> facultyDirectory;
+	/** Index of Faculty in the directory keyed by lower case id */
+	private HashMap<String, Faculty> idIndex;
+	/** Tracks the faculty as last loaded or saved, or null if neither */
+	private SegmentedRecordFile savedFile;
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 
@@ -36,6 +42,8 @@ public class FacultyDirectory {
 	 */
 	public void newFacultyDirectory() {
 		facultyDirectory = new LinkedList<Faculty>();
+		idIndex = new HashMap<String, Faculty>();
+		savedFile = null;
 	}
 
 	/**
@@ -50,6 +58,35 @@ public class FacultyDirectory {
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		buildIndex();
+		savedFile = FacultyRecordIO.openSegmentedFile(fileName, facultyDirectory);
+	}
+
+	/**
+	 * Replaces the directory with the given Faculty, whose passwords are already
+	 * hashed. Used to restore a saved snapshot without reparsing records.
+	 * 
+	 * @param faculty Faculty to place in the directory
+	 * @throws IllegalArgumentException If a Faculty is a duplicate of another
+	 */
+	public void loadFaculty(Faculty[] faculty) {
+		LinkedList<Faculty> list = new LinkedList<Faculty>();
+		for (int i = 0; i < faculty.length; i++) {
+			list.add(faculty[i]);
+		}
+		facultyDirectory = list;
+		buildIndex();
+		savedFile = null;
+	}
+
+	/**
+	 * Rebuilds the ID index from the directory list
+	 */
+	private void buildIndex() {
+		idIndex = new HashMap<String, Faculty>();
+		for (Faculty f : facultyDirectory) {
+			idIndex.putIfAbsent(getKey(f.getId()), f);
+		}
 	}
 
 	/**
@@ -93,26 +130,41 @@ public class FacultyDirectory {
 
 		Faculty faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCourses);
 
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User f = facultyDirectory.get(i);
-			if (f.getId().equals(faculty.getId())) {
-				return false;
-			}
+		String key = getKey(faculty.getId());
+		if (idIndex.containsKey(key)) {
+			return false;
+		}
+		if (facultyDirectory.add(faculty)) {
+			idIndex.put(key, faculty);
+			return true;
 		}
-		return facultyDirectory.add(faculty);
+		return false;
 	}
 
 	/**
 	 * Removes the faculty with the given ID from the directory. Returns true if
-	 * removed, false if the faculty is not in the list.
+	 * removed, false if the faculty is not in the list. Unlike lookups, removal
+	 * matches the ID exactly, including case.
 	 * 
 	 * @param facultyId The ID of the faculty member to remove.
 	 * @return True if removed, false if not in list.
 	 */
 	public boolean removeFaculty(String facultyId) {
+		if (facultyId == null) {
+			return false;
+		}
+		String key = getKey(facultyId);
+		Faculty f = idIndex.get(key);
+		if (f == null) {
+			return false;
+		}
+		if (f.getId().equals(facultyId)) {
+			idIndex.remove(key);
+			return facultyDirectory.remove(f);
+		}
+		// A loaded file may hold IDs that differ only in case, which are not indexed
 		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User f = facultyDirectory.get(i);
-			if (f.getId().equals(facultyId)) {
+			if (facultyDirectory.get(i).getId().equals(facultyId)) {
 				facultyDirectory.remove(i);
 				return true;
 			}
@@ -120,6 +172,20 @@ public class FacultyDirectory {
 		return false;
 	}
 
+	/**
+	 * Returns every Faculty in the directory in directory order
+	 * 
+	 * @return Array of all Faculty in the directory
+	 */
+	public Faculty[] getFaculty() {
+		Faculty[] faculty = new Faculty[facultyDirectory.size()];
+		int index = 0;
+		for (Faculty f : facultyDirectory) {
+			faculty[index++] = f;
+		}
+		return faculty;
+	}
+
 	/**
 	 * Returns a 2D string array with all Faculty in the directory and columns for
 	 * first name, last name, and ID.
@@ -149,21 +215,51 @@ public class FacultyDirectory {
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
+		savedFile = FacultyRecordIO.openSegmentedFile(fileName, facultyDirectory);
+	}
+
+	/**
+	 * Saves only the faculty added, changed, or removed since the directory was
+	 * last loaded from or saved to the given file. If the directory was last
+	 * loaded or saved elsewhere, every record is saved.
+	 * 
+	 * @param fileName Name of the file to save to.
+	 * @return Number of records written
+	 * @throws IllegalArgumentException If file cannot be written to.
+	 */
+	public int saveFacultyDirectoryChanges(String fileName) {
+		if (savedFile == null || !savedFile.getFileName().equals(fileName)) {
+			saveFacultyDirectory(fileName);
+			return facultyDirectory.size();
+		}
+		try {
+			return FacultyRecordIO.writeFacultyChanges(savedFile, facultyDirectory);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
 	}
 
 	/**
-	 * Searches the directory sequentially for the given ID and returns the matching
-	 * record.
+	 * Looks up the given ID, ignoring case, and returns the matching record.
 	 * 
 	 * @param id The Unity ID to search the directory for.
 	 * @return Returns the Faculty object if a match is found, else returns null
 	 */
 	public Faculty getFacultyById(String id) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equalsIgnoreCase(id)) {
-				return facultyDirectory.get(i);
-			}
+		if (id == null) {
+			return null;
 		}
-		return null;
+		return idIndex.get(getKey(id));
+	}
+
+	/**
+	 * Returns the key used to index a Faculty by ID. IDs are compared ignoring
+	 * case, so the key is the lower case ID.
+	 * 
+	 * @param id Faculty's Unity ID
+	 * @return Key for the ID index
+	 */
+	private static String getKey(String id) {
+		return id.toLowerCase();
 	}
 }
\ No newline at end of file
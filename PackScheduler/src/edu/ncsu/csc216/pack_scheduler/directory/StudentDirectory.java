@@ -4,9 +4,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 
 import edu.ncsu.csc216.collections.list.SortedList;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.SegmentedRecordFile;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 
@@ -20,6 +22,10 @@ public class StudentDirectory {
 
 	/** List of students in the directory */
 	private SortedList<Student> studentDirectory;
+	/** Index of students in the directory keyed by lower case id */
+	private HashMap<String, Student> idIndex;
+	/** Tracks the students as last loaded or saved, or null if neither */
+	private SegmentedRecordFile savedFile;
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 
@@ -36,6 +42,8 @@ public class StudentDirectory {
 	 */
 	public void newStudentDirectory() {
 		studentDirectory = new SortedList<Student>();
+		idIndex = new HashMap<String, Student>();
+		savedFile = null;
 	}
 
 	/**
@@ -51,6 +59,36 @@ public class StudentDirectory {
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
+		buildIndex();
+		savedFile = StudentRecordIO.openSegmentedFile(fileName, studentDirectory);
+	}
+
+	/**
+	 * Replaces the directory with the given students, whose passwords are already
+	 * hashed. Used to restore a saved snapshot without reparsing records.
+	 * 
+	 * @param students Students to place in the directory
+	 * @throws IllegalArgumentException If a student is a duplicate of another
+	 */
+	public void loadStudents(Student[] students) {
+		SortedList<Student> list = new SortedList<Student>();
+		for (int i = 0; i < students.length; i++) {
+			list.add(students[i]);
+		}
+		studentDirectory = list;
+		buildIndex();
+		savedFile = null;
+	}
+
+	/**
+	 * Rebuilds the id index from the directory list
+	 */
+	private void buildIndex() {
+		idIndex = new HashMap<String, Student>();
+		for (int i = 0; i < studentDirectory.size(); i++) {
+			Student s = studentDirectory.get(i);
+			idIndex.putIfAbsent(getKey(s.getId()), s);
+		}
 	}
 
 	/**
@@ -98,27 +136,43 @@ public class StudentDirectory {
 		// to the GUI
 		Student student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
-				return false;
-			}
+		String key = getKey(student.getId());
+		if (idIndex.containsKey(key)) {
+			return false;
 		}
-		return studentDirectory.add(student);
+		if (studentDirectory.add(student)) {
+			idIndex.put(key, student);
+			return true;
+		}
+		return false;
 	}
 
 	/**
 	 * Removes the student with the given id from the list of students with the
 	 * given id. Returns true if the student is removed and false if the student is
-	 * not in the list.
+	 * not in the list. Unlike lookups, removal matches the id exactly, including
+	 * case.
 	 * 
 	 * @param studentId student's id
 	 * @return true if removed
 	 */
 	public boolean removeStudent(String studentId) {
+		if (studentId == null) {
+			return false;
+		}
+		String key = getKey(studentId);
+		Student s = idIndex.get(key);
+		if (s == null) {
+			return false;
+		}
+		if (s.getId().equals(studentId)) {
+			idIndex.remove(key);
+			studentDirectory.remove(indexOf(s));
+			return true;
+		}
+		// A loaded file may hold ids that differ only in case, which are not indexed
 		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
+			if (studentDirectory.get(i).getId().equals(studentId)) {
 				studentDirectory.remove(i);
 				return true;
 			}
@@ -126,6 +180,19 @@ public class StudentDirectory {
 		return false;
 	}
 
+	/**
+	 * Returns every Student in the directory in sorted order
+	 * 
+	 * @return Array of all students in the directory
+	 */
+	public Student[] getStudents() {
+		Student[] students = new Student[studentDirectory.size()];
+		for (int i = 0; i < studentDirectory.size(); i++) {
+			students[i] = studentDirectory.get(i);
+		}
+		return students;
+	}
+
 	/**
 	 * Returns all students in the directory with a column for first name, last
 	 * name, and id.
@@ -155,19 +222,73 @@ public class StudentDirectory {
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
+		savedFile = StudentRecordIO.openSegmentedFile(fileName, studentDirectory);
+	}
+
+	/**
+	 * Saves only the students added, changed, or removed since the directory was
+	 * last loaded from or saved to the given file. If the directory was last
+	 * loaded or saved elsewhere, every record is saved.
+	 * 
+	 * @param fileName Name of the file to save to.
+	 * @return Number of records written
+	 * @throws IllegalArgumentException If file cannot be written to.
+	 */
+	public int saveStudentDirectoryChanges(String fileName) {
+		if (savedFile == null || !savedFile.getFileName().equals(fileName)) {
+			saveStudentDirectory(fileName);
+			return studentDirectory.size();
+		}
+		try {
+			return StudentRecordIO.writeStudentChanges(savedFile, studentDirectory);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
 	}
 	
 	/**
-	 * Searches the studentDirectory SortedList sequentially for the given id parameter and returns the matching Student.
+	 * Looks up the given id parameter, ignoring case, and returns the matching Student.
 	 * @param id The Unity ID to search the studentDirectory for.
 	 * @return Returns the Student object if a match is found, else returns null.
 	 */
 	public Student getStudentById (String id) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			if (studentDirectory.get(i).getId().equalsIgnoreCase(id)) {
-				return studentDirectory.get(i);
+		if (id == null) {
+			return null;
+		}
+		return idIndex.get(getKey(id));
+	}
+
+	/**
+	 * Returns the key used to index a student by id. Ids are compared ignoring
+	 * case, so the key is the lower case id.
+	 * 
+	 * @param id Student's id
+	 * @return Key for the id index
+	 */
+	private static String getKey(String id) {
+		return id.toLowerCase();
+	}
+
+	/**
+	 * Binary searches the sorted directory for the position of the given student.
+	 * 
+	 * @param student Student to locate
+	 * @return Index of the student in the directory, or -1 if not found
+	 */
+	private int indexOf(Student student) {
+		int low = 0;
+		int high = studentDirectory.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = studentDirectory.get(mid).compareTo(student);
+			if (compare < 0) {
+				low = mid + 1;
+			} else if (compare > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
 			}
 		}
-		return null;
+		return -1;
 	}
 }
\ No newline at end of file
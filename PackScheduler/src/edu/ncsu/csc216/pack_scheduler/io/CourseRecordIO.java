@@ -3,18 +3,17 @@
  */
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.collections.list.SortedList;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
 /**
  * Class controls behavior for reading/writing course info in/out of
@@ -25,6 +24,11 @@ import edu.ncsu.csc216.pack_scheduler.user.Faculty;
  */
 public class CourseRecordIO {
 
+	/** Position of the name field, which with the section identifies a record */
+	private static final int NAME_FIELD = 0;
+	/** Position of the section field, which with the name identifies a record */
+	private static final int SECTION_FIELD = 2;
+
 	/**
 	 * Reads courses in from text file by line, adds to SortedList storage
 	 * 
@@ -33,82 +37,188 @@ public class CourseRecordIO {
 	 * @throws FileNotFoundException Input file is missing
 	 */
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
-		SortedList<Course> courses = new SortedList<Course>();
-		while (fileReader.hasNextLine()) {
-			try {
-				Course course = readCourse(fileReader.nextLine());
-				boolean duplicate = false;
-				for (int i = 0; i < courses.size(); i++) {
-					Course c = courses.get(i);
-					if (course.getName().equals(c.getName()) && course.getSection().equals(c.getSection())) {
-						// it's a duplicate
-						duplicate = true;
-					}
-				}
-				if (!duplicate) {
-					courses.add(course);
-				}
-			} catch (IllegalArgumentException e) {
-				// skip the line
-			}
+		return readCourseRecords(fileName, null);
+	}
+
+	/**
+	 * Reads courses in from text file by line, adds to SortedList storage. A
+	 * course with the same name and section as one already read is skipped and
+	 * its line number is reported. Changes saved to segments of the file by
+	 * writeCourseChanges are applied. Instructors are bound with the faculty
+	 * directory of the RegistrationManager.
+	 * 
+	 * @param fileName       Name of file to read in from
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       courses to, or null to ignore them
+	 * @return Returns SortedList of valid courses
+	 * @throws FileNotFoundException Input file is missing
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, ArrayList<Integer> duplicateLines)
+			throws FileNotFoundException {
+		return readCourseRecords(fileName, duplicateLines,
+				RegistrationManager.getInstance().getFacultyDirectory());
+	}
+
+	/**
+	 * Reads courses in from text file by line, adds to SortedList storage. The
+	 * courses are parsed first, then bound to their instructors in the given
+	 * faculty directory in one pass in file order: each course is added to the
+	 * schedule of its instructor, and a course that cannot be added is skipped.
+	 * A course whose instructor is not in the directory is left without one. If
+	 * the directory is null, courses keep the instructor id of their record and
+	 * no schedule is changed, so courses can be read without a
+	 * RegistrationManager.
+	 * 
+	 * @param fileName       Name of file to read in from
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       courses to, or null to ignore them
+	 * @param faculty        Directory of the instructors to bind, or null
+	 * @return Returns SortedList of valid courses
+	 * @throws FileNotFoundException Input file is missing
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, ArrayList<Integer> duplicateLines,
+			FacultyDirectory faculty) throws FileNotFoundException {
+		RecordBatch<Course> batch = RecordBatch.read(
+				SegmentedRecordFile.openRecords(fileName, NAME_FIELD, SECTION_FIELD), CourseRecordIO::parseCourse);
+		return finishCourses(batch, duplicateLines, faculty, null);
+	}
+
+	/**
+	 * Reads courses in from text file by line, adds to SortedList storage,
+	 * parsing chunks of the file on the given pool. Instructors are bound after
+	 * parsing, in file order on the calling thread, so the result, the faculty
+	 * schedules, and the reported duplicate lines match
+	 * readCourseRecords(fileName, duplicateLines, faculty). A file with segments
+	 * is parsed sequentially.
+	 * 
+	 * @param fileName       Name of file to read in from
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       courses to, or null to ignore them
+	 * @param faculty        Directory of the instructors to bind, or null
+	 * @param pool           Pool to parse and sort on
+	 * @return Returns SortedList of valid courses
+	 * @throws FileNotFoundException Input file is missing
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, ArrayList<Integer> duplicateLines,
+			FacultyDirectory faculty, ForkJoinPool pool) throws FileNotFoundException {
+		return readCourseRecords(fileName, duplicateLines, faculty, pool, ParallelRecordReader.MIN_CHUNK_SIZE);
+	}
+
+	/**
+	 * Reads courses in parallel, splitting the file into chunks of at least the
+	 * given size
+	 * 
+	 * @param fileName       Name of file to read in from
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       courses to, or null to ignore them
+	 * @param faculty        Directory of the instructors to bind, or null
+	 * @param pool           Pool to parse and sort on
+	 * @param minChunkSize   Smallest chunk to parse in its own task, in bytes
+	 * @return Returns SortedList of valid courses
+	 * @throws FileNotFoundException Input file is missing
+	 */
+	static SortedList<Course> readCourseRecords(String fileName, ArrayList<Integer> duplicateLines,
+			FacultyDirectory faculty, ForkJoinPool pool, long minChunkSize) throws FileNotFoundException {
+		RecordBatch<Course> batch;
+		if (SegmentedRecordFile.hasSegments(fileName)) {
+			batch = RecordBatch.read(SegmentedRecordFile.openRecords(fileName, NAME_FIELD, SECTION_FIELD),
+					CourseRecordIO::parseCourse);
+		} else {
+			batch = ParallelRecordReader.readRecords(fileName, CourseRecordIO::parseCourse, pool, minChunkSize);
 		}
-		fileReader.close();
-		return courses;
+		return finishCourses(batch, duplicateLines, faculty, pool);
 	}
 
 	/**
-	 * Reads line in from input file and passes to Course constructor
+	 * Binds the parsed courses to their instructors, then removes duplicates and
+	 * sorts the rest
 	 * 
-	 * @param nextLine Line to read from
-	 * @return output Course constructed from parsed text input
+	 * @param batch          Courses parsed in file order
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       courses to, or null to ignore them
+	 * @param faculty        Directory of the instructors to bind, or null
+	 * @param pool           Pool to sort on, or null to sort on this thread
+	 * @return SortedList of valid courses
+	 */
+	private static SortedList<Course> finishCourses(RecordBatch<Course> batch, ArrayList<Integer> duplicateLines,
+			FacultyDirectory faculty, ForkJoinPool pool) {
+		if (faculty != null) {
+			bindInstructors(batch, faculty);
+		}
+		return RecordBatch.toSortedList(
+				batch.distinct(course -> course.getName() + "," + course.getSection(), duplicateLines), pool);
+	}
+
+	/**
+	 * Binds each parsed course to its instructor in file order. Each distinct
+	 * instructor id is looked up in the directory once. The instructor id of
+	 * every course is cleared, and the course is added to its instructor's
+	 * schedule if the instructor is in the directory. A course that cannot be
+	 * added is rejected from the batch.
+	 * 
+	 * @param batch   Courses parsed in file order
+	 * @param faculty Directory of the instructors to bind
 	 */
-	private static Course readCourse(String nextLine) {
-		String name;
-		String title;
-		String section;
-		int credits;
-		String instructorId;
-		int enrollmentCap;
-		String meetingDays;
-		int startTime;
-		int endTime;
-		Course output;
-		try {
-			Scanner lineParse = new Scanner(nextLine);
-			lineParse.useDelimiter(",");
-			name = lineParse.next();
-			title = lineParse.next();
-			section = lineParse.next();
-			credits = Integer.parseInt(lineParse.next());
-			instructorId = lineParse.next();
-			enrollmentCap = Integer.parseInt(lineParse.next());
-			meetingDays = lineParse.next();
-			if (meetingDays.equals("A") && !lineParse.hasNext()) {
-				lineParse.close();
-				Faculty professor = RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(instructorId);
-				output = new Course(name, title, section, credits, null, enrollmentCap, meetingDays);
-				if (professor == null) {
-					return output;
-				} else {
-					professor.getSchedule().addCourseToSchedule(output);
-					return output;
+	private static void bindInstructors(RecordBatch<Course> batch, FacultyDirectory faculty) {
+		HashMap<String, Faculty> instructors = new HashMap<String, Faculty>();
+		for (int i = 0; i < batch.size(); i++) {
+			Course course = batch.get(i);
+			String instructorId = course.getInstructorId();
+			course.setInstructorId(null);
+			Faculty professor = instructors.get(instructorId);
+			if (professor == null && !instructors.containsKey(instructorId)) {
+				professor = faculty.getFacultyById(instructorId);
+				instructors.put(instructorId, professor);
+			}
+			if (professor != null) {
+				try {
+					professor.getSchedule().addCourseToSchedule(course);
+				} catch (IllegalArgumentException e) {
+					batch.reject(i);
 				}
 			}
-			startTime = Integer.parseInt(lineParse.next());
-			endTime = Integer.parseInt(lineParse.next());
-			lineParse.close();
-		} catch (NoSuchElementException e) {
-			throw new IllegalArgumentException();
 		}
-		Faculty professor = RegistrationManager.getInstance().getFacultyDirectory().getFacultyById(instructorId);
-		output = new Course(name, title, section, credits, null, enrollmentCap, meetingDays, startTime, endTime);
-		if (professor == null) {
-			return output;
-		} else {
-			professor.getSchedule().addCourseToSchedule(output);
-			return output;
+	}
+
+	/**
+	 * Opens a stream over the courses in the given file, read one at a time
+	 * through memory mapped windows of the file. Suited to files too large to
+	 * load, where callers filter or aggregate the courses rather than build a
+	 * SortedList. Streamed courses keep the instructor id of their record and are
+	 * not added to any faculty schedule.
+	 * 
+	 * @param fileName Name of file to read in from
+	 * @return RecordStream over the valid courses, in file order
+	 * @throws FileNotFoundException Input file is missing
+	 */
+	public static RecordStream<Course> streamCourseRecords(String fileName) throws FileNotFoundException {
+		return new RecordStream<Course>(SegmentedRecordFile.openMappedRecords(fileName, NAME_FIELD, SECTION_FIELD),
+				CourseRecordIO::parseCourse);
+	}
+
+	/**
+	 * Reads the current record of the tokenizer and passes to Course constructor,
+	 * keeping the instructor id of the record
+	 * 
+	 * @param lineParse Tokenizer positioned at the record to read
+	 * @return output Course constructed from parsed text input
+	 * @throws IllegalArgumentException If the record is missing fields or invalid
+	 */
+	private static Course parseCourse(RecordTokenizer lineParse) {
+		String name = lineParse.next();
+		String title = lineParse.next();
+		String section = lineParse.next();
+		int credits = lineParse.nextInt();
+		String instructorId = lineParse.next();
+		int enrollmentCap = lineParse.nextInt();
+		String meetingDays = lineParse.next();
+		if (meetingDays.equals("A") && !lineParse.hasNext()) {
+			return new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays);
 		}
+		int startTime = lineParse.nextInt();
+		int endTime = lineParse.nextInt();
+		return new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime,
+				endTime);
 	}
 	
 //	/**
@@ -153,18 +263,54 @@ public class CourseRecordIO {
 //	}
 	
 	/**
-	 * Writes stored SortedList of courses to output file
+	 * Writes stored SortedList of courses to output file. The file is replaced
+	 * atomically, and any segments of it are deleted.
 	 * 
 	 * @param fileName File to be written to
 	 * @param courses  SortedList of stored courses
 	 * @throws IOException Cannot write course records to file
 	 */
 	public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		SegmentedRecordFile.writeRecords(fileName, getRecords(courses));
+	}
+
+	/**
+	 * Returns a SegmentedRecordFile for saving changes to the given courses, which
+	 * were just read from or written to the given file
+	 * 
+	 * @param fileName File the courses were read from or written to
+	 * @param courses  SortedList of stored courses
+	 * @return SegmentedRecordFile tracking the saved courses
+	 */
+	public static SegmentedRecordFile openSegmentedFile(String fileName, SortedList<Course> courses) {
+		return new SegmentedRecordFile(fileName, getRecords(courses), NAME_FIELD, SECTION_FIELD);
+	}
+
+	/**
+	 * Writes only the courses added, changed, or removed since the last save to a
+	 * segment of the file, compacting the file when the segments grow too large
+	 * 
+	 * @param file    SegmentedRecordFile tracking the saved courses
+	 * @param courses SortedList of stored courses
+	 * @return Number of records written
+	 * @throws IOException Cannot write course records to file
+	 */
+	public static int writeCourseChanges(SegmentedRecordFile file, SortedList<Course> courses) throws IOException {
+		return file.save(getRecords(courses));
+	}
+
+	/**
+	 * Returns the record of each course
+	 * 
+	 * @param courses SortedList of stored courses
+	 * @return Record of each course, in order
+	 */
+	private static String[] getRecords(SortedList<Course> courses) {
+		String[] records = new String[courses.size()];
 		for (int i = 0; i < courses.size(); i++) {
-			fileWriter.println(courses.get(i).toString());
+			records[i] = courses.get(i).toString();
 		}
-		fileWriter.close();
+		return records;
 	}
 
 }
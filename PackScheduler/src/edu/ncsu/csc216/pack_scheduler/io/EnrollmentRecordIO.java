@@ -0,0 +1,251 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
+
+/**
+ * Class controls behavior for reading/writing registration state that course
+ * and student records do not hold: each course's roll and waitlist, each
+ * student's schedule, and each course's instructor. Records refer to courses by
+ * name and section and to users by id, so they are loaded after the catalog and
+ * directories.
+ *
+ * Each line is one of the following records:
+ * <ul>
+ * <li>R,name,section,waitlist cap,enrolled count,enrolled ids...,waitlisted
+ * ids...</li>
+ * <li>S,student id,course count,name,section...,schedule title</li>
+ * <li>I,name,section,faculty id</li>
+ * </ul>
+ * Files written before waitlist caps were saved hold C records in place of R
+ * records, without the waitlist cap. These are still read, and each waitlist
+ * keeps its cap unless it must be raised to hold the saved waitlist.
+ *
+ * Loading places students directly on rolls, waitlists, and schedules without
+ * eligibility or conflict checks, since the saved state was already checked
+ * when it was registered.
+ *
+ * @author Nick Garner
+ *
+ */
+public class EnrollmentRecordIO {
+
+	/** Record type for a course roll, waitlist, and waitlist cap */
+	private static final String ROLL = "R";
+	/** Record type for a course roll and waitlist without the waitlist cap */
+	private static final String OLD_ROLL = "C";
+	/** Record type for a student schedule */
+	private static final String SCHEDULE = "S";
+	/** Record type for an instructor assignment */
+	private static final String INSTRUCTOR = "I";
+
+	/**
+	 * Writes the roll and waitlist of each course, the schedule of each student,
+	 * and the instructor of each assigned course to the given file
+	 *
+	 * @param fileName File to be written to
+	 * @param courses  Courses whose rolls and instructors to write
+	 * @param students Students whose schedules to write
+	 * @throws IOException Cannot write enrollment records to file
+	 */
+	public static void writeEnrollmentRecords(String fileName, Course[] courses, Student[] students)
+			throws IOException {
+		PrintStream fileWriter = new PrintStream(new File(fileName));
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < courses.length; i++) {
+			Course c = courses[i];
+			CourseRoll roll = c.getCourseRoll();
+			int waitlistCap;
+			Student[] enrolled;
+			Student[] waitlisted;
+			synchronized (roll) {
+				waitlistCap = roll.getWaitlistCap();
+				enrolled = roll.getEnrolledStudents();
+				waitlisted = roll.getWaitlistedStudents();
+			}
+			line.setLength(0);
+			line.append(ROLL).append(',').append(c.getName()).append(',').append(c.getSection()).append(',')
+					.append(waitlistCap).append(',').append(enrolled.length);
+			appendIds(line, enrolled);
+			appendIds(line, waitlisted);
+			fileWriter.println(line);
+			if (c.getInstructorId() != null) {
+				fileWriter.println(INSTRUCTOR + "," + c.getName() + "," + c.getSection() + "," + c.getInstructorId());
+			}
+		}
+		for (int i = 0; i < students.length; i++) {
+			String title;
+			Course[] scheduled;
+			synchronized (students[i].getSchedule()) {
+				title = students[i].getSchedule().getTitle();
+				scheduled = students[i].getSchedule().getCourses();
+			}
+			line.setLength(0);
+			line.append(SCHEDULE).append(',').append(students[i].getId()).append(',').append(scheduled.length);
+			for (int j = 0; j < scheduled.length; j++) {
+				line.append(',').append(scheduled[j].getName()).append(',').append(scheduled[j].getSection());
+			}
+			line.append(',').append(title);
+			fileWriter.println(line);
+		}
+		fileWriter.flush();
+		if (fileWriter.checkError()) {
+			fileWriter.close();
+			throw new IOException("Unable to write to file " + fileName);
+		}
+		fileWriter.close();
+	}
+
+	/**
+	 * Reads enrollment records from the given file and restores the rolls,
+	 * waitlists, schedules, and instructors they describe. Each lookup is by hash,
+	 * so loading takes time linear in the size of the file. Invalid lines are
+	 * skipped, as are ids and courses that are no longer in the directories or
+	 * catalog.
+	 *
+	 * @param fileName Name of file to read in from
+	 * @param catalog  Catalog to find courses in
+	 * @param students Directory to find students in
+	 * @param faculty  Directory to find faculty in
+	 * @throws FileNotFoundException Input file is missing
+	 */
+	public static void readEnrollmentRecords(String fileName, CourseCatalog catalog, StudentDirectory students,
+			FacultyDirectory faculty) throws FileNotFoundException {
+		RecordTokenizer fileReader = new RecordTokenizer(fileName);
+		while (fileReader.nextRecord()) {
+			try {
+				String type = fileReader.next();
+				if (ROLL.equals(type)) {
+					readRoll(fileReader, catalog, students, true);
+				} else if (OLD_ROLL.equals(type)) {
+					readRoll(fileReader, catalog, students, false);
+				} else if (SCHEDULE.equals(type)) {
+					readSchedule(fileReader, catalog, students);
+				} else if (INSTRUCTOR.equals(type)) {
+					readInstructor(fileReader, catalog, faculty);
+				}
+			} catch (IllegalArgumentException e) {
+				// skip the line
+			}
+		}
+		fileReader.close();
+	}
+
+	/**
+	 * Restores a course roll and waitlist from the current record
+	 *
+	 * @param lineParse Tokenizer positioned after the record type
+	 * @param catalog   Catalog to find the course in
+	 * @param students  Directory to find students in
+	 * @param hasCap    True if the record holds the waitlist cap
+	 * @throws IllegalArgumentException If the record is invalid
+	 */
+	private static void readRoll(RecordTokenizer lineParse, CourseCatalog catalog, StudentDirectory students,
+			boolean hasCap) {
+		Course c = readCourse(lineParse, catalog);
+		int waitlistCap = hasCap ? lineParse.nextInt() : 0;
+		int enrolledCount = lineParse.nextInt();
+		ArrayList<Student> enrolled = new ArrayList<Student>();
+		ArrayList<Student> waitlisted = new ArrayList<Student>();
+		for (int i = 0; lineParse.hasNext(); i++) {
+			Student s = students.getStudentById(lineParse.next());
+			if (s != null) {
+				(i < enrolledCount ? enrolled : waitlisted).add(s);
+			}
+		}
+		Student[] enrolledStudents = enrolled.toArray(new Student[enrolled.size()]);
+		Student[] waitlistedStudents = waitlisted.toArray(new Student[waitlisted.size()]);
+		if (hasCap) {
+			c.getCourseRoll().restore(enrolledStudents, waitlistedStudents, waitlistCap);
+		} else {
+			c.getCourseRoll().restore(enrolledStudents, waitlistedStudents);
+		}
+	}
+
+	/**
+	 * Restores a student schedule from the current record
+	 *
+	 * @param lineParse Tokenizer positioned after the record type
+	 * @param catalog   Catalog to find courses in
+	 * @param students  Directory to find the student in
+	 * @throws IllegalArgumentException If the record is invalid
+	 */
+	private static void readSchedule(RecordTokenizer lineParse, CourseCatalog catalog, StudentDirectory students) {
+		Student s = students.getStudentById(lineParse.next());
+		int count = lineParse.nextInt();
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (int i = 0; i < count; i++) {
+			Course c = catalog.getCourseFromCatalog(lineParse.next(), lineParse.next());
+			if (c != null) {
+				courses.add(c);
+			}
+		}
+		String title = lineParse.rest();
+		if (s == null) {
+			throw new IllegalArgumentException();
+		}
+		s.getSchedule().restore(title, courses.toArray(new Course[courses.size()]));
+	}
+
+	/**
+	 * Restores an instructor assignment from the current record. A course already
+	 * assigned to the same faculty member is left as is.
+	 *
+	 * @param lineParse Tokenizer positioned after the record type
+	 * @param catalog   Catalog to find the course in
+	 * @param faculty   Directory to find the faculty member in
+	 * @throws IllegalArgumentException If the record is invalid or the course
+	 *                                  cannot be assigned
+	 */
+	private static void readInstructor(RecordTokenizer lineParse, CourseCatalog catalog, FacultyDirectory faculty) {
+		Course c = readCourse(lineParse, catalog);
+		String id = lineParse.next();
+		Faculty f = faculty.getFacultyById(id);
+		if (f == null) {
+			c.setInstructorId(id);
+		} else if (!id.equals(c.getInstructorId())) {
+			f.getSchedule().addCourseToSchedule(c);
+		}
+	}
+
+	/**
+	 * Reads a course name and section from the current record and finds the
+	 * course in the catalog
+	 *
+	 * @param lineParse Tokenizer positioned at the course name
+	 * @param catalog   Catalog to find the course in
+	 * @return The matching course
+	 * @throws IllegalArgumentException If the fields are missing or no course
+	 *                                  matches
+	 */
+	private static Course readCourse(RecordTokenizer lineParse, CourseCatalog catalog) {
+		Course c = catalog.getCourseFromCatalog(lineParse.next(), lineParse.next());
+		if (c == null) {
+			throw new IllegalArgumentException();
+		}
+		return c;
+	}
+
+	/**
+	 * Appends the id of each Student to the line, each preceded by a comma
+	 *
+	 * @param line     Line being built
+	 * @param students Students whose ids to append
+	 */
+	private static void appendIds(StringBuilder line, Student[] students) {
+		for (int i = 0; i < students.length; i++) {
+			line.append(',').append(students[i].getId());
+		}
+	}
+}
@@ -1,16 +1,12 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.HashSet;
 
+import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
-import edu.ncsu.csc216.pack_scheduler.user.User;
 
 /**
  * Class defines methods for read and write of Faculty objects between the
@@ -21,6 +17,9 @@ import edu.ncsu.csc216.pack_scheduler.user.User;
  */
 public class FacultyRecordIO {
 
+	/** Position of the id field, which identifies a record */
+	private static final int ID_FIELD = 2;
+
 	/**
 	 * Reads input from txt file and returns LinkedList of processed Faculty, minus
 	 * duplicates
@@ -30,73 +29,126 @@ public class FacultyRecordIO {
 	 * @throws FileNotFoundException File cannot be found as named
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
-		LinkedList<Faculty> output = new LinkedList<Faculty>();
-		while (fileReader.hasNextLine()) {
+		return readFacultyRecords(fileName, null);
+	}
+
+	/**
+	 * Reads input from txt file and returns LinkedList of processed Faculty, minus
+	 * duplicates. A record matching one already read on every field is skipped
+	 * and its line number is reported. Changes saved to segments of the file by
+	 * writeFacultyChanges are applied.
+	 * 
+	 * @param fileName       File name to read and process
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       records to, or null to ignore them
+	 * @return Returns LinkedList of Faculty
+	 * @throws FileNotFoundException File cannot be found as named
+	 */
+	public static LinkedList<Faculty> readFacultyRecords(String fileName, ArrayList<Integer> duplicateLines)
+			throws FileNotFoundException {
+		RecordTokenizer fileReader = SegmentedRecordFile.openRecords(fileName, ID_FIELD);
+		java.util.ArrayList<Faculty> records = new java.util.ArrayList<Faculty>();
+		HashSet<Faculty> seen = new HashSet<Faculty>();
+		while (fileReader.nextRecord()) {
 			try {
-				Faculty faculty = processFaculty(fileReader.nextLine());
-				boolean duplicate = false;
-				for (int i = 0; i < output.size(); i++) {
-					User s = output.get(i);
-					if (faculty.equals(s)) {
-						// it's a duplicate
-						duplicate = true;
-					}
-				}
-				if (!duplicate) {
-					output.add(faculty);
+				Faculty faculty = processFaculty(fileReader);
+				if (seen.add(faculty)) {
+					records.add(faculty);
+				} else if (duplicateLines != null) {
+					duplicateLines.add(fileReader.getLineNumber());
 				}
 			} catch (IllegalArgumentException e) {
 				// skip the line
 			}
 		}
 		fileReader.close();
+		// Appended at once, since LinkedList.add searches the list for duplicates
+		LinkedList<Faculty> output = new LinkedList<Faculty>();
+		output.addAll(records.toArray(new Faculty[records.size()]));
 		return output;
 	}
 
+	/**
+	 * Opens a stream over the faculty in the given file, read one at a time
+	 * through memory mapped windows of the file. Suited to files too large to
+	 * load, where callers filter or aggregate the records rather than build a
+	 * directory.
+	 * 
+	 * @param fileName File name to read and process
+	 * @return RecordStream over the valid records, in file order
+	 * @throws FileNotFoundException File cannot be found as named
+	 */
+	public static RecordStream<Faculty> streamFacultyRecords(String fileName) throws FileNotFoundException {
+		return new RecordStream<Faculty>(SegmentedRecordFile.openMappedRecords(fileName, ID_FIELD),
+				FacultyRecordIO::processFaculty);
+	}
+
 	/**
 	 * Writes stored studentDirectory SortedList of Students to given output
-	 * fileName
+	 * fileName. The file is replaced atomically, and any segments of it are
+	 * deleted.
 	 * 
 	 * @param fileName         File to write to
 	 * @param facultyDirectory LinkedList of stored faculty records
 	 * @throws IOException Cannot write student records to file
 	 */
 	public static void writeFacultyRecords(String fileName, LinkedList<Faculty> facultyDirectory) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		SegmentedRecordFile.writeRecords(fileName, getRecords(facultyDirectory));
+	}
+
+	/**
+	 * Returns a SegmentedRecordFile for saving changes to the given faculty, which
+	 * were just read from or written to the given file
+	 * 
+	 * @param fileName         File the faculty were read from or written to
+	 * @param facultyDirectory LinkedList of stored faculty records
+	 * @return SegmentedRecordFile tracking the saved faculty
+	 */
+	public static SegmentedRecordFile openSegmentedFile(String fileName, LinkedList<Faculty> facultyDirectory) {
+		return new SegmentedRecordFile(fileName, getRecords(facultyDirectory), ID_FIELD);
+	}
+
+	/**
+	 * Writes only the faculty added, changed, or removed since the last save to a
+	 * segment of the file, compacting the file when the segments grow too large
+	 * 
+	 * @param file             SegmentedRecordFile tracking the saved faculty
+	 * @param facultyDirectory LinkedList of stored faculty records
+	 * @return Number of records written
+	 * @throws IOException Cannot write faculty records to file
+	 */
+	public static int writeFacultyChanges(SegmentedRecordFile file, LinkedList<Faculty> facultyDirectory) throws IOException {
+		return file.save(getRecords(facultyDirectory));
+	}
+
+	/**
+	 * Returns the record of each faculty member
+	 * 
+	 * @param facultyDirectory LinkedList of stored faculty records
+	 * @return Record of each faculty member, in order
+	 */
+	private static String[] getRecords(LinkedList<Faculty> facultyDirectory) {
+		String[] records = new String[facultyDirectory.size()];
 		for (int i = 0; i < facultyDirectory.size(); i++) {
-			fileWriter.println(facultyDirectory.get(i).toString());
+			records[i] = facultyDirectory.get(i).toString();
 		}
-		fileWriter.close();
+		return records;
 	}
 
 	/**
-	 * Reads line in from input file and constructs new Faculty object
+	 * Reads the current record of the tokenizer and constructs new Faculty object
 	 * 
-	 * @param line Line to be processed
+	 * @param lineParse Tokenizer positioned at the record to be processed
 	 * @return Faculty object with field info from input file
+	 * @throws IllegalArgumentException If the record is missing fields or invalid
 	 */
-	private static Faculty processFaculty(String line) {
-		String firstName;
-		String lastName;
-		String id;
-		String email;
-		String password;
-		int maxCourses;
-		try {
-			Scanner lineParse = new Scanner(line);
-			lineParse.useDelimiter(",");
-			firstName = lineParse.next();
-			lastName = lineParse.next();
-			id = lineParse.next();
-			email = lineParse.next();
-			password = lineParse.next();
-			maxCourses = Integer.parseInt(lineParse.next());
-			lineParse.close();
-		} catch (NoSuchElementException e) {
-			throw new IllegalArgumentException();
-		}
-		Faculty output = new Faculty(firstName, lastName, id, email, password, maxCourses);
-		return output;
+	private static Faculty processFaculty(RecordTokenizer lineParse) {
+		String firstName = lineParse.next();
+		String lastName = lineParse.next();
+		String id = lineParse.next();
+		String email = lineParse.next();
+		String password = lineParse.next();
+		int maxCourses = lineParse.nextInt();
+		return new Faculty(firstName, lastName, id, email, password, maxCourses);
 	}
 }
@@ -0,0 +1,143 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Class reads the characters of a file through memory mapped windows of the
+ * file rather than copying it through a stream. Only one window is mapped at a
+ * time, so files of any size can be read with bounded memory, and pages already
+ * read may be dropped by the operating system. Characters are decoded with the
+ * platform charset, as FileInputStream readers do.
+ *
+ * @author Nick Garner
+ *
+ */
+class MappedFileReader extends Reader {
+
+	/** Default number of bytes mapped at a time */
+	static final long WINDOW_SIZE = 64L << 20;
+
+	/** Number of bytes mapped at a time */
+	private long windowSize;
+	/** Channel of the file being read */
+	private FileChannel channel;
+	/** Position in the file just past the last byte to read */
+	private long end;
+	/** Position in the file of the start of the mapped window */
+	private long windowStart;
+	/** Currently mapped window of the file */
+	private MappedByteBuffer window;
+	/** Decoder from bytes to characters */
+	private CharsetDecoder decoder;
+	/** True once the decoder has been flushed at the end of the file */
+	private boolean flushed;
+
+	/**
+	 * Constructs a MappedFileReader over the given file
+	 *
+	 * @param fileName Name of the file to read
+	 * @throws FileNotFoundException If the file cannot be opened or mapped
+	 */
+	MappedFileReader(String fileName) throws FileNotFoundException {
+		this(fileName, 0, -1, WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructs a MappedFileReader over the bytes of the given file from start
+	 * up to end, mapping the given number of bytes at a time. The range should
+	 * begin at the start of a line so that no character is split.
+	 *
+	 * @param fileName   Name of the file to read
+	 * @param start      Position in the file of the first byte to read
+	 * @param end        Position just past the last byte to read, or -1 for the
+	 *                   end of the file
+	 * @param windowSize Number of bytes to map at a time
+	 * @throws FileNotFoundException If the file cannot be opened or mapped
+	 */
+	@SuppressWarnings("resource")
+	MappedFileReader(String fileName, long start, long end, long windowSize) throws FileNotFoundException {
+		this.windowSize = windowSize;
+		channel = new RandomAccessFile(fileName, "r").getChannel();
+		decoder = Charset.defaultCharset().newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		try {
+			this.end = end < 0 ? channel.size() : Math.min(end, channel.size());
+			map(Math.min(start, this.end));
+		} catch (IOException e) {
+			try {
+				channel.close();
+			} catch (IOException closeError) {
+				// already failing
+			}
+			throw new FileNotFoundException("Unable to map file " + fileName);
+		}
+	}
+
+	/**
+	 * Maps the window of the file starting at the given position
+	 *
+	 * @param start Position in the file to start the window at
+	 * @throws IOException If the file cannot be mapped
+	 */
+	private void map(long start) throws IOException {
+		windowStart = start;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, end - start));
+	}
+
+	/**
+	 * Decodes characters from the mapped windows into the given array, moving to
+	 * the next window when the current one is used up. A character split between
+	 * two windows is decoded from the start of the next.
+	 *
+	 * @param cbuf Array to read characters into
+	 * @param off  Position in the array to start at
+	 * @param len  Largest number of characters to read
+	 * @return Number of characters read, or -1 at the end of the file
+	 * @throws IOException If the file cannot be mapped or the reader is closed
+	 */
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (window == null) {
+			throw new IOException("Reader is closed.");
+		}
+		if (len == 0) {
+			return 0;
+		}
+		CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+		while (out.position() == off && !flushed) {
+			boolean lastWindow = windowStart + window.limit() >= end;
+			if (decoder.decode(window, out, lastWindow).isOverflow() || out.position() > off) {
+				break;
+			}
+			if (lastWindow) {
+				decoder.flush(out);
+				flushed = true;
+			} else {
+				map(windowStart + window.position());
+			}
+		}
+		int read = out.position() - off;
+		return read == 0 && flushed ? -1 : read;
+	}
+
+	/**
+	 * Closes the file. The mapped window is released once it is no longer
+	 * referenced.
+	 *
+	 * @throws IOException If the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+}
@@ -0,0 +1,441 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Class maintains an append-only log of registration operations so that no
+ * operation is lost between saves. Each record holds an operation type, its
+ * sequence number, and its String fields, framed by a length and CRC32 so that
+ * a record torn by a crash is detected and discarded along with anything after
+ * it. Sequence numbers keep increasing across truncation and reopening, so a
+ * snapshot can record the last operation it includes and replay can skip any
+ * record at or below it.
+ *
+ * Records are appended to an in-memory buffer while the caller still holds the
+ * locks of the operation, which keeps the log in the same order the
+ * operations were applied. Callers then wait in sync for the record to reach
+ * the disk. Only one thread writes and forces the file at a time; threads that
+ * arrive while it does so find their records already written when it finishes
+ * or write them together in the next batch, so many operations share each
+ * fsync.
+ *
+ * If a write to the file fails, the records of that batch are lost and any
+ * later record would follow a gap, so the log stops accepting records. Every
+ * later append and sync throws until a checkpoint truncates the log, since the
+ * checkpoint saves the state the lost records produced.
+ *
+ * @author Nick Garner
+ *
+ */
+public class OperationLog {
+
+	/** Student enrolled in a course: student id, course name, section */
+	public static final byte ENROLL = 1;
+	/** Student dropped a course: student id, course name, section */
+	public static final byte DROP = 2;
+	/** Student schedule reset: student id */
+	public static final byte RESET_SCHEDULE = 3;
+	/** Course assigned to faculty: faculty id, course name, section */
+	public static final byte ADD_FACULTY = 4;
+	/** Course removed from faculty: faculty id, course name, section */
+	public static final byte REMOVE_FACULTY = 5;
+	/** Faculty schedule reset: faculty id */
+	public static final byte RESET_FACULTY = 6;
+	/**
+	 * Course added to catalog: name, title, section, credits, instructor id,
+	 * enrollment cap, meeting days, start time, end time
+	 */
+	public static final byte ADD_COURSE = 7;
+	/** Course removed from catalog: name, section */
+	public static final byte REMOVE_COURSE = 8;
+	/** Course meeting changed: name, section, meeting days, start time, end time */
+	public static final byte SET_COURSE_MEETING = 9;
+	/** Course enrollment cap changed: name, section, enrollment cap */
+	public static final byte SET_ENROLLMENT_CAP = 10;
+	/** Students dropped from a course at once: name, section, student ids */
+	public static final byte DROP_ALL = 11;
+	/** Bytes of the length and CRC before each record */
+	private static final int HEADER_SIZE = 8;
+	/** Largest record accepted when reading */
+	private static final int MAX_RECORD_SIZE = 1 << 20;
+
+	/** Channel of the log file */
+	private FileChannel channel;
+	/** Records appended but not yet written */
+	private ByteArrayOutputStream buffer;
+	/** Writer for building each record */
+	private DataOutputStream recordWriter;
+	/** Bytes of the record being built */
+	private ByteArrayOutputStream record;
+	/** Sequence number of the last record appended */
+	private long appended;
+	/** Sequence number of the last record known to be on disk */
+	private volatile long durable;
+	/** Number of records in the log file and buffer */
+	private long count;
+	/** True once a write has failed, until the log is truncated */
+	private boolean failed;
+	/** Held by the thread writing and forcing the file */
+	private final Object syncLock = new Object();
+
+	/**
+	 * Opens the log at the given file for appending, creating it if needed. Any
+	 * damaged records at the end of the file are cut off.
+	 *
+	 * @param fileName Name of the log file
+	 * @throws IOException If the file cannot be opened
+	 */
+	public OperationLog(String fileName) throws IOException {
+		this(fileName, 0);
+	}
+
+	/**
+	 * Opens the log at the given file for appending, creating it if needed, and
+	 * numbers new records after both the given sequence number and the records
+	 * already in the file. Any damaged records at the end of the file are cut
+	 * off.
+	 *
+	 * @param fileName     Name of the log file
+	 * @param lastSequence Sequence number of the last operation already saved,
+	 *                     such as the one recorded in a snapshot
+	 * @throws IOException If the file cannot be opened
+	 */
+	@SuppressWarnings("resource")
+	public OperationLog(String fileName, long lastSequence) throws IOException {
+		Operation[] existing = readOperations(fileName);
+		long validLength = 0;
+		appended = lastSequence;
+		for (int i = 0; i < existing.length; i++) {
+			validLength = existing[i].end;
+			appended = Math.max(appended, existing[i].sequence);
+		}
+		durable = appended;
+		channel = new RandomAccessFile(fileName, "rw").getChannel();
+		channel.truncate(validLength);
+		channel.position(validLength);
+		count = existing.length;
+		buffer = new ByteArrayOutputStream();
+		record = new ByteArrayOutputStream();
+		recordWriter = new DataOutputStream(record);
+	}
+
+	/**
+	 * Appends an operation to the log buffer and returns its sequence number. The
+	 * operation is not durable until sync is called with that number.
+	 *
+	 * @param type   Operation type
+	 * @param fields Fields of the operation
+	 * @return Sequence number of the appended record
+	 * @throws IllegalStateException If the log is closed or a write has failed
+	 */
+	public synchronized long append(byte type, String... fields) {
+		if (channel == null) {
+			throw new IllegalStateException("Operation log is closed.");
+		}
+		if (failed) {
+			throw new IllegalStateException("Unable to write operation log.");
+		}
+		record.reset();
+		try {
+			recordWriter.writeByte(type);
+			recordWriter.writeLong(appended + 1);
+			recordWriter.writeShort(fields.length);
+			for (int i = 0; i < fields.length; i++) {
+				recordWriter.writeUTF(fields[i] == null ? "" : fields[i]);
+			}
+		} catch (IOException e) {
+			// ByteArrayOutputStream does not throw
+		}
+		byte[] data = record.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length);
+		writeInt(buffer, data.length);
+		writeInt(buffer, (int) crc.getValue());
+		buffer.write(data, 0, data.length);
+		count++;
+		return ++appended;
+	}
+
+	/**
+	 * Waits until the record with the given sequence number and every record
+	 * before it are on disk, writing and forcing the buffered records if no other
+	 * thread is already doing so.
+	 *
+	 * @param sequence Sequence number returned by append
+	 * @throws IllegalStateException If the log cannot be written, or an earlier
+	 *                               write failed
+	 */
+	public void sync(long sequence) {
+		if (durable >= sequence) {
+			return;
+		}
+		synchronized (syncLock) {
+			if (durable >= sequence) {
+				return;
+			}
+			byte[] batch;
+			long batchEnd;
+			FileChannel out;
+			synchronized (this) {
+				if (failed) {
+					throw new IllegalStateException("Unable to write operation log.");
+				}
+				batch = buffer.toByteArray();
+				buffer.reset();
+				batchEnd = appended;
+				out = channel;
+			}
+			if (out == null) {
+				throw new IllegalStateException("Operation log is closed.");
+			}
+			try {
+				ByteBuffer data = ByteBuffer.wrap(batch);
+				while (data.hasRemaining()) {
+					out.write(data);
+				}
+				out.force(false);
+			} catch (IOException e) {
+				synchronized (this) {
+					failed = true;
+				}
+				throw new IllegalStateException("Unable to write operation log.");
+			}
+			durable = batchEnd;
+		}
+	}
+
+	/**
+	 * Appends an operation and waits for it to reach the disk
+	 *
+	 * @param type   Operation type
+	 * @param fields Fields of the operation
+	 * @throws IllegalStateException If the log cannot be written
+	 */
+	public void write(byte type, String... fields) {
+		sync(append(type, fields));
+	}
+
+	/**
+	 * Returns the sequence number of the last record appended, or the number the
+	 * log was opened after if none has been
+	 *
+	 * @return Sequence number of the last record
+	 */
+	public synchronized long getLastSequence() {
+		return appended;
+	}
+
+	/**
+	 * Returns the number of records in the log since it was opened or last
+	 * truncated, including records from before it was opened
+	 *
+	 * @return Number of records in the log
+	 */
+	public synchronized long getOperationCount() {
+		return count;
+	}
+
+	/**
+	 * Discards every record in the log, both written and buffered. Used after a
+	 * checkpoint has saved the state those records produced. Callers must
+	 * prevent new appends while truncating. A log that stopped after a failed
+	 * write accepts records again once truncated.
+	 *
+	 * @throws IOException If the file cannot be truncated
+	 */
+	public void truncate() throws IOException {
+		synchronized (syncLock) {
+			synchronized (this) {
+				buffer.reset();
+				channel.truncate(0);
+				channel.position(0);
+				channel.force(true);
+				count = 0;
+				durable = appended;
+				failed = false;
+			}
+		}
+	}
+
+	/**
+	 * Writes any buffered records and closes the log. The file is closed even if
+	 * the records cannot be written.
+	 *
+	 * @throws IOException If the file cannot be written or closed, or an earlier
+	 *                     write failed
+	 */
+	public void close() throws IOException {
+		long last;
+		synchronized (this) {
+			last = appended;
+		}
+		IllegalStateException failure = null;
+		try {
+			sync(last);
+		} catch (IllegalStateException e) {
+			failure = e;
+		}
+		synchronized (syncLock) {
+			synchronized (this) {
+				if (channel != null) {
+					channel.close();
+					channel = null;
+				}
+			}
+		}
+		if (failure != null) {
+			throw new IOException(failure.getMessage(), failure);
+		}
+	}
+
+	/**
+	 * Reads every intact operation from the given log file, in order. Reading
+	 * stops at the end of the file or at the first damaged record. A missing file
+	 * has no operations.
+	 *
+	 * @param fileName Name of the log file
+	 * @return Operations in the order they were logged
+	 * @throws IOException If the file exists but cannot be read
+	 */
+	public static Operation[] readOperations(String fileName) throws IOException {
+		ArrayList<Operation> operations = new ArrayList<Operation>();
+		if (!new File(fileName).exists()) {
+			return new Operation[0];
+		}
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+			long position = 0;
+			long length = file.length();
+			while (position + HEADER_SIZE <= length) {
+				file.seek(position);
+				int size = file.readInt();
+				int checksum = file.readInt();
+				if (size < 0 || size > MAX_RECORD_SIZE || position + HEADER_SIZE + size > length) {
+					break;
+				}
+				byte[] data = new byte[size];
+				file.readFully(data);
+				CRC32 crc = new CRC32();
+				crc.update(data, 0, size);
+				if ((int) crc.getValue() != checksum) {
+					break;
+				}
+				position += HEADER_SIZE + size;
+				Operation operation = Operation.parse(data, position);
+				if (operation == null) {
+					break;
+				}
+				operations.add(operation);
+			}
+		}
+		return operations.toArray(new Operation[operations.size()]);
+	}
+
+	/**
+	 * Writes a big-endian int to the stream
+	 *
+	 * @param out   Stream to write to
+	 * @param value Value to write
+	 */
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	/**
+	 * A logged operation: its type, sequence number, and fields.
+	 *
+	 * @author Nick Garner
+	 *
+	 */
+	public static class Operation {
+
+		/** Operation type */
+		private byte type;
+		/** Sequence number of the record */
+		private long sequence;
+		/** Fields of the operation */
+		private String[] fields;
+		/** Position in the log file just past this record */
+		private long end;
+
+		/**
+		 * Constructs an Operation
+		 *
+		 * @param type     Operation type
+		 * @param sequence Sequence number of the record
+		 * @param fields   Fields of the operation
+		 * @param end      Position in the log file just past this record
+		 */
+		private Operation(byte type, long sequence, String[] fields, long end) {
+			this.type = type;
+			this.sequence = sequence;
+			this.fields = fields;
+			this.end = end;
+		}
+
+		/**
+		 * Decodes a record
+		 *
+		 * @param data Bytes of the record
+		 * @param end  Position in the log file just past the record
+		 * @return The operation, or null if the record cannot be decoded
+		 */
+		private static Operation parse(byte[] data, long end) {
+			try {
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+				byte type = in.readByte();
+				long sequence = in.readLong();
+				String[] fields = new String[in.readUnsignedShort()];
+				for (int i = 0; i < fields.length; i++) {
+					fields[i] = in.readUTF();
+				}
+				return new Operation(type, sequence, fields, end);
+			} catch (EOFException e) {
+				return null;
+			} catch (IOException e) {
+				return null;
+			}
+		}
+
+		/**
+		 * Returns the operation type
+		 *
+		 * @return Operation type
+		 */
+		public byte getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the sequence number of the record, which is greater than that of
+		 * every record logged before it
+		 *
+		 * @return Sequence number of the record
+		 */
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Returns the fields of the operation
+		 *
+		 * @return Fields of the operation
+		 */
+		public String[] getFields() {
+			return fields;
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class parses a record file on a fork/join pool. The file is split into
+ * chunks at line boundaries and each chunk is parsed by its own task through
+ * memory mapped windows, so validating fields and constructing objects runs on
+ * every core. The parsed chunks are then joined into one RecordBatch in file
+ * order for the later load phases.
+ *
+ * @author Nick Garner
+ *
+ */
+class ParallelRecordReader {
+
+	/** Smallest chunk worth parsing in its own task, in bytes */
+	static final long MIN_CHUNK_SIZE = 256 * 1024;
+	/** Number of chunks per thread of the pool, to balance uneven chunks */
+	private static final int CHUNKS_PER_THREAD = 4;
+	/** Bytes read at a time when searching for a line boundary */
+	private static final int SEARCH_SIZE = 256;
+
+	/**
+	 * Parses every valid record of the file into a batch in file order. Chunks
+	 * are parsed on the pool and then joined on the calling thread, with line
+	 * numbers counted from the start of the file.
+	 *
+	 * @param <E>          Type of object built from each record
+	 * @param fileName     Name of the file to read
+	 * @param parser       Builds an object from each record, without touching
+	 *                     shared state
+	 * @param pool         Pool to parse chunks on
+	 * @param minChunkSize Smallest chunk to parse in its own task, in bytes
+	 * @return Batch of the parsed objects
+	 * @throws FileNotFoundException    If the file is missing
+	 * @throws IllegalArgumentException If the file cannot be read
+	 */
+	static <E> RecordBatch<E> readRecords(String fileName, RecordParser<E> parser, ForkJoinPool pool,
+			long minChunkSize) throws FileNotFoundException {
+		long[] bounds = split(fileName, pool.getParallelism() * CHUNKS_PER_THREAD, minChunkSize);
+		Chunk<E>[] chunks = newChunks(bounds.length - 1);
+		pool.invoke(new ParseTask<E>(fileName, parser, bounds, chunks, 0, chunks.length));
+
+		RecordBatch<E> batch = new RecordBatch<E>();
+		int firstLine = 0;
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i].error != null) {
+				throw chunks[i].error;
+			}
+			batch.append(chunks[i].batch, firstLine);
+			firstLine += chunks[i].lineCount;
+		}
+		return batch;
+	}
+
+	/**
+	 * Splits the file into at most the given number of chunks of at least the
+	 * given size, each ending just after a line feed or at the end of the file
+	 *
+	 * @param fileName     Name of the file to split
+	 * @param maxChunks    Largest number of chunks
+	 * @param minChunkSize Smallest chunk size in bytes
+	 * @return Position of the start of each chunk followed by the file size
+	 * @throws FileNotFoundException    If the file is missing
+	 * @throws IllegalArgumentException If the file cannot be read
+	 */
+	private static long[] split(String fileName, int maxChunks, long minChunkSize) throws FileNotFoundException {
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+			FileChannel channel = file.getChannel();
+			long size = channel.size();
+			int count = (int) Math.max(1, Math.min(maxChunks, size / Math.max(1, minChunkSize)));
+			long[] bounds = new long[count + 1];
+			bounds[count] = size;
+			ByteBuffer buffer = ByteBuffer.allocate(SEARCH_SIZE);
+			for (int i = 1; i < count; i++) {
+				long position = Math.max(bounds[i - 1], size / count * i);
+				bounds[i] = nextLine(channel, position, size, buffer);
+			}
+			return bounds;
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Returns the position just after the first line feed at or after the given
+	 * position, or the file size if there is none
+	 *
+	 * @param channel  Channel of the file
+	 * @param position Position to search from
+	 * @param size     Size of the file
+	 * @param buffer   Buffer to read into
+	 * @return Position of the start of the next line
+	 * @throws IOException If the file cannot be read
+	 */
+	private static long nextLine(FileChannel channel, long position, long size, ByteBuffer buffer)
+			throws IOException {
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Creates an array of empty chunks
+	 *
+	 * @param <E>   Type of object built from each record
+	 * @param count Number of chunks
+	 * @return Array of chunks
+	 */
+	@SuppressWarnings("unchecked")
+	private static <E> Chunk<E>[] newChunks(int count) {
+		Chunk<E>[] chunks = (Chunk<E>[]) new Chunk<?>[count];
+		for (int i = 0; i < count; i++) {
+			chunks[i] = new Chunk<E>();
+		}
+		return chunks;
+	}
+
+	/**
+	 * Records parsed from one chunk of the file.
+	 *
+	 * @author Nick Garner
+	 *
+	 * @param <E> Type of object built from each record
+	 */
+	private static class Chunk<E> {
+		/** Objects parsed from the chunk, with line numbers within the chunk */
+		private RecordBatch<E> batch = new RecordBatch<E>();
+		/** Number of lines in the chunk */
+		private int lineCount;
+		/** Error that stopped the chunk from being read, or null */
+		private RuntimeException error;
+	}
+
+	/**
+	 * Task that parses a range of chunks, splitting the range in half until it
+	 * holds a single chunk.
+	 *
+	 * @author Nick Garner
+	 *
+	 * @param <E> Type of object built from each record
+	 */
+	private static class ParseTask<E> extends RecursiveAction {
+
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+		/** Name of the file being read */
+		private final String fileName;
+		/** Builds an object from each record */
+		private final transient RecordParser<E> parser;
+		/** Position of the start of each chunk followed by the file size */
+		private final long[] bounds;
+		/** Chunks to fill */
+		private final transient Chunk<E>[] chunks;
+		/** First chunk of the range */
+		private final int low;
+		/** Chunk just past the range */
+		private final int high;
+
+		/**
+		 * Constructs a ParseTask for the chunks from low up to high
+		 *
+		 * @param fileName Name of the file being read
+		 * @param parser   Builds an object from each record
+		 * @param bounds   Position of the start of each chunk followed by the file
+		 *                 size
+		 * @param chunks   Chunks to fill
+		 * @param low      First chunk of the range
+		 * @param high     Chunk just past the range
+		 */
+		ParseTask(String fileName, RecordParser<E> parser, long[] bounds, Chunk<E>[] chunks, int low, int high) {
+			this.fileName = fileName;
+			this.parser = parser;
+			this.bounds = bounds;
+			this.chunks = chunks;
+			this.low = low;
+			this.high = high;
+		}
+
+		/**
+		 * Parses the single chunk of the range, or splits the range in half
+		 */
+		@Override
+		protected void compute() {
+			if (high - low > 1) {
+				int mid = (low + high) >>> 1;
+				invokeAll(new ParseTask<E>(fileName, parser, bounds, chunks, low, mid),
+						new ParseTask<E>(fileName, parser, bounds, chunks, mid, high));
+				return;
+			}
+			Chunk<E> chunk = chunks[low];
+			try {
+				RecordTokenizer reader = new RecordTokenizer(
+						new MappedFileReader(fileName, bounds[low], bounds[low + 1], MappedFileReader.WINDOW_SIZE),
+						fileName);
+				try {
+					chunk.lineCount = chunk.batch.parse(reader, parser);
+				} finally {
+					reader.close();
+				}
+			} catch (FileNotFoundException e) {
+				chunk.error = new IllegalArgumentException("Unable to read file " + fileName);
+			} catch (IllegalArgumentException e) {
+				chunk.error = e;
+			}
+		}
+	}
+}
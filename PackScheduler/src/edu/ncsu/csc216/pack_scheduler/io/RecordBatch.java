@@ -0,0 +1,165 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import edu.ncsu.csc216.collections.list.SortedList;
+
+/**
+ * Class holds the objects parsed from a record file in file order, with the
+ * line number of each. Loading is split into phases over a batch: records are
+ * parsed without touching any shared state, then later phases such as binding
+ * courses to instructors run over the whole batch, and finally duplicates are
+ * removed and the rest are sorted into a SortedList.
+ *
+ * @author Nick Garner
+ *
+ * @param <E> Type of object built from each record
+ */
+class RecordBatch<E> {
+
+	/** Parsed objects in file order, or null where a later phase rejected one */
+	private ArrayList<E> records = new ArrayList<E>();
+	/** Line number of each parsed object */
+	private ArrayList<Integer> lines = new ArrayList<Integer>();
+
+	/**
+	 * Parses every valid record of the tokenizer, skipping invalid lines, and
+	 * closes the tokenizer
+	 *
+	 * @param <E>    Type of object built from each record
+	 * @param reader Tokenizer over the records
+	 * @param parser Builds an object from each record
+	 * @return Batch of the parsed objects
+	 * @throws IllegalArgumentException If the records cannot be read
+	 */
+	static <E> RecordBatch<E> read(RecordTokenizer reader, RecordParser<E> parser) {
+		RecordBatch<E> batch = new RecordBatch<E>();
+		batch.parse(reader, parser);
+		reader.close();
+		return batch;
+	}
+
+	/**
+	 * Parses every valid record of the tokenizer onto the end of the batch,
+	 * skipping invalid lines
+	 *
+	 * @param reader Tokenizer over the records
+	 * @param parser Builds an object from each record
+	 * @return Number of lines read
+	 * @throws IllegalArgumentException If the records cannot be read
+	 */
+	int parse(RecordTokenizer reader, RecordParser<E> parser) {
+		while (reader.nextRecord()) {
+			try {
+				records.add(parser.parse(reader));
+				lines.add(reader.getLineNumber());
+			} catch (IllegalArgumentException e) {
+				// skip the line
+			}
+		}
+		return reader.getLineNumber();
+	}
+
+	/**
+	 * Appends the objects of another batch, whose line numbers are counted from
+	 * the given offset
+	 *
+	 * @param other      Batch to append
+	 * @param lineOffset Number of lines before the first line of the other batch
+	 */
+	void append(RecordBatch<E> other, int lineOffset) {
+		records.addAll(other.records);
+		for (int i = 0; i < other.lines.size(); i++) {
+			lines.add(lineOffset + other.lines.get(i));
+		}
+	}
+
+	/**
+	 * Returns the number of objects parsed, including rejected ones
+	 *
+	 * @return Number of objects parsed
+	 */
+	int size() {
+		return records.size();
+	}
+
+	/**
+	 * Returns the object at the given position in file order
+	 *
+	 * @param index Position of the object
+	 * @return The object, or null if it was rejected
+	 */
+	E get(int index) {
+		return records.get(index);
+	}
+
+	/**
+	 * Rejects the object at the given position, so that it is left out of the
+	 * result as if its line were invalid
+	 *
+	 * @param index Position of the object
+	 */
+	void reject(int index) {
+		records.set(index, null);
+	}
+
+	/**
+	 * Returns the objects that were not rejected in file order, leaving out any
+	 * whose key matches an earlier one
+	 *
+	 * @param key            Returns the key that identifies duplicate objects
+	 * @param duplicateLines List to add the line numbers of skipped duplicates
+	 *                       to, or null to ignore them
+	 * @return Distinct objects in file order
+	 */
+	List<E> distinct(Function<E, Object> key, edu.ncsu.csc216.pack_scheduler.util.ArrayList<Integer> duplicateLines) {
+		ArrayList<E> distinct = new ArrayList<E>();
+		HashSet<Object> keys = new HashSet<Object>();
+		for (int i = 0; i < records.size(); i++) {
+			E record = records.get(i);
+			if (record == null) {
+				continue;
+			}
+			if (keys.add(key.apply(record))) {
+				distinct.add(record);
+			} else if (duplicateLines != null) {
+				duplicateLines.add(lines.get(i));
+			}
+		}
+		return distinct;
+	}
+
+	/**
+	 * Sorts distinct objects and adds them to a new SortedList in ascending
+	 * order, so each object is placed at the end of the list without shifting.
+	 * SortedList.add still searches the whole list for a duplicate and then for
+	 * the object's position, and the library offers no bulk add, so building the
+	 * list takes time quadratic in the number of objects. For a large file this
+	 * step, not parsing or sorting, bounds the load time.
+	 *
+	 * @param <E>     Type of the objects
+	 * @param records Objects without duplicates
+	 * @param pool    Pool to sort on, or null to sort on the calling thread
+	 * @return SortedList of the objects
+	 */
+	static <E extends Comparable<E>> SortedList<E> toSortedList(List<E> records, ForkJoinPool pool) {
+		@SuppressWarnings("unchecked")
+		E[] sorted = (E[]) records.toArray(new Comparable<?>[records.size()]);
+		if (pool == null) {
+			Arrays.sort(sorted);
+		} else {
+			// parallelSort forks onto the pool of the worker that runs it
+			pool.submit(() -> Arrays.parallelSort(sorted)).join();
+		}
+		SortedList<E> list = new SortedList<E>();
+		for (int i = 0; i < sorted.length; i++) {
+			list.add(sorted[i]);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,21 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+/**
+ * Interface for building one object from the current record of a
+ * RecordTokenizer. Used by RecordStream to read any kind of record.
+ *
+ * @author Nick Garner
+ *
+ * @param <E> Type of object built from each record
+ */
+interface RecordParser<E> {
+
+	/**
+	 * Builds an object from the current record
+	 *
+	 * @param lineParse Tokenizer positioned at the record to read
+	 * @return Object built from the record
+	 * @throws IllegalArgumentException If the record is missing fields or invalid
+	 */
+	E parse(RecordTokenizer lineParse);
+}
@@ -0,0 +1,103 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Class yields the valid records of a file one at a time, in file order,
+ * without holding the rest of the file in memory. Invalid lines are skipped as
+ * they are when a whole file is loaded, but duplicates are not removed since
+ * that would require remembering every record. The file is closed when the
+ * last record has been read or when close is called.
+ *
+ * @author Nick Garner
+ *
+ * @param <E> Type of object built from each record
+ */
+public class RecordStream<E> implements Iterator<E>, Closeable {
+
+	/** Tokenizer over the records of the file */
+	private RecordTokenizer reader;
+	/** Builds an object from each record */
+	private RecordParser<E> parser;
+	/** Next object to return, or null if not yet read */
+	private E next;
+
+	/**
+	 * Constructs a RecordStream over the records of the given tokenizer
+	 *
+	 * @param reader Tokenizer over the records of the file
+	 * @param parser Builds an object from each record
+	 */
+	RecordStream(RecordTokenizer reader, RecordParser<E> parser) {
+		this.reader = reader;
+		this.parser = parser;
+	}
+
+	/**
+	 * Returns true if another valid record remains, reading ahead to it
+	 *
+	 * @return True if another valid record remains
+	 * @throws IllegalArgumentException If the file cannot be read
+	 */
+	@Override
+	public boolean hasNext() {
+		while (next == null && reader != null) {
+			if (!reader.nextRecord()) {
+				close();
+				break;
+			}
+			try {
+				next = parser.parse(reader);
+			} catch (IllegalArgumentException e) {
+				// skip the line
+			}
+		}
+		return next != null;
+	}
+
+	/**
+	 * Returns the object built from the next valid record
+	 *
+	 * @return Object built from the next valid record
+	 * @throws NoSuchElementException If no valid records remain
+	 * @throws IllegalArgumentException If the file cannot be read
+	 */
+	@Override
+	public E next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		E element = next;
+		next = null;
+		return element;
+	}
+
+	/**
+	 * Returns a sequential Stream over the remaining records. Closing the Stream
+	 * closes this RecordStream.
+	 *
+	 * @return Stream over the remaining records
+	 */
+	public Stream<E> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * Closes the file. No more records are returned.
+	 */
+	@Override
+	public void close() {
+		if (reader != null) {
+			reader.close();
+			reader = null;
+		}
+	}
+}
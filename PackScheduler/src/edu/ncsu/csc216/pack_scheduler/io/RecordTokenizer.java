@@ -0,0 +1,248 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+/**
+ * Class splits comma separated records from a Reader into fields. Records are
+ * read one line at a time into a reusable char buffer and fields are taken
+ * directly from the buffer, with integer fields parsed in place, so no Scanner
+ * or regular expression is needed for each line. Shared by the course, student,
+ * and faculty record readers.
+ *
+ * @author Nick Garner
+ *
+ */
+class RecordTokenizer {
+
+	/** Field delimiter */
+	private static final char DELIMITER = ',';
+	/** Size of the read buffer */
+	private static final int READ_SIZE = 8192;
+	/** Initial size of the record buffer */
+	private static final int INIT_RECORD_SIZE = 128;
+	/** Name of the file records are read from */
+	private String fileName;
+	/** Reader records are read from */
+	private Reader reader;
+	/** Characters read from the reader but not yet consumed */
+	private char[] readBuffer;
+	/** Position of the next unconsumed character in readBuffer */
+	private int readPosition;
+	/** Number of valid characters in readBuffer */
+	private int readLimit;
+	/** True if the last record ended with a carriage return */
+	private boolean skipLineFeed;
+	/** Characters of the current record */
+	private char[] record;
+	/** Number of characters in the current record */
+	private int length;
+	/** Position of the next field in the current record */
+	private int position;
+	/** Line number of the current record, starting from 1 */
+	private int lineNumber;
+
+	/**
+	 * Constructs a RecordTokenizer reading from the given file
+	 *
+	 * @param fileName Name of the file to read records from
+	 * @throws FileNotFoundException If the file cannot be opened
+	 */
+	RecordTokenizer(String fileName) throws FileNotFoundException {
+		this(new InputStreamReader(new FileInputStream(fileName)), fileName);
+	}
+
+	/**
+	 * Constructs a RecordTokenizer reading from the given Reader
+	 *
+	 * @param reader   Reader to read records from
+	 * @param fileName Name of the source used in error messages
+	 */
+	RecordTokenizer(Reader reader, String fileName) {
+		this.reader = reader;
+		this.fileName = fileName;
+		readBuffer = new char[READ_SIZE];
+		record = new char[INIT_RECORD_SIZE];
+	}
+
+	/**
+	 * Advances to the next line of input. Lines may end with a line feed, a
+	 * carriage return, or both.
+	 *
+	 * @return True if a record was read, false at the end of input
+	 * @throws IllegalArgumentException If the Reader cannot be read
+	 */
+	boolean nextRecord() {
+		length = 0;
+		position = 0;
+		boolean read = false;
+		while (true) {
+			if (readPosition == readLimit) {
+				readLimit = read();
+				readPosition = 0;
+				if (readLimit <= 0) {
+					readLimit = 0;
+					if (read) {
+						lineNumber++;
+					}
+					return read;
+				}
+			}
+			char c = readBuffer[readPosition++];
+			if (skipLineFeed) {
+				skipLineFeed = false;
+				if (c == '\n') {
+					continue;
+				}
+			}
+			if (c == '\n' || c == '\r') {
+				skipLineFeed = c == '\r';
+				lineNumber++;
+				return true;
+			}
+			if (length == record.length) {
+				char[] grown = new char[record.length * 2];
+				System.arraycopy(record, 0, grown, 0, length);
+				record = grown;
+			}
+			record[length++] = c;
+			read = true;
+		}
+	}
+
+	/**
+	 * Returns the line number of the current record
+	 *
+	 * @return Line number starting from 1, or 0 before the first record
+	 */
+	int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Fills the read buffer from the Reader
+	 *
+	 * @return Number of characters read, or -1 at the end of input
+	 * @throws IllegalArgumentException If the Reader cannot be read
+	 */
+	private int read() {
+		try {
+			return reader.read(readBuffer);
+		} catch (IOException e) {
+			close();
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Returns true if the current record has another field
+	 *
+	 * @return True if characters remain in the current record
+	 */
+	boolean hasNext() {
+		return position < length;
+	}
+
+	/**
+	 * Returns the next field of the current record as a String
+	 *
+	 * @return Next field
+	 * @throws IllegalArgumentException If the record has no more fields
+	 */
+	String next() {
+		int start = position;
+		int end = endOfField();
+		return new String(record, start, end - start);
+	}
+
+	/**
+	 * Returns the rest of the current record, including any delimiters, as the
+	 * last field
+	 *
+	 * @return Remaining characters of the record
+	 * @throws IllegalArgumentException If the record has no more fields
+	 */
+	String rest() {
+		if (position > length) {
+			throw new IllegalArgumentException();
+		}
+		String rest = new String(record, position, length - position);
+		position = length + 1;
+		return rest;
+	}
+
+	/**
+	 * Parses the next field of the current record as a decimal integer without
+	 * creating a String for it.
+	 *
+	 * @return Next field as an int
+	 * @throws IllegalArgumentException If the record has no more fields or the
+	 *                                  field is not a valid int
+	 */
+	int nextInt() {
+		int start = position;
+		int end = endOfField();
+		if (start == end) {
+			throw new IllegalArgumentException();
+		}
+		int i = start;
+		boolean negative = false;
+		if (record[i] == '-' || record[i] == '+') {
+			negative = record[i] == '-';
+			i++;
+			if (i == end) {
+				throw new IllegalArgumentException();
+			}
+		}
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = record[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IllegalArgumentException();
+			}
+			value = value * 10 + digit;
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				throw new IllegalArgumentException();
+			}
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException();
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Finds the end of the field at the current position and moves past its
+	 * delimiter
+	 *
+	 * @return Index one past the last character of the field
+	 * @throws IllegalArgumentException If the record has no more fields
+	 */
+	private int endOfField() {
+		if (position >= length) {
+			throw new IllegalArgumentException();
+		}
+		int end = position;
+		while (end < length && record[end] != DELIMITER) {
+			end++;
+		}
+		position = end + 1;
+		return end;
+	}
+
+	/**
+	 * Closes the underlying Reader. Errors are ignored since no more records will
+	 * be read.
+	 */
+	void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			// nothing left to read
+		}
+	}
+}
@@ -0,0 +1,426 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Class saves a file of comma separated records so that only the records that
+ * changed since the last save are written. Changes are written to numbered
+ * segment files beside the main file, each holding the records added or
+ * replaced since the previous save and the keys of the records removed. Once
+ * the segments hold too many records they are compacted by rewriting the main
+ * file and deleting them.
+ *
+ * Every file is written to a temporary file, forced to disk, and then renamed
+ * over its target, so a crash mid-save leaves the previous file intact. Each
+ * segment starts with the CRC32 of the main file it applies to; segments left
+ * behind by a crash during compaction no longer match the new main file and are
+ * ignored.
+ *
+ * A record is identified by the fields at the key positions given to the
+ * constructor, such as the name and section of a course.
+ *
+ * @author Nick Garner
+ *
+ */
+public class SegmentedRecordFile {
+
+	/** Suffix of segment files, followed by the segment number */
+	private static final String SEGMENT_SUFFIX = ".seg";
+	/** Suffix of files being written before they are renamed */
+	private static final String TEMP_SUFFIX = ".tmp";
+	/** Type of the first line of a segment, holding the main file's CRC32 */
+	private static final String BASE = "#";
+	/** Type of a segment line holding an added or replaced record */
+	private static final String PUT = "+";
+	/** Type of a segment line holding the key of a removed record */
+	private static final String REMOVE = "-";
+	/** Number of segments that triggers compaction */
+	private static final int MAX_SEGMENTS = 8;
+	/** Size of the buffer used to compute checksums */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Name of the main file */
+	private String fileName;
+	/** Positions of the fields that identify a record */
+	private int[] keyFields;
+	/** Records as last saved, keyed by their key fields */
+	private HashMap<String, String> saved;
+	/** CRC32 of the main file, or -1 if not yet known */
+	private long baseChecksum;
+	/** Number of segments that apply to the main file */
+	private int segments;
+	/** Number of the next segment to write */
+	private int nextSegment;
+	/** Number of records held by segments that apply to the main file */
+	private int segmentRecords;
+
+	/**
+	 * Constructs a SegmentedRecordFile for the given main file whose records are
+	 * already saved as given, having been just read from or written to it
+	 *
+	 * @param fileName  Name of the main file
+	 * @param records   Records as saved, in the form they are written
+	 * @param keyFields Positions of the fields that identify a record
+	 */
+	public SegmentedRecordFile(String fileName, String[] records, int... keyFields) {
+		this.fileName = fileName;
+		this.keyFields = keyFields;
+		saved = toMap(records);
+		baseChecksum = -1;
+	}
+
+	/**
+	 * Returns the name of the main file
+	 *
+	 * @return Name of the main file
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Saves the given records by writing only those that were added, changed, or
+	 * removed since the last save to a new segment. If the segments would then
+	 * hold more than half as many records as the main file, or there are too many
+	 * segments, the main file is rewritten instead.
+	 *
+	 * @param records Records to save, in the form they are written
+	 * @return Number of records written
+	 * @throws IOException If the files cannot be read or written
+	 */
+	public int save(String[] records) throws IOException {
+		HashMap<String, String> current = toMap(records);
+		StringBuilder changes = new StringBuilder();
+		int changed = 0;
+		for (Map.Entry<String, String> entry : current.entrySet()) {
+			if (!entry.getValue().equals(saved.get(entry.getKey()))) {
+				changes.append(PUT).append(',').append(entry.getValue()).append('\n');
+				changed++;
+			}
+		}
+		for (String key : saved.keySet()) {
+			if (!current.containsKey(key)) {
+				changes.append(REMOVE).append(',').append(key).append('\n');
+				changed++;
+			}
+		}
+		if (changed == 0) {
+			return 0;
+		}
+		findSegments();
+		if (segments + 1 > MAX_SEGMENTS || 2 * (segmentRecords + changed) > current.size()) {
+			return saveAll(records);
+		}
+		String segment = segmentName(fileName, nextSegment);
+		writeAtomically(segment, BASE + "," + Long.toHexString(baseChecksum) + "\n" + changes);
+		segments++;
+		nextSegment++;
+		segmentRecords += changed;
+		saved = current;
+		return changed;
+	}
+
+	/**
+	 * Saves the given records by rewriting the main file and deleting its
+	 * segments
+	 *
+	 * @param records Records to save, in the form they are written
+	 * @return Number of records written
+	 * @throws IOException If the file cannot be written
+	 */
+	public int saveAll(String[] records) throws IOException {
+		baseChecksum = writeRecords(fileName, records);
+		saved = toMap(records);
+		segments = 0;
+		nextSegment = 1;
+		segmentRecords = 0;
+		return records.length;
+	}
+
+	/**
+	 * Writes the given records to the main file, replacing it and any segments
+	 * atomically
+	 *
+	 * @param fileName Name of the main file
+	 * @param records  Records to write, one per line
+	 * @return CRC32 of the written file
+	 * @throws IOException If the file cannot be written
+	 */
+	public static long writeRecords(String fileName, String[] records) throws IOException {
+		String temp = fileName + TEMP_SUFFIX;
+		CRC32 crc = new CRC32();
+		FileOutputStream file = new FileOutputStream(temp);
+		PrintStream fileWriter = new PrintStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)));
+		for (int i = 0; i < records.length; i++) {
+			fileWriter.println(records[i]);
+		}
+		fileWriter.flush();
+		if (fileWriter.checkError()) {
+			fileWriter.close();
+			throw new IOException("Unable to write to file " + temp);
+		}
+		file.getFD().sync();
+		fileWriter.close();
+		if (new File(segmentName(fileName, 1)).exists() && new File(fileName).exists()
+				&& checksum(fileName) == crc.getValue()) {
+			// The old segments would still apply to an identical file
+			deleteSegments(fileName);
+		}
+		Files.move(Paths.get(temp), Paths.get(fileName), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		deleteSegments(fileName);
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns true if changes to the main file have been saved to segments
+	 *
+	 * @param fileName Name of the main file
+	 * @return True if the file has segments
+	 */
+	static boolean hasSegments(String fileName) {
+		return new File(segmentName(fileName, 1)).exists();
+	}
+
+	/**
+	 * Opens a tokenizer over the records of the main file with the changes in its
+	 * segments applied. If there are no segments the main file is read directly.
+	 *
+	 * @param fileName  Name of the main file
+	 * @param keyFields Positions of the fields that identify a record
+	 * @return Tokenizer over the merged records
+	 * @throws FileNotFoundException    If the main file is missing
+	 * @throws IllegalArgumentException If a file cannot be read
+	 */
+	static RecordTokenizer openRecords(String fileName, int... keyFields) throws FileNotFoundException {
+		if (!hasSegments(fileName)) {
+			return new RecordTokenizer(fileName);
+		}
+		LinkedHashMap<String, String> records = new LinkedHashMap<String, String>();
+		try {
+			String base = Long.toHexString(checksum(fileName));
+			try (BufferedReader in = new BufferedReader(new FileReader(fileName))) {
+				int lineNumber = 0;
+				for (String line = in.readLine(); line != null; line = in.readLine()) {
+					String key = getKey(line, keyFields);
+					records.putIfAbsent(key == null ? "\n" + lineNumber : key, line);
+					lineNumber++;
+				}
+			}
+			for (int n = 1; new File(segmentName(fileName, n)).exists(); n++) {
+				applySegment(segmentName(fileName, n), base, records, keyFields);
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		StringBuilder merged = new StringBuilder();
+		for (String line : records.values()) {
+			merged.append(line).append('\n');
+		}
+		return new RecordTokenizer(new StringReader(merged.toString()), fileName);
+	}
+
+	/**
+	 * Opens a tokenizer that reads the records of the main file through memory
+	 * mapped windows, so that files of any size are read without being held in
+	 * memory. If the file has segments, their changes are merged in memory as by
+	 * openRecords.
+	 *
+	 * @param fileName  Name of the main file
+	 * @param keyFields Positions of the fields that identify a record
+	 * @return Tokenizer over the records
+	 * @throws FileNotFoundException    If the main file is missing
+	 * @throws IllegalArgumentException If a file cannot be read
+	 */
+	static RecordTokenizer openMappedRecords(String fileName, int... keyFields) throws FileNotFoundException {
+		if (hasSegments(fileName)) {
+			return openRecords(fileName, keyFields);
+		}
+		return new RecordTokenizer(new MappedFileReader(fileName), fileName);
+	}
+
+	/**
+	 * Applies the changes in a segment to the records if the segment applies to
+	 * the main file with the given checksum
+	 *
+	 * @param segment   Name of the segment file
+	 * @param base      Hex CRC32 of the main file
+	 * @param records   Records keyed by their key fields
+	 * @param keyFields Positions of the fields that identify a record
+	 * @throws IOException If the segment cannot be read
+	 */
+	private static void applySegment(String segment, String base, LinkedHashMap<String, String> records,
+			int[] keyFields) throws IOException {
+		try (BufferedReader in = new BufferedReader(new FileReader(segment))) {
+			String line = in.readLine();
+			if (line == null || !line.equals(BASE + "," + base)) {
+				return;
+			}
+			for (line = in.readLine(); line != null; line = in.readLine()) {
+				String value = line.substring(line.indexOf(',') + 1);
+				if (line.startsWith(PUT + ",")) {
+					String key = getKey(value, keyFields);
+					if (key != null) {
+						records.put(key, value);
+					}
+				} else if (line.startsWith(REMOVE + ",")) {
+					records.remove(value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the checksum of the main file and the segments that apply to it, if
+	 * not already known
+	 *
+	 * @throws IOException If the files cannot be read
+	 */
+	private void findSegments() throws IOException {
+		if (baseChecksum >= 0) {
+			return;
+		}
+		if (!new File(fileName).exists()) {
+			// Nothing to apply segments to; the next save rewrites the main file
+			segments = MAX_SEGMENTS;
+			return;
+		}
+		baseChecksum = checksum(fileName);
+		String base = BASE + "," + Long.toHexString(baseChecksum);
+		segments = 0;
+		segmentRecords = 0;
+		nextSegment = 1;
+		for (; new File(segmentName(fileName, nextSegment)).exists(); nextSegment++) {
+			try (BufferedReader in = new BufferedReader(new FileReader(segmentName(fileName, nextSegment)))) {
+				if (base.equals(in.readLine())) {
+					segments++;
+					while (in.readLine() != null) {
+						segmentRecords++;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the given text to a file through a temporary file that is forced to
+	 * disk and renamed over it
+	 *
+	 * @param fileName Name of the file to write
+	 * @param text     Text to write
+	 * @throws IOException If the file cannot be written
+	 */
+	private static void writeAtomically(String fileName, String text) throws IOException {
+		String temp = fileName + TEMP_SUFFIX;
+		try (FileOutputStream file = new FileOutputStream(temp)) {
+			file.write(text.getBytes());
+			file.getFD().sync();
+		}
+		Files.move(Paths.get(temp), Paths.get(fileName), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Deletes every segment of the main file
+	 *
+	 * @param fileName Name of the main file
+	 */
+	private static void deleteSegments(String fileName) {
+		for (int n = 1; new File(segmentName(fileName, n)).delete(); n++) {
+			// keep deleting until the next segment is missing
+		}
+	}
+
+	/**
+	 * Returns the name of the given segment of the main file
+	 *
+	 * @param fileName Name of the main file
+	 * @param segment  Segment number, starting from 1
+	 * @return Name of the segment file
+	 */
+	private static String segmentName(String fileName, int segment) {
+		return fileName + SEGMENT_SUFFIX + segment;
+	}
+
+	/**
+	 * Returns the CRC32 of the contents of a file
+	 *
+	 * @param fileName Name of the file
+	 * @return CRC32 of the file
+	 * @throws IOException If the file cannot be read
+	 */
+	private static long checksum(String fileName) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = new FileInputStream(fileName)) {
+			for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				crc.update(buffer, 0, read);
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the records keyed by their key fields. Records without every key
+	 * field are left out.
+	 *
+	 * @param records Records to key
+	 * @return Map from key to record
+	 */
+	private HashMap<String, String> toMap(String[] records) {
+		HashMap<String, String> map = new HashMap<String, String>();
+		for (int i = 0; i < records.length; i++) {
+			String key = getKey(records[i], keyFields);
+			if (key != null) {
+				map.put(key, records[i]);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Returns the key fields of a record joined by commas
+	 *
+	 * @param record    Comma separated record
+	 * @param keyFields Positions of the fields that identify a record
+	 * @return Key of the record, or null if it has too few fields
+	 */
+	private static String getKey(String record, int[] keyFields) {
+		StringBuilder key = new StringBuilder();
+		for (int i = 0; i < keyFields.length; i++) {
+			int start = 0;
+			for (int field = 0; field < keyFields[i]; field++) {
+				start = record.indexOf(',', start) + 1;
+				if (start == 0) {
+					return null;
+				}
+			}
+			int end = record.indexOf(',', start);
+			if (i > 0) {
+				key.append(',');
+			}
+			key.append(end < 0 ? record.substring(start) : record.substring(start, end));
+		}
+		return key.toString();
+	}
+}
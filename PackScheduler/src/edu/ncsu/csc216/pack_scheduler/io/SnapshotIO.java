@@ -0,0 +1,470 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.IdentityHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Class reads and writes binary snapshots of the full registration state: the
+ * course catalog, the student and faculty directories, each course's roll and
+ * waitlist, each student's schedule, and each faculty member's assigned
+ * courses. A snapshot restores in one pass without reparsing text records or
+ * replaying enrollments.
+ *
+ * A snapshot starts with a magic number and format version, and the sequence
+ * number of the last logged operation it includes, followed by a table of
+ * courses, a table of students, and a table of faculty, then each course's
+ * waitlist cap, roll, and waitlist. Schedules and rolls refer to courses and
+ * students by their position in these tables. A
+ * CRC32 of everything before it ends the file so that a snapshot cut short by
+ * a crash is rejected rather than partially loaded.
+ *
+ * @author Nick Garner
+ *
+ */
+public class SnapshotIO {
+
+	/** Marks the start of a snapshot file, "PKSS" */
+	private static final int MAGIC = 0x504B5353;
+	/** Current snapshot format version */
+	public static final int VERSION = 3;
+	/** Suffix of the file a snapshot is written to before it replaces the old one */
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	/**
+	 * Writes a snapshot of the given courses, students, and faculty with their
+	 * rolls and schedules. Students and courses referred to by a roll or schedule
+	 * but missing from the given arrays are left out. The snapshot is written to a
+	 * temporary file and forced to disk, then moved over the old snapshot, so a
+	 * crash or failed write leaves the old snapshot in place.
+	 *
+	 * @param fileName File to write to
+	 * @param courses  Courses in the catalog
+	 * @param students Students in the directory
+	 * @param faculty  Faculty in the directory
+	 * @param sequence Sequence number of the last logged operation the state
+	 *                 includes, or 0 if none
+	 * @throws IOException If the snapshot cannot be written
+	 */
+	public static void writeSnapshot(String fileName, Course[] courses, Student[] students, Faculty[] faculty,
+			long sequence) throws IOException {
+		IdentityHashMap<Course, Integer> courseIds = new IdentityHashMap<Course, Integer>();
+		for (int i = 0; i < courses.length; i++) {
+			courseIds.put(courses[i], i);
+		}
+		IdentityHashMap<Student, Integer> studentIds = new IdentityHashMap<Student, Integer>();
+		for (int i = 0; i < students.length; i++) {
+			studentIds.put(students[i], i);
+		}
+
+		String temp = fileName + TEMP_SUFFIX;
+		CRC32 crc = new CRC32();
+		FileOutputStream file = new FileOutputStream(temp);
+		try (DataOutputStream out = new DataOutputStream(
+				new CheckedOutputStream(new BufferedOutputStream(file), crc))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(sequence);
+
+			out.writeInt(courses.length);
+			for (int i = 0; i < courses.length; i++) {
+				Course c = courses[i];
+				out.writeUTF(c.getName());
+				out.writeUTF(c.getTitle());
+				out.writeUTF(c.getSection());
+				out.writeInt(c.getCredits());
+				writeNullableUTF(out, c.getInstructorId());
+				out.writeInt(c.getCourseRoll().getEnrollmentCap());
+				out.writeUTF(c.getMeetingDays());
+				out.writeInt(c.getStartTime());
+				out.writeInt(c.getEndTime());
+			}
+
+			out.writeInt(students.length);
+			for (int i = 0; i < students.length; i++) {
+				Student s = students[i];
+				writeUser(out, s.getFirstName(), s.getLastName(), s.getId(), s.getEmail(), s.getPassword());
+				out.writeInt(s.getMaxCredits());
+				Schedule schedule = s.getSchedule();
+				out.writeUTF(schedule.getTitle());
+				writeCourseIds(out, schedule.getCourses(), courseIds);
+			}
+
+			out.writeInt(faculty.length);
+			for (int i = 0; i < faculty.length; i++) {
+				Faculty f = faculty[i];
+				writeUser(out, f.getFirstName(), f.getLastName(), f.getId(), f.getEmail(), f.getPassword());
+				out.writeInt(f.getMaxCourses());
+				writeCourseIds(out, f.getSchedule().getCourses(), courseIds);
+			}
+
+			for (int i = 0; i < courses.length; i++) {
+				CourseRoll roll = courses[i].getCourseRoll();
+				synchronized (roll) {
+					out.writeInt(roll.getWaitlistCap());
+					writeStudentIds(out, roll.getEnrolledStudents(), studentIds);
+					writeStudentIds(out, roll.getWaitlistedStudents(), studentIds);
+				}
+			}
+
+			out.flush();
+			out.writeLong(crc.getValue());
+			out.flush();
+			file.getFD().sync();
+		}
+		Files.move(Paths.get(temp), Paths.get(fileName), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Reads a snapshot written by writeSnapshot and rebuilds its courses,
+	 * students, and faculty with their rolls and schedules connected. Snapshots
+	 * of the first version, which have no sequence number, read as sequence 0.
+	 * Snapshots before the third version have no waitlist caps, so each waitlist
+	 * keeps the default cap unless it must be raised to hold the saved waitlist.
+	 *
+	 * @param fileName File to read from
+	 * @return The restored snapshot
+	 * @throws IOException If the file cannot be read, is not a snapshot, has an
+	 *                     unsupported version, or is damaged
+	 */
+	public static Snapshot readSnapshot(String fileName) throws IOException {
+		CRC32 crc = new CRC32();
+		try (DataInputStream in = new DataInputStream(
+				new CheckedInputStream(new BufferedInputStream(new FileInputStream(fileName)), crc))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a snapshot file.");
+			}
+			int version = in.readInt();
+			if (version < 1 || version > VERSION) {
+				throw new IOException("Unsupported snapshot version.");
+			}
+			long sequence = version == 1 ? 0 : in.readLong();
+
+			Course[] courses = new Course[readCount(in)];
+			String[] instructorIds = new String[courses.length];
+			for (int i = 0; i < courses.length; i++) {
+				String name = in.readUTF();
+				String title = in.readUTF();
+				String section = in.readUTF();
+				int credits = in.readInt();
+				instructorIds[i] = readNullableUTF(in);
+				int enrollmentCap = in.readInt();
+				String meetingDays = in.readUTF();
+				int startTime = in.readInt();
+				int endTime = in.readInt();
+				courses[i] = new Course(name, title, section, credits, null, enrollmentCap, meetingDays, startTime,
+						endTime);
+			}
+
+			Student[] students = new Student[readCount(in)];
+			for (int i = 0; i < students.length; i++) {
+				String[] fields = readUser(in);
+				students[i] = new Student(fields[0], fields[1], fields[2], fields[3], fields[4], in.readInt());
+				String title = in.readUTF();
+				students[i].getSchedule().restore(title, readCourseIds(in, courses));
+			}
+
+			Faculty[] faculty = new Faculty[readCount(in)];
+			for (int i = 0; i < faculty.length; i++) {
+				String[] fields = readUser(in);
+				faculty[i] = new Faculty(fields[0], fields[1], fields[2], fields[3], fields[4], in.readInt());
+				Course[] assigned = readCourseIds(in, courses);
+				for (int j = 0; j < assigned.length; j++) {
+					faculty[i].getSchedule().addCourseToSchedule(assigned[j]);
+				}
+			}
+			// Courses whose instructor is not in the faculty directory keep their id
+			for (int i = 0; i < courses.length; i++) {
+				if (courses[i].getInstructorId() == null) {
+					courses[i].setInstructorId(instructorIds[i]);
+				}
+			}
+
+			for (int i = 0; i < courses.length; i++) {
+				int waitlistCap = version < 3 ? -1 : in.readInt();
+				Student[] enrolled = readStudentIds(in, students);
+				Student[] waitlisted = readStudentIds(in, students);
+				if (version < 3) {
+					courses[i].getCourseRoll().restore(enrolled, waitlisted);
+				} else {
+					courses[i].getCourseRoll().restore(enrolled, waitlisted, waitlistCap);
+				}
+			}
+
+			long expected = crc.getValue();
+			if (in.readLong() != expected) {
+				throw new IOException("Snapshot is damaged.");
+			}
+			return new Snapshot(courses, students, faculty, sequence);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Snapshot is damaged.", e);
+		}
+	}
+
+	/**
+	 * Writes the fields shared by all Users
+	 *
+	 * @param out       Stream to write to
+	 * @param firstName User's first name
+	 * @param lastName  User's last name
+	 * @param id        User's id
+	 * @param email     User's email
+	 * @param password  User's hashed password
+	 * @throws IOException If the stream cannot be written
+	 */
+	private static void writeUser(DataOutputStream out, String firstName, String lastName, String id, String email,
+			String password) throws IOException {
+		out.writeUTF(firstName);
+		out.writeUTF(lastName);
+		out.writeUTF(id);
+		out.writeUTF(email);
+		out.writeUTF(password);
+	}
+
+	/**
+	 * Reads the fields shared by all Users
+	 *
+	 * @param in Stream to read from
+	 * @return First name, last name, id, email, and hashed password
+	 * @throws IOException If the stream cannot be read
+	 */
+	private static String[] readUser(DataInputStream in) throws IOException {
+		return new String[] { in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF() };
+	}
+
+	/**
+	 * Writes a String that may be null
+	 *
+	 * @param out   Stream to write to
+	 * @param value String to write
+	 * @throws IOException If the stream cannot be written
+	 */
+	private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Reads a String written by writeNullableUTF
+	 *
+	 * @param in Stream to read from
+	 * @return The String, or null
+	 * @throws IOException If the stream cannot be read
+	 */
+	private static String readNullableUTF(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * Writes the table positions of the given courses, skipping any not in the
+	 * table
+	 *
+	 * @param out       Stream to write to
+	 * @param courses   Courses to write
+	 * @param courseIds Table position of each course
+	 * @throws IOException If the stream cannot be written
+	 */
+	private static void writeCourseIds(DataOutputStream out, Course[] courses,
+			IdentityHashMap<Course, Integer> courseIds) throws IOException {
+		int count = 0;
+		int[] ids = new int[courses.length];
+		for (int i = 0; i < courses.length; i++) {
+			Integer id = courseIds.get(courses[i]);
+			if (id != null) {
+				ids[count++] = id;
+			}
+		}
+		writeIds(out, ids, count);
+	}
+
+	/**
+	 * Writes the table positions of the given students, skipping any not in the
+	 * table
+	 *
+	 * @param out        Stream to write to
+	 * @param students   Students to write
+	 * @param studentIds Table position of each student
+	 * @throws IOException If the stream cannot be written
+	 */
+	private static void writeStudentIds(DataOutputStream out, Student[] students,
+			IdentityHashMap<Student, Integer> studentIds) throws IOException {
+		int count = 0;
+		int[] ids = new int[students.length];
+		for (int i = 0; i < students.length; i++) {
+			Integer id = studentIds.get(students[i]);
+			if (id != null) {
+				ids[count++] = id;
+			}
+		}
+		writeIds(out, ids, count);
+	}
+
+	/**
+	 * Writes a count followed by that many table positions
+	 *
+	 * @param out   Stream to write to
+	 * @param ids   Table positions
+	 * @param count Number of positions to write
+	 * @throws IOException If the stream cannot be written
+	 */
+	private static void writeIds(DataOutputStream out, int[] ids, int count) throws IOException {
+		out.writeInt(count);
+		for (int i = 0; i < count; i++) {
+			out.writeInt(ids[i]);
+		}
+	}
+
+	/**
+	 * Reads a list of table positions and returns the matching courses
+	 *
+	 * @param in      Stream to read from
+	 * @param courses Course table
+	 * @return Courses at the positions read
+	 * @throws IOException If the stream cannot be read or a position is invalid
+	 */
+	private static Course[] readCourseIds(DataInputStream in, Course[] courses) throws IOException {
+		Course[] output = new Course[readCount(in)];
+		for (int i = 0; i < output.length; i++) {
+			output[i] = courses[readId(in, courses.length)];
+		}
+		return output;
+	}
+
+	/**
+	 * Reads a list of table positions and returns the matching students
+	 *
+	 * @param in       Stream to read from
+	 * @param students Student table
+	 * @return Students at the positions read
+	 * @throws IOException If the stream cannot be read or a position is invalid
+	 */
+	private static Student[] readStudentIds(DataInputStream in, Student[] students) throws IOException {
+		Student[] output = new Student[readCount(in)];
+		for (int i = 0; i < output.length; i++) {
+			output[i] = students[readId(in, students.length)];
+		}
+		return output;
+	}
+
+	/**
+	 * Reads a table position and checks that it is within the table
+	 *
+	 * @param in   Stream to read from
+	 * @param size Size of the table
+	 * @return The position read
+	 * @throws IOException If the stream cannot be read or the position is invalid
+	 */
+	private static int readId(DataInputStream in, int size) throws IOException {
+		int id = in.readInt();
+		if (id < 0 || id >= size) {
+			throw new IOException("Snapshot is damaged.");
+		}
+		return id;
+	}
+
+	/**
+	 * Reads a count and checks that it is not negative
+	 *
+	 * @param in Stream to read from
+	 * @return The count read
+	 * @throws IOException If the stream cannot be read or the count is invalid
+	 */
+	private static int readCount(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0) {
+			throw new IOException("Snapshot is damaged.");
+		}
+		return count;
+	}
+
+	/**
+	 * The courses, students, and faculty restored from a snapshot, with rolls and
+	 * schedules already connected.
+	 *
+	 * @author Nick Garner
+	 *
+	 */
+	public static class Snapshot {
+
+		/** Courses in catalog order */
+		private Course[] courses;
+		/** Students in directory order */
+		private Student[] students;
+		/** Faculty in directory order */
+		private Faculty[] faculty;
+		/** Sequence number of the last logged operation included */
+		private long sequence;
+
+		/**
+		 * Constructs a Snapshot of the given records
+		 *
+		 * @param courses  Courses in catalog order
+		 * @param students Students in directory order
+		 * @param faculty  Faculty in directory order
+		 * @param sequence Sequence number of the last logged operation included
+		 */
+		Snapshot(Course[] courses, Student[] students, Faculty[] faculty, long sequence) {
+			this.courses = courses;
+			this.students = students;
+			this.faculty = faculty;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * Returns the restored courses
+		 *
+		 * @return Courses in catalog order
+		 */
+		public Course[] getCourses() {
+			return courses;
+		}
+
+		/**
+		 * Returns the restored students
+		 *
+		 * @return Students in directory order
+		 */
+		public Student[] getStudents() {
+			return students;
+		}
+
+		/**
+		 * Returns the restored faculty
+		 *
+		 * @return Faculty in directory order
+		 */
+		public Faculty[] getFaculty() {
+			return faculty;
+		}
+
+		/**
+		 * Returns the sequence number of the last logged operation the snapshot
+		 * includes. Replaying a log on the snapshot skips records at or below it.
+		 *
+		 * @return Sequence number, or 0 if no logged operation is included
+		 */
+		public long getSequence() {
+			return sequence;
+		}
+	}
+}
@@ -2,15 +2,12 @@ package edu.ncsu.csc216.pack_scheduler.io;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
-import java.io.FileInputStream;
-import java.io.PrintStream;
-import java.io.File;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.collections.list.SortedList;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc216.pack_scheduler.user.User;
+import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
 /**
  * Class controls behavior for reading/writing student info in/out of database
@@ -20,6 +17,9 @@ import edu.ncsu.csc216.pack_scheduler.user.User;
  */
 public class StudentRecordIO {
 
+	/** Position of the id field, which identifies a record */
+	private static final int ID_FIELD = 2;
+
 	/**
 	 * Reads input from txt file and returns SortedList of processed students, minus
 	 * duplicates
@@ -29,21 +29,33 @@ public class StudentRecordIO {
 	 * @throws FileNotFoundException File cannot be found as named
 	 */
 	public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		return readStudentRecords(fileName, null);
+	}
+
+	/**
+	 * Reads input from txt file and returns SortedList of processed students, minus
+	 * duplicates. A record matching one already read on every field is skipped
+	 * and its line number is reported. Changes saved to segments of the file by
+	 * writeStudentChanges are applied.
+	 * 
+	 * @param fileName       File name to read and process
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       records to, or null to ignore them
+	 * @return Returns SortedList of students
+	 * @throws FileNotFoundException File cannot be found as named
+	 */
+	public static SortedList<Student> readStudentRecords(String fileName, ArrayList<Integer> duplicateLines)
+			throws FileNotFoundException {
+		RecordTokenizer fileReader = SegmentedRecordFile.openRecords(fileName, ID_FIELD);
 		SortedList<Student> output = new SortedList<Student>();
-		while (fileReader.hasNextLine()) {
+		HashSet<Student> seen = new HashSet<Student>();
+		while (fileReader.nextRecord()) {
 			try {
-				Student student = processStudent(fileReader.nextLine());
-				boolean duplicate = false;
-				for (int i = 0; i < output.size(); i++) {
-					User s = output.get(i);
-					if (student.equals(s)) {
-						// it's a duplicate
-						duplicate = true;
-					}
-				}
-				if (!duplicate) {
+				Student student = processStudent(fileReader);
+				if (seen.add(student)) {
 					output.add(student);
+				} else if (duplicateLines != null) {
+					duplicateLines.add(fileReader.getLineNumber());
 				}
 			} catch (IllegalArgumentException e) {
 				// skip the line
@@ -54,47 +66,125 @@ public class StudentRecordIO {
 	}
 
 	/**
-	 * Writes stored studentDirectory SortedList of Students to given output fileName
+	 * Reads input from txt file and returns SortedList of processed students, minus
+	 * duplicates, parsing chunks of the file on the given pool. The result and the
+	 * reported duplicate lines match readStudentRecords(fileName, duplicateLines).
+	 * A file with segments is read sequentially.
+	 * 
+	 * @param fileName       File name to read and process
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       records to, or null to ignore them
+	 * @param pool           Pool to parse and sort on
+	 * @return Returns SortedList of students
+	 * @throws FileNotFoundException File cannot be found as named
+	 */
+	public static SortedList<Student> readStudentRecords(String fileName, ArrayList<Integer> duplicateLines,
+			ForkJoinPool pool) throws FileNotFoundException {
+		return readStudentRecords(fileName, duplicateLines, pool, ParallelRecordReader.MIN_CHUNK_SIZE);
+	}
+
+	/**
+	 * Reads students in parallel, splitting the file into chunks of at least the
+	 * given size
+	 * 
+	 * @param fileName       File name to read and process
+	 * @param duplicateLines List to add the line numbers of skipped duplicate
+	 *                       records to, or null to ignore them
+	 * @param pool           Pool to parse and sort on
+	 * @param minChunkSize   Smallest chunk to parse in its own task, in bytes
+	 * @return Returns SortedList of students
+	 * @throws FileNotFoundException File cannot be found as named
+	 */
+	static SortedList<Student> readStudentRecords(String fileName, ArrayList<Integer> duplicateLines,
+			ForkJoinPool pool, long minChunkSize) throws FileNotFoundException {
+		if (SegmentedRecordFile.hasSegments(fileName)) {
+			return readStudentRecords(fileName, duplicateLines);
+		}
+		RecordBatch<Student> batch = ParallelRecordReader.readRecords(fileName, StudentRecordIO::processStudent,
+				pool, minChunkSize);
+		return RecordBatch.toSortedList(batch.distinct(student -> student, duplicateLines), pool);
+	}
+
+	/**
+	 * Opens a stream over the students in the given file, read one at a time
+	 * through memory mapped windows of the file. Suited to files too large to
+	 * load, where callers filter or aggregate the records rather than build a
+	 * directory.
+	 * 
+	 * @param fileName File name to read and process
+	 * @return RecordStream over the valid records, in file order
+	 * @throws FileNotFoundException File cannot be found as named
+	 */
+	public static RecordStream<Student> streamStudentRecords(String fileName) throws FileNotFoundException {
+		return new RecordStream<Student>(SegmentedRecordFile.openMappedRecords(fileName, ID_FIELD),
+				StudentRecordIO::processStudent);
+	}
+
+	/**
+	 * Writes stored studentDirectory SortedList of Students to given output fileName.
+	 * The file is replaced atomically, and any segments of it are deleted.
 	 * 
 	 * @param fileName         File to write to
 	 * @param studentDirectory SortedList of stored student records
 	 * @throws IOException Cannot write student records to file
 	 */
 	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		SegmentedRecordFile.writeRecords(fileName, getRecords(studentDirectory));
+	}
+
+	/**
+	 * Returns a SegmentedRecordFile for saving changes to the given students, which
+	 * were just read from or written to the given file
+	 * 
+	 * @param fileName         File the students were read from or written to
+	 * @param studentDirectory SortedList of stored students records
+	 * @return SegmentedRecordFile tracking the saved students
+	 */
+	public static SegmentedRecordFile openSegmentedFile(String fileName, SortedList<Student> studentDirectory) {
+		return new SegmentedRecordFile(fileName, getRecords(studentDirectory), ID_FIELD);
+	}
+
+	/**
+	 * Writes only the students added, changed, or removed since the last save to a
+	 * segment of the file, compacting the file when the segments grow too large
+	 * 
+	 * @param file             SegmentedRecordFile tracking the saved students
+	 * @param studentDirectory SortedList of stored students records
+	 * @return Number of records written
+	 * @throws IOException Cannot write students records to file
+	 */
+	public static int writeStudentChanges(SegmentedRecordFile file, SortedList<Student> studentDirectory) throws IOException {
+		return file.save(getRecords(studentDirectory));
+	}
+
+	/**
+	 * Returns the record of each student
+	 * 
+	 * @param studentDirectory SortedList of stored students records
+	 * @return Record of each student, in order
+	 */
+	private static String[] getRecords(SortedList<Student> studentDirectory) {
+		String[] records = new String[studentDirectory.size()];
 		for (int i = 0; i < studentDirectory.size(); i++) {
-			fileWriter.println(studentDirectory.get(i).toString());
+			records[i] = studentDirectory.get(i).toString();
 		}
-		fileWriter.close();
+		return records;
 	}
 
 	/**
-	 * Reads line in from input file and constructs new student object
+	 * Reads the current record of the tokenizer and constructs new Student object
 	 * 
-	 * @param line Line to be processed
+	 * @param lineParse Tokenizer positioned at the record to be processed
 	 * @return Student object with field info from input file
+	 * @throws IllegalArgumentException If the record is missing fields or invalid
 	 */
-	private static Student processStudent(String line) {
-		String firstName;
-		String lastName;
-		String id;
-		String email;
-		String password;
-		int maxCredits;
-		try {
-			Scanner lineParse = new Scanner(line);
-			lineParse.useDelimiter(",");
-			firstName = lineParse.next();
-			lastName = lineParse.next();
-			id = lineParse.next();
-			email = lineParse.next();
-			password = lineParse.next();
-			maxCredits = Integer.parseInt(lineParse.next());
-			lineParse.close();
-		} catch (NoSuchElementException e) {
-			throw new IllegalArgumentException();
-		}
-		Student output = new Student(firstName, lastName, id, email, password, maxCredits);
-		return output;
+	private static Student processStudent(RecordTokenizer lineParse) {
+		String firstName = lineParse.next();
+		String lastName = lineParse.next();
+		String id = lineParse.next();
+		String email = lineParse.next();
+		String password = lineParse.next();
+		int maxCredits = lineParse.nextInt();
+		return new Student(firstName, lastName, id, email, password, maxCredits);
 	}
 }
@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+/**
+ * Class defines the outcome of a bulk enrollment, with one result for each row
+ * of the import in the order the rows were given. Results are created by
+ * RegistrationManager.enrollStudentsInCourses.
+ *
+ * @author Nick Garner
+ *
+ */
+public class BulkEnrollmentReport {
+
+	/** Student was enrolled in the course */
+	public static final int ENROLLED = 0;
+	/** Course was full, so the Student was added to its waitlist */
+	public static final int WAITLISTED = 1;
+	/** Row did not have a student id, course name, and section */
+	public static final int INVALID_ROW = 2;
+	/** No Student has the row's id */
+	public static final int UNKNOWN_STUDENT = 3;
+	/** No Course has the row's name and section */
+	public static final int UNKNOWN_COURSE = 4;
+	/** Student is already enrolled or waitlisted in the course */
+	public static final int ALREADY_ENROLLED = 5;
+	/** Course would exceed the Student's max credits */
+	public static final int OVER_CREDITS = 6;
+	/**
+	 * Course conflicts with or duplicates another course on the Student's
+	 * schedule
+	 */
+	public static final int CONFLICT = 7;
+	/** Course and its waitlist are full */
+	public static final int FULL = 8;
+	/** Number of kinds of result */
+	private static final int RESULTS = 9;
+
+	/** Result of each row */
+	private final int[] results;
+	/** Number of rows with each result */
+	private final int[] counts;
+
+	/**
+	 * Constructs a report for the given number of rows
+	 *
+	 * @param rows Number of rows in the import
+	 */
+	BulkEnrollmentReport(int rows) {
+		results = new int[rows];
+		counts = new int[RESULTS];
+	}
+
+	/**
+	 * Records the result of a row
+	 *
+	 * @param row    Index of the row
+	 * @param result Result of the row
+	 */
+	void setResult(int row, int result) {
+		results[row] = result;
+		counts[result]++;
+	}
+
+	/**
+	 * Returns the number of rows in the import
+	 *
+	 * @return Number of rows
+	 */
+	public int size() {
+		return results.length;
+	}
+
+	/**
+	 * Returns the result of the given row
+	 *
+	 * @param row Index of the row
+	 * @return One of the result constants
+	 */
+	public int getResult(int row) {
+		return results[row];
+	}
+
+	/**
+	 * Returns the number of rows with the given result
+	 *
+	 * @param result One of the result constants
+	 * @return Number of rows with that result
+	 * @throws IllegalArgumentException If result is not a result constant
+	 */
+	public int getCount(int result) {
+		if (result < 0 || result >= RESULTS) {
+			throw new IllegalArgumentException("Invalid result.");
+		}
+		return counts[result];
+	}
+}
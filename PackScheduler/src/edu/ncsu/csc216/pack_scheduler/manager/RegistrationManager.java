@@ -1,17 +1,29 @@
 package edu.ncsu.csc216.pack_scheduler.manager;
 
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.course.roll.PromotionReport;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.OperationLog;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
@@ -20,9 +32,20 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 /**
  * Class defines Singleton model and behavior for RegistrationManager object.
  * This class controls login/out logic as well as some basic getters for the
- * CourseCatalog and StudentDirectory sorted lists. Inner class defines
+ * CourseCatalog and StudentDirectory sorted lists. Users may log in through
+ * Sessions so that many students can register at the same time; the single
+ * user login/logout methods manage one current Session. Inner class defines
  * constructor for Registrar objects.
  * 
+ * Registration operations lock only the CourseRoll of the Course involved and
+ * then the Student's Schedule, always in that order, so enrollments in
+ * different courses proceed in parallel without deadlock.
+ * 
+ * When an operation log is open, each successful registration operation is
+ * appended to it while its locks are still held and is on disk before the
+ * operation returns. The log is folded into a snapshot every so many
+ * operations, and on opening, the snapshot is loaded and the log replayed.
+ * 
  * @author Nick Garner
  *
  */
@@ -38,14 +61,27 @@ public class RegistrationManager {
 	private FacultyDirectory facultyDirectory;
 	/** Holds credentials of registrar login */
 	private User registrar;
-	/** The user currently logged into the system */
-	private User currentUser = null;
+	/** The session of the user currently logged into the system */
+	private Session currentSession = null;
+	/** Open sessions keyed by session id */
+	private ConcurrentHashMap<Long, Session> sessions;
+	/** Id to assign to the next opened session */
+	private AtomicLong nextSessionId;
+	/** Log of registration operations since the last checkpoint, or null */
+	private OperationLog operationLog;
+	/** Snapshot file the operation log is checkpointed into */
+	private String snapshotFile;
+	/** Number of logged operations that triggers a checkpoint, 0 for never */
+	private int checkpointInterval;
+	/**
+	 * Shared by logged operations and held exclusively by checkpoints, so a
+	 * checkpoint never sees an operation applied but not yet logged
+	 */
+	private ReentrantReadWriteLock logLock;
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 	/** Properties file for registrar fields */
 	private static final String PROP_FILE = "registrar.properties";
-	/** Tracks whether a User is currently logged in */
-	private boolean isLoggedIn = false;
 
 	/**
 	 * Creates a new RegistrationManager object
@@ -55,6 +91,20 @@ public class RegistrationManager {
 		courseCatalog = new CourseCatalog();
 		studentDirectory = new StudentDirectory();
 		facultyDirectory = new FacultyDirectory();
+		sessions = new ConcurrentHashMap<Long, Session>();
+		nextSessionId = new AtomicLong();
+		logLock = new ReentrantReadWriteLock();
+		courseCatalog.setEditLog(new CourseCatalog.EditLog() {
+			@Override
+			public OperationLog beginEdit() {
+				return beginOperation();
+			}
+
+			@Override
+			public void endEdit(OperationLog log, long sequence) {
+				endOperation(log, sequence);
+			}
+		});
 	}
 
 	/**
@@ -98,7 +148,7 @@ public class RegistrationManager {
 	 * 
 	 * @return Returns the static single instance of RegistrationManager
 	 */
-	public static RegistrationManager getInstance() {
+	public static synchronized RegistrationManager getInstance() {
 		if (instance == null) {
 			instance = new RegistrationManager();
 		}
@@ -135,70 +185,22 @@ public class RegistrationManager {
 	/**
 	 * Checks that the given password matches the stored student password, or if the
 	 * id is a Registrar id, that the given password matches the Registrar password.
+	 * Only one user may be logged in through this method at a time.
 	 * 
 	 * @param id       The id to compare to records
 	 * @param password The password to compare to records
 	 * @return Returns true if login is successful, false otherwise.
 	 */
 	public boolean login(String id, String password) {
-		if (isLoggedIn) {
+		if (currentSession != null) {
 			return false;
 		}
-
-		// Registrar login if ID == registrar ID
-		if (registrar.getId().equals(id)) {
-			MessageDigest digest;
-			try {
-				digest = MessageDigest.getInstance(HASH_ALGORITHM);
-				digest.update(password.getBytes());
-				String localHashPW = new String(digest.digest());
-				if (registrar.getPassword().equals(localHashPW)) {
-					currentUser = registrar;
-					isLoggedIn = true;
-					return true;
-				} else {
-					return false;
-				}
-			} catch (NoSuchAlgorithmException e) {
-				throw new IllegalArgumentException();
-			}
-		}
-
-		// If student cannot be found in directory, throw exception
-		Student s = studentDirectory.getStudentById(id);
-		Faculty f = facultyDirectory.getFacultyById(id);
-		if (s == null && f == null) {
-			throw new IllegalArgumentException("User doesn't exist.");
-		} else if (s != null) {
-			// If student exists, check login password
-			try {
-				MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-				digest.update(password.getBytes());
-				String localHashPW = new String(digest.digest());
-				if (s.getPassword().equals(localHashPW)) {
-					currentUser = s;
-					isLoggedIn = true;
-					return true;
-				}
-			} catch (NoSuchAlgorithmException e) {
-				throw new IllegalArgumentException();
-			}
-		} else {
-			// If Faculty exists, check login password
-			try {
-				MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-				digest.update(password.getBytes());
-				String localHashPW = new String(digest.digest());
-				if (f.getPassword().equals(localHashPW)) {
-					currentUser = f;
-					isLoggedIn = true;
-					return true;
-				}
-			} catch (NoSuchAlgorithmException e) {
-				throw new IllegalArgumentException();
-			}
+		Session session = openSession(id, password);
+		if (session == null) {
+			return false;
 		}
-		return false;
+		currentSession = session;
+		return true;
 	}
 
 	/**
@@ -206,8 +208,10 @@ public class RegistrationManager {
 	 * Registrar control.
 	 */
 	public void logout() {
-		currentUser = null;
-		isLoggedIn = false;
+		if (currentSession != null) {
+			closeSession(currentSession);
+		}
+		currentSession = null;
 	}
 
 	/**
@@ -217,7 +221,95 @@ public class RegistrationManager {
 	 * @return Returns the User that is currently logged into the system.
 	 */
 	public User getCurrentUser() {
-		return currentUser;
+		if (currentSession == null) {
+			return null;
+		}
+		return currentSession.getUser();
+	}
+
+	/**
+	 * Checks the given id and password against the Registrar, Student, and Faculty
+	 * records and opens a new Session for the matching User. Any number of
+	 * sessions may be open at once.
+	 * 
+	 * @param id       The id to compare to records
+	 * @param password The password to compare to records
+	 * @return Returns the new Session if login is successful, null otherwise.
+	 * @throws IllegalArgumentException If no user has the given id.
+	 */
+	public Session openSession(String id, String password) {
+		User user = authenticate(id, password);
+		if (user == null) {
+			return null;
+		}
+		Session session = new Session(nextSessionId.incrementAndGet(), user);
+		sessions.put(session.getId(), session);
+		return session;
+	}
+
+	/**
+	 * Closes the given Session. Closed sessions can no longer be used for
+	 * registration.
+	 * 
+	 * @param session The Session to close
+	 * @return True if the session was open, false otherwise.
+	 */
+	public boolean closeSession(Session session) {
+		if (session == null) {
+			return false;
+		}
+		return sessions.remove(session.getId(), session);
+	}
+
+	/**
+	 * Returns true if the given Session is open.
+	 * 
+	 * @param session The Session to check
+	 * @return True if the session is open.
+	 */
+	public boolean isSessionOpen(Session session) {
+		return session != null && sessions.get(session.getId()) == session;
+	}
+
+	/**
+	 * Returns the User matching the given id and password, or null if the password
+	 * does not match.
+	 * 
+	 * @param id       The id to compare to records
+	 * @param password The password to compare to records
+	 * @return Returns the matching User, or null if the password is incorrect.
+	 * @throws IllegalArgumentException If no user has the given id.
+	 */
+	private User authenticate(String id, String password) {
+		// Registrar login if ID == registrar ID
+		if (registrar.getId().equals(id)) {
+			return registrar.getPassword().equals(hashPW(password)) ? registrar : null;
+		}
+
+		// If student cannot be found in directory, throw exception
+		User user = studentDirectory.getStudentById(id);
+		if (user == null) {
+			user = facultyDirectory.getFacultyById(id);
+		}
+		if (user == null) {
+			throw new IllegalArgumentException("User doesn't exist.");
+		}
+		return user.getPassword().equals(hashPW(password)) ? user : null;
+	}
+
+	/**
+	 * Returns the Student that owns the given Session.
+	 * 
+	 * @param session The Session to check
+	 * @return The Student logged in through the session
+	 * @throws IllegalArgumentException If the session is not open or does not
+	 *                                  belong to a Student.
+	 */
+	private Student getSessionStudent(Session session) {
+		if (!isSessionOpen(session) || !(session.getUser() instanceof Student)) {
+			throw new IllegalArgumentException("Illegal Action");
+		}
+		return (Student) session.getUser();
 	}
 
 	/**
@@ -228,6 +320,330 @@ public class RegistrationManager {
 		courseCatalog.newCourseCatalog();
 		studentDirectory.newStudentDirectory();
 		facultyDirectory.newFacultyDirectory();
+		if (operationLog != null) {
+			checkpoint();
+		}
+	}
+
+	/**
+	 * Saves every course roll and waitlist, every student schedule, and every
+	 * instructor assignment to an enrollment records file. Course and user
+	 * records are saved separately by the catalog and directories.
+	 * 
+	 * @param fileName File to save enrollments to
+	 * @throws IllegalArgumentException If the file cannot be written
+	 */
+	public void saveEnrollments(String fileName) {
+		try {
+			EnrollmentRecordIO.writeEnrollmentRecords(fileName, courseCatalog.getCourses(),
+					studentDirectory.getStudents());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
+	/**
+	 * Restores course rolls, waitlists, student schedules, and instructor
+	 * assignments from an enrollment records file. The catalog and directories
+	 * must be loaded first. If an operation log is open, the loaded state is
+	 * checkpointed.
+	 * 
+	 * @param fileName File to load enrollments from
+	 * @throws IllegalArgumentException If the file cannot be read
+	 */
+	public void loadEnrollments(String fileName) {
+		try {
+			EnrollmentRecordIO.readEnrollmentRecords(fileName, courseCatalog, studentDirectory, facultyDirectory);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		if (operationLog != null) {
+			checkpoint();
+		}
+	}
+
+	/**
+	 * Saves the catalog, directories, rolls, waitlists, schedules, and instructor
+	 * assignments to a binary snapshot file. Each roll and schedule is read under
+	 * its own lock, so registration should be paused for an exact snapshot.
+	 * 
+	 * @param fileName File to save the snapshot to
+	 * @throws IllegalArgumentException If the file cannot be written
+	 */
+	public void saveSnapshot(String fileName) {
+		saveSnapshot(fileName, 0);
+	}
+
+	/**
+	 * Saves a snapshot recording the sequence number of the last logged operation
+	 * it includes
+	 * 
+	 * @param fileName File to save the snapshot to
+	 * @param sequence Sequence number of the last logged operation applied, or 0
+	 * @throws IllegalArgumentException If the file cannot be written
+	 */
+	private void saveSnapshot(String fileName, long sequence) {
+		try {
+			SnapshotIO.writeSnapshot(fileName, courseCatalog.getCourses(), studentDirectory.getStudents(),
+					facultyDirectory.getFaculty(), sequence);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		}
+	}
+
+	/**
+	 * Replaces all registration state with the contents of a snapshot file saved
+	 * by saveSnapshot. Sessions of Students and Faculty are closed since their
+	 * Users are replaced; a Registrar session stays open. If an operation log is
+	 * open, the loaded state is checkpointed.
+	 * 
+	 * @param fileName File to load the snapshot from
+	 * @throws IllegalArgumentException If the file cannot be read or is not a
+	 *                                  valid snapshot
+	 */
+	public synchronized void loadSnapshot(String fileName) {
+		restoreSnapshot(fileName);
+		if (operationLog != null) {
+			checkpoint();
+		}
+	}
+
+	/**
+	 * Replaces all registration state with the contents of a snapshot file and
+	 * closes the sessions of replaced Users
+	 * 
+	 * @param fileName File to load the snapshot from
+	 * @return Sequence number of the last logged operation the snapshot includes
+	 * @throws IllegalArgumentException If the file cannot be read or is not a
+	 *                                  valid snapshot
+	 */
+	private long restoreSnapshot(String fileName) {
+		SnapshotIO.Snapshot snapshot;
+		try {
+			snapshot = SnapshotIO.readSnapshot(fileName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		courseCatalog.loadCourses(snapshot.getCourses());
+		studentDirectory.loadStudents(snapshot.getStudents());
+		facultyDirectory.loadFaculty(snapshot.getFaculty());
+		for (Session session : sessions.values()) {
+			if (session.getUser() != registrar) {
+				closeSession(session);
+			}
+		}
+		if (currentSession != null && !isSessionOpen(currentSession)) {
+			currentSession = null;
+		}
+		return snapshot.getSequence();
+	}
+
+	/**
+	 * Opens an operation log so that registration survives a crash between
+	 * saves. The snapshot file is loaded if it exists and every operation in the
+	 * log that the snapshot does not already include is replayed on top of it;
+	 * from then on enrollments, drops, schedule
+	 * resets, enrollment cap changes, faculty assignments, and catalog edits are
+	 * logged. Once the log
+	 * holds the given number of operations, the state is checkpointed into the
+	 * snapshot file and the log emptied.
+	 * 
+	 * Loading records from files is not logged, so checkpoint should be called
+	 * after a bulk load. Seat holds, and the promotions made when they expire,
+	 * are not logged or saved either.
+	 * 
+	 * @param logFile            File of the operation log
+	 * @param snapshotFile       File the log is checkpointed into
+	 * @param checkpointInterval Number of logged operations between checkpoints,
+	 *                           or 0 to checkpoint only when asked
+	 * @throws IllegalArgumentException If either file cannot be read or the
+	 *                                  interval is negative
+	 */
+	public synchronized void openLog(String logFile, String snapshotFile, int checkpointInterval) {
+		if (checkpointInterval < 0) {
+			throw new IllegalArgumentException("Invalid checkpoint interval.");
+		}
+		closeLog();
+		long applied = 0;
+		if (new File(snapshotFile).exists()) {
+			applied = restoreSnapshot(snapshotFile);
+		}
+		try {
+			OperationLog.Operation[] operations = OperationLog.readOperations(logFile);
+			for (int i = 0; i < operations.length; i++) {
+				if (operations[i].getSequence() > applied) {
+					replay(operations[i]);
+				}
+			}
+			operationLog = new OperationLog(logFile, applied);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + logFile);
+		}
+		this.snapshotFile = snapshotFile;
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * Writes any buffered operations and closes the operation log. Registration
+	 * is no longer logged until openLog is called again.
+	 * 
+	 * @throws IllegalArgumentException If the log cannot be written
+	 */
+	public synchronized void closeLog() {
+		if (operationLog == null) {
+			return;
+		}
+		logLock.writeLock().lock();
+		try {
+			operationLog.close();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to close operation log.");
+		} finally {
+			operationLog = null;
+			logLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Saves the full registration state to the snapshot file and empties the
+	 * operation log. The snapshot is written to a temporary file, forced to disk,
+	 * and then moved over the old snapshot, so a crash leaves either the old
+	 * snapshot with the full log or the new snapshot. The snapshot records the
+	 * sequence number of the last logged operation, so if a crash comes after the
+	 * move but before the log is emptied, the operations left in the log are
+	 * skipped when it is replayed.
+	 * 
+	 * @throws IllegalArgumentException If no operation log is open or the
+	 *                                  snapshot cannot be written
+	 */
+	public void checkpoint() {
+		checkpoint(false);
+	}
+
+	/**
+	 * Checkpoints the operation log if it is open and, when onlyIfDue is true,
+	 * holds at least checkpointInterval operations. Registration operations wait
+	 * while the checkpoint is taken.
+	 * 
+	 * @param onlyIfDue True to skip the checkpoint unless the interval is reached
+	 * @throws IllegalArgumentException If no operation log is open and onlyIfDue
+	 *                                  is false, or the snapshot cannot be written
+	 */
+	private void checkpoint(boolean onlyIfDue) {
+		logLock.writeLock().lock();
+		try {
+			OperationLog log = operationLog;
+			if (log == null) {
+				if (onlyIfDue) {
+					return;
+				}
+				throw new IllegalArgumentException("Operation log is not open.");
+			}
+			if (onlyIfDue && (checkpointInterval == 0 || log.getOperationCount() < checkpointInterval)) {
+				return;
+			}
+			saveSnapshot(snapshotFile, log.getLastSequence());
+			try {
+				log.truncate();
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Unable to write to file " + snapshotFile);
+			}
+		} finally {
+			logLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Starts a registration operation. Checkpoints wait until the operation has
+	 * been applied and logged.
+	 * 
+	 * @return The log to append the operation to, or null if none is open
+	 */
+	private OperationLog beginOperation() {
+		logLock.readLock().lock();
+		return operationLog;
+	}
+
+	/**
+	 * Ends a registration operation started by beginOperation, waits for its log
+	 * record to reach the disk, and checkpoints if enough operations are logged.
+	 * Waiting happens after the locks of the operation are released so that
+	 * concurrent operations share each write to disk.
+	 * 
+	 * @param log      Log returned by beginOperation
+	 * @param sequence Sequence number of the appended record, or 0 if nothing
+	 *                 was logged
+	 */
+	private void endOperation(OperationLog log, long sequence) {
+		logLock.readLock().unlock();
+		if (log != null && sequence > 0) {
+			log.sync(sequence);
+			if (checkpointInterval > 0 && log.getOperationCount() >= checkpointInterval) {
+				checkpoint(true);
+			}
+		}
+	}
+
+	/**
+	 * Applies a logged operation during replay. Operations whose users or
+	 * courses no longer exist, or that no longer apply, are skipped.
+	 * 
+	 * @param operation Operation to apply
+	 */
+	private void replay(OperationLog.Operation operation) {
+		String[] f = operation.getFields();
+		try {
+			switch (operation.getType()) {
+			case OperationLog.ENROLL:
+				enroll(studentDirectory.getStudentById(f[0]), courseCatalog.getCourseFromCatalog(f[1], f[2]), null);
+				break;
+			case OperationLog.DROP:
+				drop(studentDirectory.getStudentById(f[0]), courseCatalog.getCourseFromCatalog(f[1], f[2]), null);
+				break;
+			case OperationLog.RESET_SCHEDULE:
+				reset(studentDirectory.getStudentById(f[0]), null);
+				break;
+			case OperationLog.ADD_FACULTY:
+				facultyDirectory.getFacultyById(f[0]).getSchedule()
+						.addCourseToSchedule(courseCatalog.getCourseFromCatalog(f[1], f[2]));
+				break;
+			case OperationLog.REMOVE_FACULTY:
+				facultyDirectory.getFacultyById(f[0]).getSchedule()
+						.removeCourseFromSchedule(courseCatalog.getCourseFromCatalog(f[1], f[2]));
+				break;
+			case OperationLog.RESET_FACULTY:
+				facultyDirectory.getFacultyById(f[0]).getSchedule().resetSchedule();
+				break;
+			case OperationLog.ADD_COURSE:
+				courseCatalog.addCourseToCatalog(f[0], f[1], f[2], Integer.parseInt(f[3]),
+						f[4].isEmpty() ? null : f[4], Integer.parseInt(f[5]), f[6], Integer.parseInt(f[7]),
+						Integer.parseInt(f[8]));
+				break;
+			case OperationLog.REMOVE_COURSE:
+				courseCatalog.removeCourseFromCatalog(f[0], f[1]);
+				break;
+			case OperationLog.SET_COURSE_MEETING:
+				courseCatalog.setCourseMeeting(f[0], f[1], f[2], Integer.parseInt(f[3]), Integer.parseInt(f[4]));
+				break;
+			case OperationLog.SET_ENROLLMENT_CAP:
+				courseCatalog.getCourseFromCatalog(f[0], f[1]).getCourseRoll().setEnrollmentCap(Integer.parseInt(f[2]));
+				break;
+			case OperationLog.DROP_ALL:
+				ArrayList<Student> students = new ArrayList<Student>();
+				for (int i = 2; i < f.length; i++) {
+					Student s = studentDirectory.getStudentById(f[i]);
+					if (s != null) {
+						students.add(s);
+					}
+				}
+				dropAll(courseCatalog.getCourseFromCatalog(f[0], f[1]), students.toArray(new Student[students.size()]));
+				break;
+			default:
+				break;
+			}
+		} catch (IllegalArgumentException | NullPointerException | ArrayIndexOutOfBoundsException e) {
+			// skip the operation
+		}
 	}
 
 	/**
@@ -237,24 +653,240 @@ public class RegistrationManager {
 	 * @return true if enrolled
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-		if (currentUser == null || !(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
+		return enrollStudentInCourse(currentSession, c);
+	}
+
+	/**
+	 * Returns true if the student logged in through the given session can enroll
+	 * in the given course. A seat is claimed from the course's roll without
+	 * locking it, so concurrent sessions cannot overbook the course and
+	 * enrollments in open seats only wait on their own student's schedule.
+	 * 
+	 * @param session Session of the student to enroll
+	 * @param c       Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException If the session is not an open Student
+	 *                                  session.
+	 */
+	public boolean enrollStudentInCourse(Session session, Course c) {
+		Student s = getSessionStudent(session);
+		OperationLog log = beginOperation();
+		long sequence = 0;
+		try {
+			sequence = enroll(s, c, log);
+		} finally {
+			endOperation(log, sequence);
 		}
+		return sequence != 0;
+	}
+
+	/**
+	 * Enrolls the student in the given course if they are eligible and appends
+	 * the enrollment to the log while the student's schedule is still held. An
+	 * open seat is claimed first and given back if the student cannot take it.
+	 * Only a student who holds a seat or must be waitlisted locks the course's
+	 * roll, which is held while the waitlist is checked and changed.
+	 * 
+	 * @param s   Student to enroll
+	 * @param c   Course to enroll in
+	 * @param log Log to append to, or null
+	 * @return Sequence number of the log record, -1 if enrolled without a log,
+	 *         or 0 if not enrolled
+	 */
+	private long enroll(Student s, Course c, OperationLog log) {
 		try {
-			Student s = (Student) currentUser;
 			Schedule schedule = s.getSchedule();
 			CourseRoll roll = c.getCourseRoll();
 
-			if (s.canAdd(c) && roll.canEnroll(s)) {
-				schedule.addCourseToSchedule(c);
-				roll.enroll(s);
-				return true;
+			if (roll.getHold(s) == null && roll.claimSeat()) {
+				long sequence = enrollInSeat(s, c, log);
+				if (sequence == 0) {
+					roll.releaseSeat();
+				} else {
+					roll.removeFromWaitlist(s);
+				}
+				return sequence;
+			}
+
+			synchronized (roll) {
+				synchronized (schedule) {
+					if (s.canAdd(c) && roll.canEnroll(s)) {
+						schedule.addCourseToSchedule(c);
+						try {
+							roll.enroll(s);
+						} catch (IllegalArgumentException e) {
+							schedule.removeCourseFromSchedule(c);
+							throw e;
+						}
+						if (log == null) {
+							return -1;
+						}
+						return log.append(OperationLog.ENROLL, s.getId(), c.getName(), c.getSection());
+					}
+				}
 			}
 
 		} catch (IllegalArgumentException e) {
-			return false;
+			return 0;
+		}
+		return 0;
+	}
+
+	/**
+	 * Enrolls the student in a seat already claimed from the course's roll,
+	 * holding only the student's schedule. The student is put on the roll before
+	 * the course is added to the schedule, so a drop or reset that finds the
+	 * course on the schedule also finds the student on the roll.
+	 * 
+	 * @param s   Student to enroll
+	 * @param c   Course to enroll in
+	 * @param log Log to append to, or null
+	 * @return Sequence number of the log record, -1 if enrolled without a log,
+	 *         or 0 if the student cannot take the seat
+	 */
+	private long enrollInSeat(Student s, Course c, OperationLog log) {
+		Schedule schedule = s.getSchedule();
+		synchronized (schedule) {
+			if (!s.canAdd(c)) {
+				return 0;
+			}
+			try {
+				c.getCourseRoll().enrollInSeat(s);
+			} catch (IllegalArgumentException e) {
+				// Already on the roll without the course on the schedule
+				return 0;
+			}
+			schedule.addCourseToSchedule(c);
+			return log == null ? -1 : log.append(OperationLog.ENROLL, s.getId(), c.getName(), c.getSection());
+		}
+	}
+
+	/**
+	 * Enrolls many students in courses at once for a registrar import. Each row
+	 * holds a student id, course name, and section. The rows are grouped by
+	 * course, and each course's roll is locked once while its rows are checked
+	 * and applied in order, locking only each student's schedule in turn. A row is
+	 * applied under the same rules as enrollStudentInCourse, so a student goes
+	 * on the waitlist when the course is full, and every applied row is logged as
+	 * an enrollment. The log is written to disk once for the whole import.
+	 * 
+	 * @param rows Student id, course name, and section of each enrollment
+	 * @return Result of each row
+	 * @throws IllegalArgumentException If currentUser is not registrar or rows is
+	 *                                  null.
+	 */
+	public BulkEnrollmentReport enrollStudentsInCourses(String[][] rows) {
+		if (getCurrentUser() != registrar) {
+			throw new IllegalArgumentException("Must be logged in as registrar.");
+		}
+		if (rows == null) {
+			throw new IllegalArgumentException("Rows cannot be null.");
+		}
+		BulkEnrollmentReport report = new BulkEnrollmentReport(rows.length);
+		Student[] students = new Student[rows.length];
+		Course[] courses = new Course[rows.length];
+		// Number each course in order of its first row, and count its rows
+		IdentityHashMap<Course, Integer> courseIds = new IdentityHashMap<Course, Integer>();
+		int[] courseOf = new int[rows.length];
+		int[] starts = new int[rows.length + 1];
+		for (int i = 0; i < rows.length; i++) {
+			courseOf[i] = -1;
+			String[] row = rows[i];
+			if (row == null || row.length < 3 || row[0] == null || row[1] == null || row[2] == null) {
+				report.setResult(i, BulkEnrollmentReport.INVALID_ROW);
+				continue;
+			}
+			students[i] = studentDirectory.getStudentById(row[0]);
+			if (students[i] == null) {
+				report.setResult(i, BulkEnrollmentReport.UNKNOWN_STUDENT);
+				continue;
+			}
+			courses[i] = courseCatalog.getCourseFromCatalog(row[1], row[2]);
+			if (courses[i] == null) {
+				report.setResult(i, BulkEnrollmentReport.UNKNOWN_COURSE);
+				continue;
+			}
+			Integer id = courseIds.get(courses[i]);
+			if (id == null) {
+				id = courseIds.size();
+				courseIds.put(courses[i], id);
+			}
+			courseOf[i] = id;
+			starts[id + 1]++;
+		}
+		// Order the rows by course, keeping their order within each course
+		for (int c = 0; c < courseIds.size(); c++) {
+			starts[c + 1] += starts[c];
+		}
+		int[] order = new int[starts[courseIds.size()]];
+		int[] next = starts.clone();
+		for (int i = 0; i < rows.length; i++) {
+			if (courseOf[i] >= 0) {
+				order[next[courseOf[i]]++] = i;
+			}
+		}
+
+		OperationLog log = beginOperation();
+		long sequence = 0;
+		try {
+			for (int c = 0; c < courseIds.size(); c++) {
+				Course course = courses[order[starts[c]]];
+				CourseRoll roll = course.getCourseRoll();
+				synchronized (roll) {
+					for (int j = starts[c]; j < starts[c + 1]; j++) {
+						int i = order[j];
+						int result = enrollRow(students[i], course, roll);
+						report.setResult(i, result);
+						if (log != null && result <= BulkEnrollmentReport.WAITLISTED) {
+							sequence = log.append(OperationLog.ENROLL, students[i].getId(), course.getName(),
+									course.getSection());
+						}
+					}
+				}
+			}
+		} finally {
+			endOperation(log, sequence);
+		}
+		return report;
+	}
+
+	/**
+	 * Checks and applies one row of a bulk enrollment while the course's roll is
+	 * held.
+	 * 
+	 * @param s    Student to enroll
+	 * @param c    Course to enroll in
+	 * @param roll Roll of the course, already locked
+	 * @return ENROLLED or WAITLISTED if applied, otherwise the reason it was not
+	 */
+	private int enrollRow(Student s, Course c, CourseRoll roll) {
+		Schedule schedule = s.getSchedule();
+		synchronized (schedule) {
+			// A course already on the schedule is a duplicate, so the schedule is
+			// only searched for it when the course cannot be added
+			boolean canAdd = schedule.canAdd(c);
+			if (!canAdd && schedule.contains(c)) {
+				return BulkEnrollmentReport.ALREADY_ENROLLED;
+			}
+			if (schedule.getScheduleCredits() + c.getCredits() > s.getMaxCredits()) {
+				return BulkEnrollmentReport.OVER_CREDITS;
+			}
+			if (!canAdd) {
+				return BulkEnrollmentReport.CONFLICT;
+			}
+			if (!roll.canEnroll(s)) {
+				return BulkEnrollmentReport.FULL;
+			}
+			schedule.addCourseToSchedule(c);
+			try {
+				roll.enroll(s);
+			} catch (IllegalArgumentException e) {
+				schedule.removeCourseFromSchedule(c);
+				return BulkEnrollmentReport.FULL;
+			}
+			return roll.getWaitlistPosition(s) > 0 ? BulkEnrollmentReport.WAITLISTED
+					: BulkEnrollmentReport.ENROLLED;
 		}
-		return false;
 	}
 
 	/**
@@ -264,15 +896,149 @@ public class RegistrationManager {
 	 * @return true if dropped
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-		if (currentUser == null || !(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
+		return dropStudentFromCourse(currentSession, c);
+	}
+
+	/**
+	 * Returns true if the student logged in through the given session can drop
+	 * the given course.
+	 * 
+	 * @param session Session of the student to drop
+	 * @param c       Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException If the session is not an open Student
+	 *                                  session.
+	 */
+	public boolean dropStudentFromCourse(Session session, Course c) {
+		Student s = getSessionStudent(session);
+		OperationLog log = beginOperation();
+		long sequence = 0;
+		try {
+			sequence = drop(s, c, log);
+		} finally {
+			endOperation(log, sequence);
 		}
+		return sequence != 0;
+	}
+
+	/**
+	 * Drops the student from the given course and appends the drop to the log
+	 * while the course's roll is still held. The course is removed from the
+	 * schedule first, which waits for an enrollment in progress on the schedule
+	 * to put the student on the roll.
+	 * 
+	 * @param s   Student to drop
+	 * @param c   Course to drop
+	 * @param log Log to append to, or null
+	 * @return Sequence number of the log record, -1 if dropped without a log, or
+	 *         0 if not dropped
+	 */
+	private long drop(Student s, Course c, OperationLog log) {
 		try {
-			Student s = (Student) currentUser;
-			c.getCourseRoll().drop(s);
-			return s.getSchedule().removeCourseFromSchedule(c);
+			CourseRoll roll = c.getCourseRoll();
+			synchronized (roll) {
+				if (!s.getSchedule().removeCourseFromSchedule(c)) {
+					return 0;
+				}
+				roll.drop(s);
+				return log == null ? -1 : log.append(OperationLog.DROP, s.getId(), c.getName(), c.getSection());
+			}
 		} catch (IllegalArgumentException e) {
-			return false;
+			return 0;
+		}
+	}
+
+	/**
+	 * Drops each of the given students from the course at once for the registrar,
+	 * filling the freed seats from the waitlist in one pass. Students who do not
+	 * have the course on their schedule are skipped. The drop is logged as one
+	 * record, and replaying it repeats the same promotions.
+	 * 
+	 * @param c        Course to drop the students from
+	 * @param students Students to drop
+	 * @return Outcome for each waitlisted student the promotion pass reached
+	 * @throws IllegalArgumentException If currentUser is not registrar, or
+	 *                                  students or any student in it is null.
+	 */
+	public PromotionReport dropStudentsFromCourse(Course c, Student[] students) {
+		if (getCurrentUser() != registrar) {
+			throw new IllegalArgumentException("Must be logged in as registrar.");
+		}
+		if (students == null || Arrays.asList(students).contains(null)) {
+			throw new IllegalArgumentException("Student cannot be null.");
+		}
+		String[] fields = new String[students.length + 2];
+		fields[0] = c.getName();
+		fields[1] = c.getSection();
+		for (int i = 0; i < students.length; i++) {
+			fields[i + 2] = students[i].getId();
+		}
+		OperationLog log = beginOperation();
+		long sequence = 0;
+		try {
+			synchronized (c.getCourseRoll()) {
+				PromotionReport report = dropAll(c, students);
+				if (log != null) {
+					sequence = log.append(OperationLog.DROP_ALL, fields);
+				}
+				return report;
+			}
+		} finally {
+			endOperation(log, sequence);
+		}
+	}
+
+	/**
+	 * Removes the course from the schedule of each given student who has it, then
+	 * drops those students from the course's roll together. The roll is held
+	 * throughout, and each schedule is changed before the roll as in drop.
+	 * 
+	 * @param c        Course to drop the students from
+	 * @param students Students to drop
+	 * @return Outcome for each waitlisted student the promotion pass reached
+	 */
+	private PromotionReport dropAll(Course c, Student[] students) {
+		CourseRoll roll = c.getCourseRoll();
+		synchronized (roll) {
+			ArrayList<Student> dropped = new ArrayList<Student>();
+			for (int i = 0; i < students.length; i++) {
+				if (students[i].getSchedule().removeCourseFromSchedule(c)) {
+					dropped.add(students[i]);
+				}
+			}
+			return roll.dropAll(dropped.toArray(new Student[dropped.size()]));
+		}
+	}
+
+	/**
+	 * Sets the enrollment cap of the course for the registrar. Seats added by a
+	 * raised cap are filled from the waitlist. The change is logged, and
+	 * replaying it repeats the same promotions.
+	 * 
+	 * @param c             Course to change
+	 * @param enrollmentCap New enrollment cap
+	 * @return Outcome for each waitlisted student the promotion pass reached
+	 * @throws IllegalArgumentException If currentUser is not registrar or the cap
+	 *                                  is not valid for the course.
+	 */
+	public PromotionReport setEnrollmentCap(Course c, int enrollmentCap) {
+		if (getCurrentUser() != registrar) {
+			throw new IllegalArgumentException("Must be logged in as registrar.");
+		}
+		OperationLog log = beginOperation();
+		long sequence = 0;
+		try {
+			CourseRoll roll = c.getCourseRoll();
+			synchronized (roll) {
+				PromotionReport report = roll.setEnrollmentCap(enrollmentCap);
+				if (log != null) {
+					sequence = log.append(OperationLog.SET_ENROLLMENT_CAP, c.getName(), c.getSection(),
+							String.valueOf(enrollmentCap));
+				}
+				return report;
+			}
+		} finally {
+			endOperation(log, sequence);
 		}
 	}
 
@@ -289,15 +1055,22 @@ public class RegistrationManager {
 	 *                                  currentUser is not registrar.
 	 */
 	public boolean addFacultyToCourse(Course c, Faculty f) {
-		if (currentUser != registrar) {
+		if (getCurrentUser() != registrar) {
 			throw new IllegalArgumentException("Must be logged in as registrar.");
 		}
-		if (currentUser == registrar && currentUser != null) {
+		if (getCurrentUser() == registrar && getCurrentUser() != null) {
+			OperationLog log = beginOperation();
+			long sequence = 0;
 			try {
 				f.getSchedule().addCourseToSchedule(c);
+				if (log != null) {
+					sequence = log.append(OperationLog.ADD_FACULTY, f.getId(), c.getName(), c.getSection());
+				}
 				return true;
 			} catch (IllegalArgumentException e) {
 				throw e;
+			} finally {
+				endOperation(log, sequence);
 			}
 		}
 		return false;
@@ -314,12 +1087,21 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException If currentUser is not registrar.
 	 */
 	public boolean removeFacultyFromCourse(Course c, Faculty f) {
-		if (currentUser != registrar) {
+		if (getCurrentUser() != registrar) {
 			throw new IllegalArgumentException("Must be logged in as registrar.");
 		}
-		if (currentUser == registrar && currentUser != null) {
-			if (f.getSchedule().removeCourseFromSchedule(c)) {
-				return true;
+		if (getCurrentUser() == registrar && getCurrentUser() != null) {
+			OperationLog log = beginOperation();
+			long sequence = 0;
+			try {
+				if (f.getSchedule().removeCourseFromSchedule(c)) {
+					if (log != null) {
+						sequence = log.append(OperationLog.REMOVE_FACULTY, f.getId(), c.getName(), c.getSection());
+					}
+					return true;
+				}
+			} finally {
+				endOperation(log, sequence);
 			}
 		}
 		return false;
@@ -333,11 +1115,20 @@ public class RegistrationManager {
 	 * @throws IllegalArgumentException If currentUser is not registrar.
 	 */
 	public void resetFacultySchedule(Faculty f) {
-		if (currentUser != registrar) {
+		if (getCurrentUser() != registrar) {
 			throw new IllegalArgumentException("Must be logged in as registrar.");
 		}
-		if (currentUser == registrar && currentUser != null) {
-			f.getSchedule().resetSchedule();
+		if (getCurrentUser() == registrar && getCurrentUser() != null) {
+			OperationLog log = beginOperation();
+			long sequence = 0;
+			try {
+				f.getSchedule().resetSchedule();
+				if (log != null) {
+					sequence = log.append(OperationLog.RESET_FACULTY, f.getId());
+				}
+			} finally {
+				endOperation(log, sequence);
+			}
 		}
 	}
 
@@ -346,20 +1137,65 @@ public class RegistrationManager {
 	 * and then resetting the schedule.
 	 */
 	public void resetSchedule() {
-		if (currentUser == null || !(currentUser instanceof Student)) {
-			throw new IllegalArgumentException("Illegal Action");
+		resetSchedule(currentSession);
+	}
+
+	/**
+	 * Resets the schedule of the student logged in through the given session by
+	 * dropping them from every course and then resetting the schedule.
+	 * 
+	 * @param session Session of the student whose schedule to reset
+	 * @throws IllegalArgumentException If the session is not an open Student
+	 *                                  session.
+	 */
+	public void resetSchedule(Session session) {
+		Student s = getSessionStudent(session);
+		OperationLog log = beginOperation();
+		long sequence = 0;
+		try {
+			sequence = reset(s, log);
+		} finally {
+			endOperation(log, sequence);
 		}
+	}
+
+	/**
+	 * Drops the student from every course, resets their schedule's title, and
+	 * appends the reset to the log. Each course is dropped while holding its
+	 * roll, as in drop. Another session of the same student may enroll
+	 * meanwhile, so the courses are dropped until the schedule is found empty,
+	 * and the reset is logged while the schedule is still held so that it is
+	 * ordered after any enrollment already on the schedule.
+	 * 
+	 * @param s   Student whose schedule to reset
+	 * @param log Log to append to, or null
+	 * @return Sequence number of the log record, or 0 if nothing was logged or
+	 *         the reset failed
+	 */
+	private long reset(Student s, OperationLog log) {
 		try {
-			Student s = (Student) currentUser;
 			Schedule schedule = s.getSchedule();
-			String[][] scheduleArray = schedule.getScheduledCourses();
-			for (int i = 0; i < scheduleArray.length; i++) {
-				Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
-				c.getCourseRoll().drop(s);
+			while (true) {
+				Course[] courses = schedule.getCourses();
+				for (int i = 0; i < courses.length; i++) {
+					Course c = courses[i];
+					CourseRoll roll = c.getCourseRoll();
+					synchronized (roll) {
+						if (schedule.removeCourseFromSchedule(c)) {
+							roll.drop(s);
+						}
+					}
+				}
+				synchronized (schedule) {
+					if (schedule.getCourses().length == 0) {
+						// Only the title is left to reset
+						schedule.resetSchedule();
+						return log == null ? 0 : log.append(OperationLog.RESET_SCHEDULE, s.getId());
+					}
+				}
 			}
-			schedule.resetSchedule();
 		} catch (IllegalArgumentException e) {
-			// do nothing
+			return 0;
 		}
 	}
 
@@ -0,0 +1,49 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * Class defines a handle for a User logged into the RegistrationManager.
+ * Sessions are created by RegistrationManager.openSession and are passed back
+ * to the manager for per-user operations, allowing many users to be logged in
+ * at the same time.
+ *
+ * @author Nick Garner
+ *
+ */
+public class Session {
+
+	/** Unique id of this session */
+	private final long id;
+	/** The User that owns this session */
+	private final User user;
+
+	/**
+	 * Constructs a Session with the given id for the given User
+	 *
+	 * @param id   Unique id of the session
+	 * @param user User that logged in
+	 */
+	Session(long id, User user) {
+		this.id = id;
+		this.user = user;
+	}
+
+	/**
+	 * Returns the unique id of this session
+	 *
+	 * @return Id of the session
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the User that owns this session
+	 *
+	 * @return The logged in User
+	 */
+	public User getUser() {
+		return user;
+	}
+}
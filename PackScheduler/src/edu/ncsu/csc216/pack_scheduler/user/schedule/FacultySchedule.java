@@ -1,26 +1,29 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
-import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedListIterative;
 
 /**
- * A Faculty's schedule
+ * A Faculty's schedule. The display rows of the courses are kept up to date as
+ * courses are assigned and removed.
  * @author Sarah Heckman
  */
 public class FacultySchedule {
 
 	/** Schedule of courses with no cap */
-	private LinkedListRecursive<Course> schedule;
+	private LinkedListIterative<Course> schedule;
 	/** Instructor id for updating courses */
 	private String instructorId;
+	/** Display rows of the scheduled courses */
+	private ScheduleView view;
 	
 	/**
 	 * Creates an empty schedule.
 	 * @param instructorId faculty's id for updating Course
 	 */
 	public FacultySchedule(String instructorId) {
-		schedule = new LinkedListRecursive<Course>();
+		schedule = new LinkedListIterative<Course>();
+		view = new ScheduleView();
 		this.instructorId = instructorId;
 	}
 	
@@ -30,13 +33,11 @@ public class FacultySchedule {
 	 * @return true if added
 	 */
 	public boolean addCourseToSchedule(Course course) {
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course)) {
+		for (Course c : schedule) {
+			if (c.isDuplicate(course)) {
 				throw new IllegalArgumentException("Already assigned " + course.getName());
 			}
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException e) {
+			if (c.conflictsWith(course)) {
 				throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
 			}
 		}
@@ -49,6 +50,7 @@ public class FacultySchedule {
 		}
 		if (schedule.add(course)) {
 			course.setInstructorId(instructorId);
+			view.add(course);
 			return true;
 		}
 		return false;
@@ -62,6 +64,7 @@ public class FacultySchedule {
 	public boolean removeCourseFromSchedule(Course course) {
 		if (schedule.remove(course)) {
 			course.setInstructorId(null);
+			view.remove(course);
 			return true;
 		}
 		return false;
@@ -82,11 +85,20 @@ public class FacultySchedule {
 	 * @return list of scheduled Courses
 	 */
 	public String[][] getScheduledCourses() {
-		String [][] scheduleArray = new String[schedule.size()][4];
-		for (int i = 0; i < schedule.size(); i++) {
-			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
+		return view.getRows();
+	}
+	
+	/**
+	 * Returns the scheduled Courses in the order they were assigned.
+	 * @return array of scheduled Courses
+	 */
+	public Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		int i = 0;
+		for (Course c : schedule) {
+			courses[i++] = c;
 		}
-		return scheduleArray;
+		return courses;
 	}
 	
 	/**
@@ -1,13 +1,18 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
 /**
  * Class defines state and behavior for Schedule object to maintain an ArrayList
  * of courses. Class features basic add, remove and reset functionality as well
- * as set/get functionality for schedule title.
+ * as set/get functionality for schedule title. The credit total and the
+ * display rows of the courses are kept up to date as courses are added and
+ * removed, so reading them does not go through the whole schedule.
+ * 
+ * Methods that read or change the list of courses are synchronized on the
+ * Schedule. No other lock is taken while the Schedule is held, so a Schedule
+ * may be locked while holding a CourseRoll but never the other way around.
  * 
  * @author Nick Garner
  *
@@ -18,6 +23,10 @@ public class Schedule {
 	private ArrayList<Course> schedule;
 	/** Title of the schedule object */
 	private String title;
+	/** Total credits of the courses on the schedule */
+	private int credits;
+	/** Display rows of the courses on the schedule */
+	private ScheduleView view;
 
 	/**
 	 * Null constructor creates an empty ArrayList of courses and sets schedule
@@ -25,6 +34,7 @@ public class Schedule {
 	 */
 	public Schedule() {
 		schedule = new ArrayList<Course>();
+		view = new ScheduleView();
 		title = "My Schedule";
 	}
 
@@ -37,19 +47,17 @@ public class Schedule {
 	 * @throws IllegalArgumentException If course is a duplicate or creates a
 	 *                                  schedule conflict
 	 */
-	public boolean addCourseToSchedule(Course c) {
+	public synchronized boolean addCourseToSchedule(Course c) {
 		for (int i = 0; i < schedule.size(); i++) {
 			if (c.isDuplicate(schedule.get(i))) {
 				throw new IllegalArgumentException("You are already enrolled in " + c.getName());
-			} else {
-				try {
-					c.checkConflict(schedule.get(i));
-				} catch (ConflictException e) {
-					throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-				}
+			} else if (c.conflictsWith(schedule.get(i))) {
+				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
 			}
 		}
 		schedule.add(schedule.size(), c);
+		credits += c.getCredits();
+		view.add(c);
 		return true;
 	}
 
@@ -60,13 +68,29 @@ public class Schedule {
 	 * @param c The course to remove
 	 * @return Returns true if course was successfully removed, false otherwise
 	 */
-	public boolean removeCourseFromSchedule(Course c) {
+	public synchronized boolean removeCourseFromSchedule(Course c) {
 		if (c == null) {
 			return false;
 		}
 		for (int i = 0; i < schedule.size(); i++) {
 			if (c.getName().equals(schedule.get(i).getName())) {
-				schedule.remove(i);
+				credits -= schedule.remove(i).getCredits();
+				view.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the given Course is on the schedule
+	 * 
+	 * @param c The course to search for
+	 * @return True if the schedule holds a Course equal to c
+	 */
+	public synchronized boolean contains(Course c) {
+		for (int i = 0; i < schedule.size(); i++) {
+			if (schedule.get(i).equals(c)) {
 				return true;
 			}
 		}
@@ -76,24 +100,61 @@ public class Schedule {
 	/**
 	 * Resets the schedule to an empty ArrayList with default capacity and title
 	 */
-	public void resetSchedule() {
+	public synchronized void resetSchedule() {
 		schedule = new ArrayList<Course>();
+		credits = 0;
+		view.clear();
 		setTitle("My Schedule");
 	}
 
+	/**
+	 * Replaces the schedule with the given title and Courses, in order. No
+	 * duplicate or conflict checks are made, so this is only for restoring saved
+	 * registration state.
+	 * 
+	 * @param title   Title of the schedule
+	 * @param courses Courses on the schedule
+	 * @throws IllegalArgumentException If title is null
+	 */
+	public synchronized void restore(String title, Course[] courses) {
+		setTitle(title);
+		ArrayList<Course> list = new ArrayList<Course>();
+		ScheduleView newView = new ScheduleView();
+		int total = 0;
+		for (int i = 0; i < courses.length; i++) {
+			list.add(list.size(), courses[i]);
+			newView.add(courses[i]);
+			total += courses[i].getCredits();
+		}
+		schedule = list;
+		view = newView;
+		credits = total;
+	}
+
 	/**
 	 * Returns a 2D string array of the schedule with each course's name, section,
-	 * title, and meeting information.
+	 * title, and meeting information. The rows are kept as courses are added, and
+	 * only each course's open seats are read again.
 	 * 
 	 * @return Returns 2D string array with course name, section, title, and meeting
 	 *         information for every course in schedule.
 	 */
-	public String[][] getScheduledCourses() {
-		String[][] output = new String[schedule.size()][5];
+	public synchronized String[][] getScheduledCourses() {
+		// Open seats are read from each roll's counter without locking the roll
+		return view.getRows();
+	}
+
+	/**
+	 * Returns the Courses on the schedule in the order they were added
+	 * 
+	 * @return Array of scheduled courses
+	 */
+	public synchronized Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
 		for (int i = 0; i < schedule.size(); i++) {
-			output[i] = schedule.get(i).getShortDisplayArray();
+			courses[i] = schedule.get(i);
 		}
-		return output;
+		return courses;
 	}
 
 	/**
@@ -124,12 +185,8 @@ public class Schedule {
 	 * 
 	 * @return Returns the total number of credits currently on the schedule
 	 */
-	public int getScheduleCredits() {
-		int creditTotal = 0;
-		for (int i = 0; i < schedule.size(); i++) {
-			creditTotal += schedule.get(i).getCredits();
-		}
-		return creditTotal;
+	public synchronized int getScheduleCredits() {
+		return credits;
 	}
 
 	/**
@@ -140,19 +197,15 @@ public class Schedule {
 	 * @return True if course can be added, false if course is null, duplicate, or
 	 *         conflicts with schedule.
 	 */
-	public boolean canAdd(Course c) {
-		boolean duplicate = false;
-		boolean conflict = false;
-		for (int i = 0; i < schedule.size() && !duplicate && !conflict; i++) {
-			if (c.isDuplicate(schedule.get(i))) {
-				duplicate = true;
-			}
-			try {
-				c.checkConflict(schedule.get(i));
-			} catch (ConflictException e) {
-				conflict = true;
+	public synchronized boolean canAdd(Course c) {
+		if (c == null) {
+			return false;
+		}
+		for (int i = 0; i < schedule.size(); i++) {
+			if (c.isDuplicate(schedule.get(i)) || c.conflictsWith(schedule.get(i))) {
+				return false;
 			}
 		}
-		return !(duplicate || conflict || c == null);
+		return true;
 	}
 }
@@ -0,0 +1,147 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Class keeps the display rows of a schedule's courses, updated as courses are
+ * added and removed rather than rebuilt each time the schedule is shown. Open
+ * seats change without the schedule changing, so that column is read again
+ * each time. A row is built the first time the schedule is shown after its
+ * course is added, so adding a course does no display work, and is rebuilt
+ * only if its course's meeting has been changed since. The owning schedule
+ * keeps the rows in the same order as its courses and calls the view under its
+ * own lock.
+ * 
+ * @author Nick Garner
+ *
+ */
+class ScheduleView {
+
+	/** Column of the open seats in a display row */
+	private static final int SEATS_COLUMN = 4;
+
+	/** Display row of each course, in schedule order */
+	private final ArrayList<Row> rows;
+
+	/**
+	 * Creates an empty ScheduleView
+	 */
+	ScheduleView() {
+		rows = new ArrayList<Row>();
+	}
+
+	/**
+	 * Adds a row for the course at the end of the view
+	 * 
+	 * @param c Course added to the schedule
+	 */
+	void add(Course c) {
+		rows.add(new Row(c));
+	}
+
+	/**
+	 * Removes the row at the given position
+	 * 
+	 * @param idx Position of the course removed from the schedule
+	 */
+	void remove(int idx) {
+		rows.remove(idx);
+	}
+
+	/**
+	 * Removes the row of the given course
+	 * 
+	 * @param c Course removed from the schedule
+	 */
+	void remove(Course c) {
+		for (int i = 0; i < rows.size(); i++) {
+			if (rows.get(i).course.equals(c)) {
+				rows.remove(i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes every row
+	 */
+	void clear() {
+		rows.clear();
+	}
+
+	/**
+	 * Returns a copy of the display rows with current open seats
+	 * 
+	 * @return 2D String array of each course's short display array
+	 */
+	String[][] getRows() {
+		String[][] output = new String[rows.size()][];
+		for (int i = 0; i < rows.size(); i++) {
+			output[i] = rows.get(i).refresh();
+		}
+		return output;
+	}
+
+	/**
+	 * A course's display row with the meeting it was built from
+	 * 
+	 * @author Nick Garner
+	 *
+	 */
+	private static class Row {
+		/** Course of the row */
+		private final Course course;
+		/** Short display array of the course, or null until first shown */
+		private String[] display;
+		/** Meeting days the row was built from */
+		private String meetingDays;
+		/** Start time the row was built from */
+		private int startTime;
+		/** End time the row was built from */
+		private int endTime;
+		/** Open seats shown in the row */
+		private int openSeats;
+
+		/**
+		 * Creates the row of the given course
+		 * 
+		 * @param course Course of the row
+		 */
+		private Row(Course course) {
+			this.course = course;
+		}
+
+		/**
+		 * Builds the display array from the course
+		 */
+		private void build() {
+			display = course.getShortDisplayArray();
+			meetingDays = course.getMeetingDays();
+			startTime = course.getStartTime();
+			endTime = course.getEndTime();
+			openSeats = Integer.parseInt(display[SEATS_COLUMN]);
+		}
+
+		/**
+		 * Returns a copy of the display array, built if it is new or the course's
+		 * meeting has changed, and with the current open seats
+		 * 
+		 * @return Short display array of the course
+		 */
+		private String[] refresh() {
+			if (display == null || !meetingDays.equals(course.getMeetingDays()) || startTime != course.getStartTime()
+					|| endTime != course.getEndTime()) {
+				build();
+			} else {
+				int seats = course.getCourseRoll().getOpenSeats();
+				if (seats != openSeats) {
+					openSeats = seats;
+					display[SEATS_COLUMN] = String.valueOf(seats);
+				}
+			}
+			return display.clone();
+		}
+	}
+}
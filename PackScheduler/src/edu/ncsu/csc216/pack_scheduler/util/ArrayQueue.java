@@ -1,54 +1,91 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 
 /**
- * Class defines state and behavior for an ArrayList modeled after a Queue.
+ * Class defines state and behavior for an array modeled after a Queue.
  * Standard enqueue and dequeue functionality is provided along with
- * setCapacity.
- * 
+ * setCapacity. Elements are held in a circular buffer, so enqueue and dequeue
+ * run in amortized constant time, and duplicates may be rejected with a set of
+ * the elements in the Queue rather than a scan.
+ *
  * @author Nick Garner
  *
  * @param <E> Generic parameter
  */
 public class ArrayQueue<E> implements Queue<E> {
 
-	/** List to hold Queue elements */
-	private ArrayList<E> list;
+	/** Initial length of the buffer, unless the capacity is smaller */
+	private static final int INIT_SIZE = 10;
+
+	/** Circular buffer holding the Queue elements from head onward */
+	private E[] buffer;
+	/** Position in the buffer of the front of the Queue */
+	private int head;
+	/** Number of elements in the Queue */
+	private int size;
 	/** Max number of elements the Queue can hold */
 	private int capacity;
+	/** Elements in the Queue, or null if duplicates are allowed */
+	private HashSet<E> elements;
 
 	/**
-	 * Constructs a new ArrayQueue with capacity set to param
-	 * 
+	 * Constructs a new ArrayQueue with capacity set to param that rejects
+	 * duplicate elements
+	 *
 	 * @param capacity The capacity to set
 	 */
 	public ArrayQueue(int capacity) {
-		list = new ArrayList<E>();
+		this(capacity, true);
+	}
+
+	/**
+	 * Constructs a new ArrayQueue with capacity set to param
+	 *
+	 * @param capacity         The capacity to set
+	 * @param rejectDuplicates True if an element equal to one already in the Queue
+	 *                         cannot be added
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayQueue(int capacity, boolean rejectDuplicates) {
 		setCapacity(capacity);
+		buffer = (E[]) new Object[Math.min(capacity, INIT_SIZE)];
+		if (rejectDuplicates) {
+			elements = new HashSet<E>();
+		}
 	}
 
 	/**
 	 * Adds the element to the back of the Queue
-	 * 
+	 *
 	 * @param element The element to add
-	 * @throws IllegalArgumentException If there is no room to add element
+	 * @throws NullPointerException     If element is null
+	 * @throws IllegalArgumentException If there is no room to add element, or if
+	 *                                  duplicates are rejected and element is
+	 *                                  already in the Queue
 	 */
 	@Override
 	public void enqueue(E element) {
-		if (size() == capacity) {
+		if (element == null) {
+			throw new NullPointerException("Object to add cannot be null");
+		}
+		if (size == capacity) {
 			throw new IllegalArgumentException("Queue is full.");
 		}
-		try {
-			list.add(size(), element);
-		} catch (IllegalArgumentException e) {
-			throw e;
+		if (elements != null && !elements.add(element)) {
+			throw new IllegalArgumentException("Object to add cannot be a duplicate");
+		}
+		if (size == buffer.length) {
+			growBuffer();
 		}
+		buffer[(head + size) % buffer.length] = element;
+		size++;
 	}
 
 	/**
 	 * Removes and returns the element at the front of the Queue
-	 * 
+	 *
 	 * @return Returns the element at the front of the Queue
 	 * @throws NoSuchElementException If Queue is empty
 	 */
@@ -57,32 +94,39 @@ public class ArrayQueue<E> implements Queue<E> {
 		if (isEmpty()) {
 			throw new NoSuchElementException();
 		}
-		return list.remove(0);
+		E element = buffer[head];
+		buffer[head] = null;
+		head = (head + 1) % buffer.length;
+		size--;
+		if (elements != null) {
+			elements.remove(element);
+		}
+		return element;
 	}
 
 	/**
 	 * Returns true if Queue is empty
-	 * 
+	 *
 	 * @return True if Queue is empty
 	 */
 	@Override
 	public boolean isEmpty() {
-		return list.isEmpty();
+		return size == 0;
 	}
 
 	/**
 	 * Returns number of elements in the Queue
-	 * 
+	 *
 	 * @return Number of elements in the Queue
 	 */
 	@Override
 	public int size() {
-		return list.size();
+		return size;
 	}
 
 	/**
 	 * Sets the capacity of the Queue to the given int param
-	 * 
+	 *
 	 * @param capacity Capacity to set
 	 * @throws IllegalArgumentException If param is negative or less than size()
 	 */
@@ -93,4 +137,38 @@ public class ArrayQueue<E> implements Queue<E> {
 		}
 		this.capacity = capacity;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Returns true if the specified element is present in the Queue. Runs in
+	 * constant time when duplicates are rejected.
+	 *
+	 * @param element The element to search for
+	 * @return True if the element is present in the Queue
+	 */
+	public boolean contains(E element) {
+		if (elements != null) {
+			return elements.contains(element);
+		}
+		for (int i = 0; i < size; i++) {
+			if (buffer[(head + i) % buffer.length].equals(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Doubles the length of the buffer, up to the capacity, moving the front of
+	 * the Queue to the start of the new buffer
+	 */
+	@SuppressWarnings("unchecked")
+	private void growBuffer() {
+		int length = (int) Math.min((long) capacity, Math.max(1L, buffer.length * 2L));
+		E[] grown = (E[]) new Object[length];
+		for (int i = 0; i < size; i++) {
+			grown[i] = buffer[(head + i) % buffer.length];
+		}
+		buffer = grown;
+		head = 0;
+	}
+}
@@ -0,0 +1,278 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Class defines state and behavior for a Queue that indexes its elements, for
+ * waitlists that are searched and edited as well as served in order. Elements
+ * are kept in a LinkedHashMap in the order they were added, so contains and the
+ * removal of any element are hash lookups, and the rest of the Queue keeps its
+ * order. Each element holds a ticket number, and a Fenwick tree counts the
+ * tickets still in the Queue so that the position of an element is found in
+ * logarithmic time. Elements are found by a key taken from each element when
+ * it is added, which defaults to the element itself. Elements whose equals and
+ * hashCode can change while they wait should be keyed by a field that cannot,
+ * or they will no longer be found. Duplicate and null elements are not allowed.
+ *
+ * @author Nick Garner
+ *
+ * @param <E> Generic parameter
+ */
+public class IndexedQueue<E> implements Queue<E>, Iterable<E> {
+
+	/** Smallest number of tickets the tree can count */
+	private static final int INIT_SIZE = 16;
+
+	/** Ticket of each element by its key, in the order the elements were added */
+	private LinkedHashMap<Object, Ticket<E>> tickets;
+	/** Function giving the key of each element */
+	private Function<? super E, ?> key;
+	/** Fenwick tree counting the tickets in the Queue, indexed from 1 */
+	private int[] tree;
+	/** Ticket to give the next element added */
+	private int nextTicket;
+	/** Max number of elements the Queue can hold */
+	private int capacity;
+
+	/**
+	 * Constructs a new IndexedQueue with capacity set to param, keying each
+	 * element by itself
+	 *
+	 * @param capacity The capacity to set
+	 */
+	public IndexedQueue(int capacity) {
+		this(capacity, Function.identity());
+	}
+
+	/**
+	 * Constructs a new IndexedQueue with capacity set to param, keying each
+	 * element by the given function. Two elements with equal keys are
+	 * duplicates.
+	 *
+	 * @param capacity The capacity to set
+	 * @param key      Function giving the key of each element, which must not
+	 *                 change while the element is in the Queue
+	 * @throws NullPointerException If key is null
+	 */
+	public IndexedQueue(int capacity, Function<? super E, ?> key) {
+		if (key == null) {
+			throw new NullPointerException("Key cannot be null");
+		}
+		this.key = key;
+		tickets = new LinkedHashMap<Object, Ticket<E>>();
+		tree = new int[INIT_SIZE + 1];
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Adds the element to the back of the Queue
+	 *
+	 * @param element The element to add
+	 * @throws NullPointerException     If element is null
+	 * @throws IllegalArgumentException If there is no room to add element or it
+	 *                                  is already in the Queue
+	 */
+	@Override
+	public void enqueue(E element) {
+		if (element == null) {
+			throw new NullPointerException("Object to add cannot be null");
+		}
+		if (size() == capacity) {
+			throw new IllegalArgumentException("Queue is full.");
+		}
+		Object k = key.apply(element);
+		if (tickets.containsKey(k)) {
+			throw new IllegalArgumentException("Object to add cannot be a duplicate");
+		}
+		if (nextTicket == tree.length - 1) {
+			renumber();
+		}
+		tickets.put(k, new Ticket<E>(element, nextTicket));
+		update(nextTicket, 1);
+		nextTicket++;
+	}
+
+	/**
+	 * Removes and returns the element at the front of the Queue
+	 *
+	 * @return Returns the element at the front of the Queue
+	 * @throws NoSuchElementException If Queue is empty
+	 */
+	@Override
+	public E dequeue() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		Iterator<Ticket<E>> front = tickets.values().iterator();
+		Ticket<E> ticket = front.next();
+		front.remove();
+		update(ticket.number, -1);
+		return ticket.element;
+	}
+
+	/**
+	 * Removes the given element from anywhere in the Queue, leaving the other
+	 * elements in order
+	 *
+	 * @param element The element to remove
+	 * @return True if the element was in the Queue
+	 */
+	public boolean remove(E element) {
+		Ticket<E> ticket = element == null ? null : tickets.remove(key.apply(element));
+		if (ticket == null) {
+			return false;
+		}
+		update(ticket.number, -1);
+		return true;
+	}
+
+	/**
+	 * Returns true if the specified element is present in the Queue
+	 *
+	 * @param element The element to search for
+	 * @return True if the element is present in the Queue
+	 */
+	public boolean contains(E element) {
+		return element != null && tickets.containsKey(key.apply(element));
+	}
+
+	/**
+	 * Returns the position of the element in the Queue, counting the front as 1
+	 *
+	 * @param element The element to search for
+	 * @return Position of the element, or 0 if it is not in the Queue
+	 */
+	public int positionOf(E element) {
+		Ticket<E> ticket = element == null ? null : tickets.get(key.apply(element));
+		if (ticket == null) {
+			return 0;
+		}
+		int position = 0;
+		for (int i = ticket.number + 1; i > 0; i -= i & -i) {
+			position += tree[i];
+		}
+		return position;
+	}
+
+	/**
+	 * Returns true if Queue is empty
+	 *
+	 * @return True if Queue is empty
+	 */
+	@Override
+	public boolean isEmpty() {
+		return tickets.isEmpty();
+	}
+
+	/**
+	 * Returns number of elements in the Queue
+	 *
+	 * @return Number of elements in the Queue
+	 */
+	@Override
+	public int size() {
+		return tickets.size();
+	}
+
+	/**
+	 * Returns the max number of elements the Queue can hold
+	 *
+	 * @return Capacity of the Queue
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Sets the capacity of the Queue to the given int param
+	 *
+	 * @param capacity Capacity to set
+	 * @throws IllegalArgumentException If param is negative or less than size()
+	 */
+	@Override
+	public void setCapacity(int capacity) {
+		if (capacity < 0 || capacity < size()) {
+			throw new IllegalArgumentException("Capacity is invalid.");
+		}
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns an iterator over the elements from front to back. The iterator
+	 * cannot remove elements.
+	 *
+	 * @return Iterator over the elements of the Queue
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		final Iterator<Ticket<E>> values = tickets.values().iterator();
+		return new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return values.hasNext();
+			}
+
+			@Override
+			public E next() {
+				return values.next().element;
+			}
+		};
+	}
+
+	/**
+	 * Adds delta to the count of the given ticket in the tree
+	 *
+	 * @param ticket Ticket to count
+	 * @param delta  Amount to add to its count
+	 */
+	private void update(int ticket, int delta) {
+		for (int i = ticket + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * Gives the elements new tickets from 0 in order, once every ticket the tree
+	 * can count has been given out. The tree is sized to twice the number of
+	 * elements, so at least that many more elements are added before the next
+	 * renumbering and its cost is constant per element added.
+	 */
+	private void renumber() {
+		tree = new int[Math.max(INIT_SIZE, 2 * size()) + 1];
+		nextTicket = 0;
+		for (Ticket<E> ticket : tickets.values()) {
+			ticket.number = nextTicket;
+			update(nextTicket, 1);
+			nextTicket++;
+		}
+	}
+
+	/**
+	 * Element in the Queue and the ticket it holds
+	 *
+	 * @author Nick Garner
+	 *
+	 * @param <E> Generic parameter
+	 */
+	private static class Ticket<E> {
+
+		/** Element holding the ticket */
+		private final E element;
+		/** Ticket number, counted in the tree */
+		private int number;
+
+		/**
+		 * Constructs a Ticket for the element with the given number
+		 *
+		 * @param element Element holding the ticket
+		 * @param number  Ticket number
+		 */
+		Ticket(E element, int number) {
+			this.element = element;
+			this.number = number;
+		}
+	}
+}
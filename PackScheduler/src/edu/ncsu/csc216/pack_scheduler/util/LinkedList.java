@@ -53,10 +53,8 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 	 */
 	@Override
 	public void add(int index, E element) {
-		for (int i = 0; i < size; i++) {
-			if (get(i).equals(element)) {
-				throw new IllegalArgumentException ("List cannot contain duplicate elements.");
-			}
+		if (contains(element)) {
+			throw new IllegalArgumentException("List cannot contain duplicate elements.");
 		}
 		super.add(index, element);
 //		if (index < 0 || index > size) {
@@ -77,12 +75,44 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 	 */
 	@Override
 	public E set(int index, E element) {
-		for (int i = 0; i < size; i++) {
-			if (get(i).equals(element)) {
+		if (contains(element)) {
+			throw new IllegalArgumentException("List cannot contain duplicate elements.");
+		}
+		return super.set(index, element);
+	}
+
+	/**
+	 * Adds the given elements to the end of the list in order. The duplicate check
+	 * hashes every element once instead of searching the list for each one, so a
+	 * long list can be built in time proportional to its length. Nothing is added
+	 * if any element is null or a duplicate.
+	 * 
+	 * @param elements The elements to add to the end of the list
+	 * @throws NullPointerException     If elements or any element is null
+	 * @throws IllegalArgumentException If any element is a duplicate of another
+	 *                                  element or of an existing list element
+	 */
+	public void addAll(E[] elements) {
+		if (elements == null) {
+			throw new NullPointerException("Object to add cannot be null.");
+		}
+		java.util.HashSet<E> seen = new java.util.HashSet<E>();
+		for (ListNode current = front.next; current != back; current = current.next) {
+			seen.add(current.data);
+		}
+		for (int i = 0; i < elements.length; i++) {
+			if (elements[i] == null) {
+				throw new NullPointerException("Object to add cannot be null.");
+			} else if (!seen.add(elements[i])) {
 				throw new IllegalArgumentException("List cannot contain duplicate elements.");
 			}
 		}
-		return super.set(index, element);
+		for (int i = 0; i < elements.length; i++) {
+			ListNode node = new ListNode(elements[i], back.prev, back);
+			back.prev.next = node;
+			back.prev = node;
+		}
+		size += elements.length;
 	}
 
 	/**
@@ -169,21 +199,23 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 				throw new IndexOutOfBoundsException("Index is out of bounds.");
 			}
 			lastRetrieved = null;
-			// Set pointers to front and null, set counter to -1 since we're starting at
-			// null front
-			ListNode ptrCurrent = front;
-			ListNode ptrPrevious = null;
-			int counter = -1;
-			// Move pointers through list until counter = the index you want
-			while (ptrCurrent.next != null && counter < index) {
-				ptrPrevious = ptrCurrent;
-				ptrCurrent = ptrCurrent.next;
-				counter++;
+			if (index <= size / 2) {
+				// Walk forward from the front sentinel
+				previous = front;
+				for (int i = 0; i < index; i++) {
+					previous = previous.next;
+				}
+				next = previous.next;
+			} else {
+				// Walk backward from the back sentinel
+				next = back;
+				for (int i = size; i > index; i--) {
+					next = next.prev;
+				}
+				previous = next.prev;
 			}
-			this.previous = ptrPrevious;
-			this.next = ptrCurrent;
-			previousIndex = counter - 1;
-			nextIndex = counter;
+			previousIndex = index - 1;
+			nextIndex = index;
 		}
 
 		/**
@@ -0,0 +1,336 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class defines state and behavior for a singly linked list with the same
+ * operations as LinkedListRecursive, carried out with loops instead of one call
+ * per node, so the length of the list is not limited by the depth of the call
+ * stack. The list also keeps its last node, so adding to the end does not walk
+ * the list a second time after the duplicate check. Elements are compared with
+ * equals. Null and duplicate elements are not allowed. To be used with
+ * FacultySchedule.
+ *
+ * @author Nick Garner
+ *
+ * @param <E> Generic type
+ */
+public class LinkedListIterative<E> implements Iterable<E> {
+
+	/** First node in the list, or null if the list is empty */
+	private ListNode front;
+	/** Last node in the list, or null if the list is empty */
+	private ListNode back;
+	/** Number of elements in the list */
+	private int size;
+
+	/**
+	 * Constructs a new, empty LinkedListIterative with a null front and a size of
+	 * 0.
+	 */
+	public LinkedListIterative() {
+		front = null;
+		back = null;
+		size = 0;
+	}
+
+	/**
+	 * Returns true if list size is 0.
+	 *
+	 * @return True if size is 0.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns size of list
+	 *
+	 * @return Size of list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the given element to the end of the list, no null or duplicate elements
+	 * allowed.
+	 *
+	 * @param element The data to add to the end of the list.
+	 * @return True if element successfully added.
+	 * @throws NullPointerException     If element is null.
+	 * @throws IllegalArgumentException If element is a duplicate of a pre-existing
+	 *                                  list element.
+	 */
+	public boolean add(E element) {
+		add(size, element);
+		return true;
+	}
+
+	/**
+	 * Adds the given element at the specified index in the list, no null or
+	 * duplicate elements allowed.
+	 *
+	 * @param index   Position in the list to add the element.
+	 * @param element Data to add to the list at the specified index.
+	 * @throws NullPointerException      If element is null.
+	 * @throws IndexOutOfBoundsException If index is less than 0 or greater than the
+	 *                                   list's current size.
+	 * @throws IllegalArgumentException  If element is a duplicate of a pre-existing
+	 *                                   list element.
+	 */
+	public void add(int index, E element) {
+		if (element == null) {
+			throw new NullPointerException("List cannot contain null elements.");
+		} else if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index is out of bounds.");
+		} else if (contains(element)) {
+			throw new IllegalArgumentException("List cannot contain duplicate elements.");
+		}
+		if (index == 0) {
+			front = new ListNode(element, front);
+			if (back == null) {
+				back = front;
+			}
+		} else if (index == size) {
+			back.next = new ListNode(element, null);
+			back = back.next;
+		} else {
+			ListNode previous = nodeAt(index - 1);
+			previous.next = new ListNode(element, previous.next);
+		}
+		size++;
+	}
+
+	/**
+	 * Adds the given elements to the end of the list in order. The duplicate check
+	 * hashes every element once instead of searching the list for each one, so a
+	 * long list can be built in time proportional to its length. Nothing is added
+	 * if any element is null or a duplicate.
+	 *
+	 * @param elements The data to add to the end of the list.
+	 * @throws NullPointerException     If elements or any element is null.
+	 * @throws IllegalArgumentException If any element is a duplicate of another
+	 *                                  element or of a pre-existing list element.
+	 */
+	public void addAll(E[] elements) {
+		if (elements == null) {
+			throw new NullPointerException("List cannot contain null elements.");
+		}
+		java.util.HashSet<E> seen = new java.util.HashSet<E>();
+		for (ListNode current = front; current != null; current = current.next) {
+			seen.add(current.data);
+		}
+		for (int i = 0; i < elements.length; i++) {
+			if (elements[i] == null) {
+				throw new NullPointerException("List cannot contain null elements.");
+			} else if (!seen.add(elements[i])) {
+				throw new IllegalArgumentException("List cannot contain duplicate elements.");
+			}
+		}
+		for (int i = 0; i < elements.length; i++) {
+			ListNode node = new ListNode(elements[i], null);
+			if (back == null) {
+				front = node;
+			} else {
+				back.next = node;
+			}
+			back = node;
+		}
+		size += elements.length;
+	}
+
+	/**
+	 * Returns the node data at the specified index.
+	 *
+	 * @param index List position of the data to return
+	 * @return Returns data at the specified index.
+	 * @throws IndexOutOfBoundsException If index is less than 0 or greater than the
+	 *                                   list's current size.
+	 */
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index is out of bounds.");
+		}
+		return nodeAt(index).data;
+	}
+
+	/**
+	 * Attempts to remove the node with the given element, returns true if
+	 * successful.
+	 *
+	 * @param element Data of the node to remove.
+	 * @return True if successfully removed.
+	 */
+	public boolean remove(E element) {
+		if (element == null) {
+			return false;
+		}
+		ListNode previous = null;
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(element)) {
+				unlink(previous, current);
+				return true;
+			}
+			previous = current;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the element at the specified index and returns the node data that was
+	 * there.
+	 *
+	 * @param index Position in the list of the node to remove.
+	 * @return Data contained in the removed node.
+	 * @throws IndexOutOfBoundsException If given index is less than 0 or greater
+	 *                                   than the list's current size.
+	 */
+	public E remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index is out of bounds.");
+		}
+		ListNode previous = index == 0 ? null : nodeAt(index - 1);
+		ListNode current = previous == null ? front : previous.next;
+		unlink(previous, current);
+		return current.data;
+	}
+
+	/**
+	 * Sets the node data at the specified index to the given element and returns
+	 * the data that was replaced.
+	 *
+	 * @param index   Position in the list of the node to replace the data of.
+	 * @param element New data to set in the specified node.
+	 * @return Data that was previously held in the given node.
+	 * @throws NullPointerException      If element is null.
+	 * @throws IndexOutOfBoundsException If index is less than 0 or greater than the
+	 *                                   list's current size.
+	 * @throws IllegalArgumentException  If element is a duplicate of a pre-existing
+	 *                                   list element.
+	 */
+	public E set(int index, E element) {
+		if (element == null) {
+			throw new NullPointerException("List cannot contain null elements.");
+		} else if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index is out of bounds.");
+		} else if (contains(element)) {
+			throw new IllegalArgumentException("List cannot contain duplicate elements.");
+		}
+		ListNode node = nodeAt(index);
+		E temp = node.data;
+		node.data = element;
+		return temp;
+	}
+
+	/**
+	 * Traverses the entire list and returns true if the given element is present
+	 * anywhere.
+	 *
+	 * @param element The element to search for.
+	 * @return True if element is present in the list.
+	 */
+	public boolean contains(E element) {
+		if (element == null) {
+			return false;
+		}
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an iterator over the elements from front to back. The iterator
+	 * cannot remove elements.
+	 *
+	 * @return Iterator over the elements of the list
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			/** Node holding the next element to return */
+			private ListNode current = front;
+
+			@Override
+			public boolean hasNext() {
+				return current != null;
+			}
+
+			@Override
+			public E next() {
+				if (current == null) {
+					throw new NoSuchElementException();
+				}
+				E data = current.data;
+				current = current.next;
+				return data;
+			}
+		};
+	}
+
+	/**
+	 * Returns the node at the given index, which must be in bounds
+	 *
+	 * @param index Position in the list of the node
+	 * @return Node at the index
+	 */
+	private ListNode nodeAt(int index) {
+		if (index == size - 1) {
+			return back;
+		}
+		ListNode current = front;
+		for (int i = 0; i < index; i++) {
+			current = current.next;
+		}
+		return current;
+	}
+
+	/**
+	 * Removes the given node from the list
+	 *
+	 * @param previous Node before the one to remove, or null if it is the front
+	 * @param current  Node to remove
+	 */
+	private void unlink(ListNode previous, ListNode current) {
+		if (previous == null) {
+			front = current.next;
+		} else {
+			previous.next = current.next;
+		}
+		if (current == back) {
+			back = previous;
+		}
+		size--;
+	}
+
+	/**
+	 * Inner class defines state of ListNodes that make up LinkedListIterative's
+	 * elements.
+	 *
+	 * @author Nick Garner
+	 *
+	 */
+	private class ListNode {
+
+		/** Object data contained in the list nodes */
+		public E data;
+		/** Pointer to the next node in the list */
+		public ListNode next;
+
+		/**
+		 * Constructs a new ListNode with the given data and a pointer to the given next
+		 * node in the list.
+		 *
+		 * @param data Object data to hold in the node.
+		 * @param next Pointer to the next node after this one.
+		 */
+		public ListNode(E data, ListNode next) {
+			this.data = data;
+			this.next = next;
+		}
+	}
+}
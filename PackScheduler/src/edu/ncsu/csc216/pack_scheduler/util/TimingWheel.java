@@ -0,0 +1,229 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.List;
+
+/**
+ * Class defines state and behavior for a hashed timing wheel, which holds
+ * elements until a deadline passes. Time is divided into ticks, and each
+ * element is kept in a linked bucket chosen by the tick of its deadline, so
+ * scheduling and cancelling an element take constant time however many are
+ * waiting. Advancing the wheel visits only the buckets for the ticks that have
+ * passed, and an element with a deadline further away than one turn of the
+ * wheel is passed over until the turn it is due. An element expires on the
+ * first advance to a time at or after its deadline. Times are in any unit, as
+ * long as the same unit is used throughout. The wheel is not thread safe.
+ *
+ * @author Nick Garner
+ *
+ * @param <E> Generic parameter
+ */
+public class TimingWheel<E> {
+
+	/** Length of a tick */
+	private final long tickDuration;
+	/** First Timer in each bucket, or null if the bucket is empty */
+	private final Timer<E>[] buckets;
+	/** Mask giving the bucket of a tick */
+	private final int mask;
+	/** Tick of the last advance, the first tick still to expire */
+	private long currentTick;
+	/** Number of Timers in the wheel */
+	private int size;
+
+	/**
+	 * Constructs a new TimingWheel starting at the given time
+	 *
+	 * @param tickDuration Length of a tick. Elements with deadlines in the same
+	 *                     tick share a bucket.
+	 * @param wheelSize    Number of buckets, rounded up to a power of two
+	 * @param start        Current time
+	 * @throws IllegalArgumentException If tickDuration or wheelSize is not
+	 *                                  positive, or wheelSize is too large
+	 */
+	@SuppressWarnings("unchecked")
+	public TimingWheel(long tickDuration, int wheelSize, long start) {
+		if (tickDuration <= 0 || wheelSize <= 0 || wheelSize > 1 << 30) {
+			throw new IllegalArgumentException("Timing wheel size is invalid.");
+		}
+		this.tickDuration = tickDuration;
+		int length = Integer.highestOneBit(wheelSize);
+		if (length < wheelSize) {
+			length <<= 1;
+		}
+		buckets = (Timer<E>[]) new Timer<?>[length];
+		mask = length - 1;
+		currentTick = Math.floorDiv(start, tickDuration);
+	}
+
+	/**
+	 * Adds the element to the wheel, to expire once the deadline has passed. A
+	 * deadline that has already passed expires on the next advance.
+	 *
+	 * @param element  The element to add
+	 * @param deadline Time the element expires
+	 * @return Timer that can cancel the element
+	 * @throws NullPointerException If element is null
+	 */
+	public Timer<E> schedule(E element, long deadline) {
+		if (element == null) {
+			throw new NullPointerException("Object to add cannot be null");
+		}
+		long tick = Math.max(currentTick, Math.floorDiv(deadline, tickDuration));
+		Timer<E> timer = new Timer<E>(element, deadline, tick, this);
+		int bucket = (int) (tick & mask);
+		timer.next = buckets[bucket];
+		if (timer.next != null) {
+			timer.next.prev = timer;
+		}
+		buckets[bucket] = timer;
+		size++;
+		return timer;
+	}
+
+	/**
+	 * Removes the Timer's element from the wheel before it expires
+	 *
+	 * @param timer The Timer to cancel
+	 * @return True if the element was in the wheel
+	 */
+	public boolean cancel(Timer<E> timer) {
+		if (timer == null || timer.wheel != this) {
+			return false;
+		}
+		unlink(timer);
+		return true;
+	}
+
+	/**
+	 * Removes and returns the elements whose deadlines have passed by the given
+	 * time, in no particular order. Only the buckets of the ticks since the last
+	 * advance are visited, and at most one turn of the wheel.
+	 *
+	 * @param now Current time
+	 * @return Elements that have expired
+	 */
+	public List<E> advance(long now) {
+		List<E> expired = new java.util.ArrayList<E>();
+		long nowTick = Math.floorDiv(now, tickDuration);
+		if (nowTick < currentTick) {
+			return expired;
+		}
+		long last = Math.min(nowTick, currentTick + mask);
+		for (long tick = currentTick; tick <= last; tick++) {
+			Timer<E> timer = buckets[(int) (tick & mask)];
+			while (timer != null) {
+				Timer<E> next = timer.next;
+				if (timer.deadline <= now) {
+					unlink(timer);
+					expired.add(timer.element);
+				}
+				timer = next;
+			}
+		}
+		currentTick = nowTick;
+		return expired;
+	}
+
+	/**
+	 * Returns the number of elements waiting in the wheel
+	 *
+	 * @return Number of elements in the wheel
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if no elements are waiting in the wheel
+	 *
+	 * @return True if the wheel is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes the Timer from its bucket
+	 *
+	 * @param timer The Timer to remove
+	 */
+	private void unlink(Timer<E> timer) {
+		if (timer.prev == null) {
+			buckets[(int) (timer.tick & mask)] = timer.next;
+		} else {
+			timer.prev.next = timer.next;
+		}
+		if (timer.next != null) {
+			timer.next.prev = timer.prev;
+		}
+		timer.prev = null;
+		timer.next = null;
+		timer.wheel = null;
+		size--;
+	}
+
+	/**
+	 * An element waiting in a TimingWheel, linked to the other elements in its
+	 * bucket
+	 *
+	 * @author Nick Garner
+	 *
+	 * @param <E> Generic parameter
+	 */
+	public static class Timer<E> {
+		/** Element to return when the Timer expires */
+		private final E element;
+		/** Time the element expires */
+		private final long deadline;
+		/** Tick the element expires in */
+		private final long tick;
+		/** Previous Timer in the bucket */
+		private Timer<E> prev;
+		/** Next Timer in the bucket */
+		private Timer<E> next;
+		/** Wheel holding the Timer, or null once it has expired or been cancelled */
+		private TimingWheel<?> wheel;
+
+		/**
+		 * Constructs a Timer for the given element
+		 *
+		 * @param element  Element to expire
+		 * @param deadline Time the element expires
+		 * @param tick     Tick the element expires in
+		 * @param wheel    Wheel holding the Timer
+		 */
+		private Timer(E element, long deadline, long tick, TimingWheel<?> wheel) {
+			this.element = element;
+			this.deadline = deadline;
+			this.tick = tick;
+			this.wheel = wheel;
+		}
+
+		/**
+		 * Returns the element of the Timer
+		 *
+		 * @return Element of the Timer
+		 */
+		public E getElement() {
+			return element;
+		}
+
+		/**
+		 * Returns the time the element expires
+		 *
+		 * @return Deadline of the Timer
+		 */
+		public long getDeadline() {
+			return deadline;
+		}
+
+		/**
+		 * Returns true if the element is still waiting in the wheel
+		 *
+		 * @return True if the Timer has not expired or been cancelled
+		 */
+		public boolean isPending() {
+			return wheel != null;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests ConflictGraph as maintained by CourseCatalog.
+ * 
+ * @author Nick Garner
+ */
+public class ConflictGraphTest {
+
+	/** Catalog that maintains the graph */
+	private CourseCatalog catalog;
+	/** Graph under test */
+	private ConflictGraph graph;
+
+	/**
+	 * Creates a catalog of courses with known conflicts.
+	 * 
+	 * @throws Exception If something fails during setup.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		catalog = new CourseCatalog();
+		catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "002", 3, null, 10, "MW", 1100, 1310);
+		catalog.addCourseToCatalog("CSC216", "Programming Concepts - Java", "001", 4, null, 10, "TH", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Programming Concepts - Java", "601", 4, null, 10, "A", 0, 0);
+		catalog.addCourseToCatalog("CSC226", "Discrete Math", "001", 3, null, 10, "MWF", 935, 1025);
+		graph = catalog.getConflictGraph();
+	}
+
+	/**
+	 * Tests conflicts() and getConflictingCourses()
+	 */
+	@Test
+	public void testGetConflictingCourses() {
+		assertEquals(5, graph.size());
+		Course csc116001 = catalog.getCourseFromCatalog("CSC116", "001");
+		Course csc116002 = catalog.getCourseFromCatalog("CSC116", "002");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+
+		assertTrue(graph.conflicts(csc116001, csc116002));
+		assertTrue(graph.conflicts(csc116001, csc226));
+		assertFalse(graph.conflicts(csc116002, csc226));
+
+		Course[] conflicts = graph.getConflictingCourses(csc116001);
+		assertEquals(2, conflicts.length);
+		assertSame(csc116002, conflicts[0]);
+		assertSame(csc226, conflicts[1]);
+		assertEquals(0, graph.getConflictingCourses(catalog.getCourseFromCatalog("CSC216", "601")).length);
+
+		// Course not in the catalog is compared directly
+		Course outside = new Course("CSC230", "C and Software Tools", "001", 3, null, 10, "F", 1000, 1100);
+		conflicts = graph.getConflictingCourses(outside);
+		assertEquals(1, conflicts.length);
+		assertSame(csc226, conflicts[0]);
+	}
+
+	/**
+	 * Tests getNonConflictingCourses()
+	 */
+	@Test
+	public void testGetNonConflictingCourses() {
+		Course[] schedule = { catalog.getCourseFromCatalog("CSC226", "001") };
+		Course[] open = graph.getNonConflictingCourses(schedule);
+		assertEquals(3, open.length);
+		assertEquals("002", open[0].getSection());
+		assertEquals("001", open[1].getSection());
+		assertEquals("601", open[2].getSection());
+
+		assertEquals(5, graph.getNonConflictingCourses(new Course[0]).length);
+	}
+
+	/**
+	 * Tests that the graph follows catalog adds, removes, retimes, and resets
+	 */
+	@Test
+	public void testUpdates() {
+		Course csc116001 = catalog.getCourseFromCatalog("CSC116", "001");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+
+		assertTrue(catalog.removeCourseFromCatalog("CSC116", "002"));
+		assertEquals(4, graph.size());
+		assertEquals(1, graph.getConflictingCourses(csc116001).length);
+
+		// Freed slot is reused
+		assertTrue(catalog.addCourseToCatalog("CSC230", "C and Software Tools", "001", 3, null, 10, "TH", 1400, 1500));
+		Course csc230 = catalog.getCourseFromCatalog("CSC230", "001");
+		assertTrue(graph.conflicts(csc230, catalog.getCourseFromCatalog("CSC216", "001")));
+
+		// Retime removes old conflicts and adds new ones
+		assertTrue(catalog.setCourseMeeting("CSC226", "001", "TH", 1000, 1050));
+		assertFalse(graph.conflicts(csc116001, csc226));
+		assertEquals(0, graph.getConflictingCourses(csc226).length);
+		assertTrue(catalog.setCourseMeeting("CSC226", "001", "H", 1430, 1530));
+		assertTrue(graph.conflicts(csc226, csc230));
+		assertFalse(catalog.setCourseMeeting("CSC226", "002", "H", 1430, 1530));
+
+		// Invalid retime leaves the course unchanged
+		try {
+			catalog.setCourseMeeting("CSC226", "001", "A", 1430, 1530);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("H 2:30PM-3:30PM", csc226.getMeetingString());
+		}
+		assertTrue(catalog.setCourseMeeting("CSC226", "001", "A", 0, 0));
+		assertFalse(graph.conflicts(csc226, csc230));
+
+		catalog.newCourseCatalog();
+		assertEquals(0, catalog.getConflictGraph().size());
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		assertEquals(8, catalog.getConflictGraph().size());
+	}
+}
@@ -2,6 +2,7 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.FileSystems;
@@ -87,6 +88,8 @@ public class CourseCatalogTest {
 
 		testCatalog.newCourseCatalog();
 		assertEquals(0, testCatalog.getCourseCatalog().length);
+		assertNull(testCatalog.getCourseFromCatalog("CH101", "001"));
+		assertTrue(testCatalog.addCourseToCatalog("CH101", "Intro to Potions", "001", 4, "ssnape", 10, "MWF", 1030, 1230));
 	}
 
 	/**
@@ -126,6 +129,12 @@ public class CourseCatalogTest {
 		assertFalse(cc.addCourseToCatalog(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME,
 				END_TIME));
 		assertEquals(1, cc.getCourseCatalog().length);
+
+		// Test add same name with a different section
+		assertTrue(cc.addCourseToCatalog(NAME, TITLE, "002", CREDITS, INSTRUCTOR_ID, ENROLLMENT_CAP, MEETING_DAYS, START_TIME,
+				END_TIME));
+		assertEquals("002", cc.getCourseFromCatalog(NAME, "002").getSection());
+		assertEquals(2, cc.getCourseCatalog().length);
 	}
 
 	/**
@@ -142,6 +151,9 @@ public class CourseCatalogTest {
 
 		// Attempt to remove non-existent course
 		assertFalse(testCatalog.removeCourseFromCatalog("MA141", "001"));
+		assertFalse(testCatalog.removeCourseFromCatalog("CSC116", "002"));
+		assertNull(testCatalog.getCourseFromCatalog("CSC226", "001"));
+		assertNotNull(testCatalog.getCourseFromCatalog("CSC116", "003"));
 
 		// Check for proper contents
 		String[][] catArray = testCatalog.getCourseCatalog();
@@ -188,6 +200,42 @@ public class CourseCatalogTest {
 		checkFiles("test-files/expected_course_records.txt", "test-files/actual_course_records.txt");
 	}
 
+	/**
+	 * Tests that saveCourseCatalogChanges writes only changed courses to a segment
+	 * that is applied when the catalog is loaded, and compacts the file once the
+	 * changes grow large.
+	 */
+	@Test
+	public void testSaveCourseCatalogChanges() {
+		String actualFile = "test-files/actual_course_records.txt";
+		CourseCatalog cc = new CourseCatalog();
+		cc.loadCoursesFromFile(validTestFile);
+		assertEquals(8, cc.saveCourseCatalogChanges(actualFile));
+		assertEquals(0, cc.saveCourseCatalogChanges(actualFile));
+
+		assertTrue(cc.setCourseMeeting("CSC216", "001", "TH", 900, 1015));
+		assertTrue(cc.removeCourseFromCatalog("CSC116", "001"));
+		assertEquals(2, cc.saveCourseCatalogChanges(actualFile));
+		assertTrue(new File(actualFile + ".seg1").exists());
+
+		CourseCatalog loaded = new CourseCatalog();
+		loaded.loadCoursesFromFile(actualFile);
+		assertEquals(7, loaded.getCourseCatalog().length);
+		assertNull(loaded.getCourseFromCatalog("CSC116", "001"));
+		assertEquals("TH", loaded.getCourseFromCatalog("CSC216", "001").getMeetingDays());
+
+		// Changing more than half of the records rewrites the file
+		for (int i = 0; i < 5; i++) {
+			assertTrue(cc.addCourseToCatalog("CSC492", TITLE, "00" + i, 3, null, 10, "A", 0, 0));
+		}
+		assertEquals(12, cc.saveCourseCatalogChanges(actualFile));
+		assertFalse(new File(actualFile + ".seg1").exists());
+		loaded.loadCoursesFromFile(actualFile);
+		assertEquals(12, loaded.getCourseCatalog().length);
+		assertEquals("TH", loaded.getCourseFromCatalog("CSC216", "001").getMeetingDays());
+		new File(actualFile).delete();
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * 
@@ -0,0 +1,101 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests ScheduleGenerator.
+ *
+ * @author Nick Garner
+ */
+public class ScheduleGeneratorTest {
+
+	/** Catalog to generate schedules from */
+	private CourseCatalog catalog;
+	/** Generator under test */
+	private ScheduleGenerator generator;
+	/** Student to generate schedules for */
+	private Student student;
+
+	/**
+	 * Creates a catalog of courses with known conflicts.
+	 *
+	 * @throws Exception If something fails during setup.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		catalog = new CourseCatalog();
+		catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "002", 3, null, 10, "MW", 1100, 1310);
+		catalog.addCourseToCatalog("CSC216", "Programming Concepts - Java", "001", 4, null, 10, "TH", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Programming Concepts - Java", "601", 4, null, 10, "A", 0, 0);
+		catalog.addCourseToCatalog("CSC226", "Discrete Math", "001", 3, null, 10, "MWF", 935, 1025);
+		generator = new ScheduleGenerator(catalog);
+		student = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", 18);
+	}
+
+	/**
+	 * Tests generateSchedules() ranking and conflict handling
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		assertEquals(2, catalog.getCourseSections("CSC116").length);
+		assertEquals(0, catalog.getCourseSections("CSC117").length);
+		String[] names = { "CSC116", "CSC226", "CSC216" };
+		Course[][] schedules = generator.generateSchedules(student, names, 3, 0);
+		assertEquals(3, schedules.length);
+
+		// Best schedule takes all three courses, so CSC116 must avoid CSC226
+		assertEquals(3, schedules[0].length);
+		assertEquals("CSC116", schedules[0][0].getName());
+		assertEquals("002", schedules[0][0].getSection());
+		assertEquals("001", schedules[0][1].getSection());
+		assertEquals("CSC226", schedules[0][2].getName());
+		assertEquals(3, schedules[1].length);
+		assertEquals("601", schedules[1][1].getSection());
+		for (Course[] schedule : schedules) {
+			for (int i = 0; i < schedule.length; i++) {
+				for (int j = i + 1; j < schedule.length; j++) {
+					assertFalse(schedule[i].conflictsWith(schedule[j]));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests that generateSchedules() respects credits and the current schedule
+	 */
+	@Test
+	public void testGenerateSchedulesLimits() {
+		Student limited = new Student("Zahir", "King", "zking", "orci.Donec@ametmassaQuisque.com", "pw", 7);
+		String[] names = { "CSC116", "CSC226", "CSC216" };
+		Course[][] schedules = generator.generateSchedules(limited, names, 1, 0);
+		assertEquals(1, schedules.length);
+		assertEquals(2, schedules[0].length);
+		assertEquals(7, schedules[0][0].getCredits() + schedules[0][1].getCredits());
+
+		// Already scheduled courses and their conflicts are not offered
+		student.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC226", "001"));
+		schedules = generator.generateSchedules(student, names, 10, 0);
+		for (Course[] schedule : schedules) {
+			for (Course c : schedule) {
+				assertNotEquals("CSC226", c.getName());
+				assertNotSame(catalog.getCourseFromCatalog("CSC116", "001"), c);
+			}
+		}
+		assertEquals("CSC116", schedules[0][0].getName());
+		assertEquals(0, generator.generateSchedules(student, new String[] { "CSC999" }, 1, 0).length);
+
+		try {
+			generator.generateSchedules(student, names, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid schedule request.", e.getMessage());
+		}
+	}
+}
@@ -5,7 +5,7 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 
 /**
- * Tests checkConflict method in Activity class
+ * Tests checkConflict and conflictsWith methods in Activity class
  * 
  * @author Nick Garner
  *
@@ -38,4 +38,39 @@ public class ActivityTest {
 			assertEquals("TH 1:30PM-2:45PM", a2.getMeetingString());
 		}
 	}
+
+	/**
+	 * Tests Activity.conflictsWith()
+	 */
+	@Test
+	public void testConflictsWith() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", 10, "MW", 1330, 1445);
+		Activity a2 = new Course("CSC226", "Discrete Math", "001", 3, "tmbarnes", 10, "MWF", 1445, 1530);
+		Activity a3 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", 10, "TH", 1330, 1445);
+		Activity arranged = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", 10, "A");
+
+		// Times touching at the same minute on a shared day conflict
+		assertTrue(a1.conflictsWith(a2));
+		assertTrue(a2.conflictsWith(a1));
+		// Same times on different days do not conflict
+		assertFalse(a1.conflictsWith(a3));
+		// Arranged never conflicts
+		assertFalse(arranged.conflictsWith(a1));
+		assertFalse(a1.conflictsWith(arranged));
+		assertFalse(arranged.conflictsWith(arranged));
+
+		// Occupancy is recomputed when days and times change
+		a3.setMeetingDays("F");
+		assertTrue(a3.conflictsWith(a2));
+		a3.setActivityTime(1531, 1600);
+		assertFalse(a3.conflictsWith(a2));
+		a2.setActivityTime(1200, 1531);
+		assertTrue(a3.conflictsWith(a2));
+
+		// An activity enclosing another conflicts
+		a1.setActivityTime(800, 1700);
+		a3.setMeetingDays("W");
+		assertTrue(a1.conflictsWith(a3));
+		assertTrue(a3.conflictsWith(a1));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.pack_scheduler.course.roll;
+
+import java.util.Random;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Benchmark measuring the time of CourseRoll enroll, canEnroll, and drop as
+ * sections grow to the largest enrollment cap. Each run fills a roll, checks
+ * every enrolled Student and one more, then drops the Students in random
+ * order. Not a unit test; run the main method directly.
+ *
+ * @author Nick Garner
+ *
+ */
+public class CourseRollBenchmark {
+
+	/** Section sizes to measure */
+	private static final int[] SIZES = { 10, 50, 100, 250 };
+	/** Untimed runs before measuring */
+	private static final int WARMUP = 2000;
+	/** Timed runs */
+	private static final int RUNS = 2000;
+
+	/**
+	 * Reports the average time of each operation for each section size.
+	 *
+	 * @param args Unused
+	 */
+	public static void main(String[] args) {
+		Course course = new Course("CSC216", "Programming Concepts - Java", "001", 4, null, 10, "A");
+		for (int i = 0; i < SIZES.length; i++) {
+			Student[] students = new Student[SIZES[i] + 1];
+			for (int j = 0; j < students.length; j++) {
+				students[j] = new Student("First" + j, "Last" + j, "id" + j, "id" + j + "@ncsu.edu", "pw");
+			}
+			Random random = new Random(i);
+			long[] nanos = new long[3];
+			long checksum = 0;
+			for (int run = 0; run < WARMUP; run++) {
+				checksum += run(course, students, random, new long[3]);
+			}
+			for (int run = 0; run < RUNS; run++) {
+				checksum += run(course, students, random, nanos);
+			}
+			long ops = (long) RUNS * SIZES[i];
+			System.out.printf("%4d seats  enroll %8.1f ns  canEnroll %8.1f ns  drop %8.1f ns  (checksum %d)%n",
+					SIZES[i], (double) nanos[0] / ops, (double) nanos[1] / (ops + RUNS), (double) nanos[2] / ops,
+					checksum);
+		}
+	}
+
+	/**
+	 * Fills a new roll with all but the last Student, checks every Student, then
+	 * drops the enrolled Students in random order
+	 *
+	 * @param course   Course of the roll
+	 * @param students Students to enroll, one more than the section size
+	 * @param random   Source of the drop order
+	 * @param nanos    Elapsed nanoseconds of enroll, canEnroll, and drop, added to
+	 * @return Number of Students canEnroll accepted
+	 */
+	private static int run(Course course, Student[] students, Random random, long[] nanos) {
+		int seats = students.length - 1;
+		CourseRoll roll = new CourseRoll(course, Math.max(10, seats));
+		long start = System.nanoTime();
+		for (int i = 0; i < seats; i++) {
+			roll.enroll(students[i]);
+		}
+		long enrolled = System.nanoTime();
+		int eligible = 0;
+		for (int i = 0; i < students.length; i++) {
+			if (roll.canEnroll(students[i])) {
+				eligible++;
+			}
+		}
+		long checked = System.nanoTime();
+		Student[] order = new Student[seats];
+		System.arraycopy(students, 0, order, 0, seats);
+		for (int i = seats - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Student temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+		long shuffled = System.nanoTime();
+		for (int i = 0; i < seats; i++) {
+			roll.drop(order[i]);
+		}
+		long dropped = System.nanoTime();
+		if (roll.getOpenSeats() != Math.max(10, seats)) {
+			throw new IllegalStateException("Roll is inconsistent.");
+		}
+		nanos[0] += enrolled - start;
+		nanos[1] += checked - enrolled;
+		nanos[2] += dropped - shuffled;
+		return eligible;
+	}
+}
@@ -2,6 +2,11 @@ package edu.ncsu.csc216.pack_scheduler.course.roll;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 
@@ -49,7 +54,7 @@ public class CourseRollTest {
 	private static final Student STUDENT10 = new Student("Fred", "Weasley", "fweasle", "fweasle@ncsu.edu",
 			"UpToNoGood");
 	/** Extra student to test enrollmentCap */
-	private static final Student STUDENT11 = new Student("George", "Weasley", "gweasle", "gweasle@ncsu.edu",
+	private static final Student STUDENT11 = new Student("George", "Weasley", "geweasl", "geweasl@ncsu.edu",
 			"mischiefmanaged");
 	/** Duplicate student to check canEnroll */
 	private static final Student DUPESTUDENT = new Student("Harry", "Potter", "hpotter", "hpotter@ncsu.edu",
@@ -102,7 +107,7 @@ public class CourseRollTest {
 		} catch (IllegalArgumentException e) {
 			assertEquals("Enrollment cap is not valid.", e.getMessage());
 		}
-		testRoll.setEnrollmentCap(11);
+		assertEquals(0, testRoll.setEnrollmentCap(11).size());
 		testRoll.enroll(STUDENT1);
 		testRoll.enroll(STUDENT2);
 		testRoll.enroll(STUDENT3);
@@ -180,6 +185,15 @@ public class CourseRollTest {
 		assertEquals(2, testRoll.getOpenSeats());
 		testRoll.drop(STUDENT1);
 		assertEquals(2, testRoll.getOpenSeats());
+
+		// Enrolled Students are still found after changing their max credits
+		Student changed = new Student("Oliver", "Wood", "owood", "owood@ncsu.edu", "Quidditch");
+		testRoll.enroll(changed);
+		changed.setMaxCredits(10);
+		assertFalse(testRoll.canEnroll(changed));
+		testRoll.drop(changed);
+		assertEquals(2, testRoll.getOpenSeats());
+		assertEquals(8, testRoll.getEnrolledStudents().length);
 	}
 
 	/**
@@ -202,6 +216,306 @@ public class CourseRollTest {
 		assertFalse(testRoll.canEnroll(DUPESTUDENT));
 		testRoll.enroll(STUDENT10);
 		assertTrue(testRoll.canEnroll(STUDENT11));
+		// An enrolled Student cannot join the waitlist of a full course
+		assertFalse(testRoll.canEnroll(DUPESTUDENT));
+		try {
+			testRoll.enroll(DUPESTUDENT);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Student could not be enrolled.", e.getMessage());
+			assertEquals(0, testRoll.getNumberOnWaitlist());
+		}
+	}
+
+	/**
+	 * Tests waitlist positions, removal from the middle of the waitlist, and
+	 * changing the waitlist cap
+	 */
+	@Test
+	public void testWaitlist() {
+		assertEquals(CourseRoll.DEFAULT_WAITLIST_CAP, testRoll.getWaitlistCap());
+		Student[] students = new Student[14];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw");
+		}
+		for (int i = 0; i < 13; i++) {
+			testRoll.enroll(students[i]);
+		}
+		testRoll.setWaitlistCap(3);
+		assertFalse(testRoll.canEnroll(students[13]));
+		try {
+			testRoll.setWaitlistCap(2);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(3, testRoll.getWaitlistCap());
+		}
+		assertEquals(0, testRoll.getWaitlistPosition(students[0]));
+		assertEquals(1, testRoll.getWaitlistPosition(students[10]));
+		assertEquals(3, testRoll.getWaitlistPosition(students[12]));
+
+		// Leaving the middle of the waitlist moves later Students up
+		testRoll.drop(students[11]);
+		assertEquals(2, testRoll.getNumberOnWaitlist());
+		assertEquals(0, testRoll.getWaitlistPosition(students[11]));
+		assertEquals(2, testRoll.getWaitlistPosition(students[12]));
+
+		// Waitlisted Students are still found after changing their max credits
+		students[12].setMaxCredits(10);
+		assertEquals(2, testRoll.getWaitlistPosition(students[12]));
+		assertFalse(testRoll.canEnroll(students[12]));
+		assertTrue(testRoll.canEnroll(students[13]));
+		testRoll.enroll(students[13]);
+		Student[] waitlisted = testRoll.getWaitlistedStudents();
+		assertEquals(3, waitlisted.length);
+		assertEquals(students[10], waitlisted[0]);
+		assertEquals(students[12], waitlisted[1]);
+		assertEquals(students[13], waitlisted[2]);
+
+		// An open seat goes to the front of the waitlist
+		testRoll.drop(students[0]);
+		assertEquals(students[10], testRoll.getEnrolledStudents()[9]);
+		assertEquals(1, testRoll.getWaitlistPosition(students[12]));
+		assertEquals(2, testRoll.getWaitlistPosition(students[13]));
+		testRoll.drop(students[12]);
+		assertEquals(1, testRoll.getNumberOnWaitlist());
+		assertEquals(1, testRoll.getWaitlistPosition(students[13]));
+	}
+
+	/**
+	 * Tests that raising the enrollment cap and dropping several Students fill the
+	 * open seats from the waitlist in one pass, skipping Students who cannot add
+	 * the course and leaving them on the waitlist
+	 */
+	@Test
+	public void testPromoteWaitlist() {
+		Student[] students = new Student[10];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw");
+			testRoll.enroll(students[i]);
+		}
+		Course conflicting = new Course("CSC226", "Discrete Math", "001", 3, "sesmith5", 10, "MW", 1100, 1200);
+		STUDENT6.getSchedule().resetSchedule();
+		STUDENT6.getSchedule().addCourseToSchedule(conflicting);
+		Student overCredits = new Student("Over", "Credits", "ocredit", "ocredit@ncsu.edu", "pw", 3);
+		STUDENT8.getSchedule().resetSchedule();
+		STUDENT8.getSchedule().addCourseToSchedule(COURSE1);
+		STUDENT7.getSchedule().resetSchedule();
+		testRoll.enroll(STUDENT6);
+		testRoll.enroll(overCredits);
+		testRoll.enroll(STUDENT7);
+		testRoll.enroll(STUDENT8);
+		assertEquals(4, testRoll.getNumberOnWaitlist());
+		assertEquals(0, testRoll.promoteWaitlist().size());
+
+		// Three new seats go to the two eligible Students, passing over the others
+		PromotionReport raised = testRoll.setEnrollmentCap(13);
+		assertEquals(4, raised.size());
+		assertArrayEquals(new Student[] { STUDENT7, STUDENT8 }, raised.getPromoted());
+		assertArrayEquals(new Student[] { STUDENT6, overCredits }, raised.getSkipped());
+		assertEquals(12, testRoll.getEnrolledStudents().length);
+		assertEquals(STUDENT7, testRoll.getEnrolledStudents()[10]);
+		assertEquals(STUDENT8, testRoll.getEnrolledStudents()[11]);
+		assertTrue(STUDENT7.getSchedule().contains(COURSE1));
+		assertEquals(1, STUDENT8.getSchedule().getCourses().length);
+		assertEquals(1, testRoll.getOpenSeats());
+		assertArrayEquals(new Student[] { STUDENT6, overCredits }, testRoll.getWaitlistedStudents());
+
+		// Dropped seats are reported Student by Student
+		STUDENT6.getSchedule().resetSchedule();
+		PromotionReport report = testRoll.dropAll(new Student[] { students[0], students[1], STUDENT9 });
+		assertEquals(2, report.size());
+		assertEquals(STUDENT6, report.getStudent(0));
+		assertEquals(PromotionReport.PROMOTED, report.getOutcome(0));
+		assertEquals(overCredits, report.getStudent(1));
+		assertEquals(PromotionReport.OVER_CREDITS, report.getOutcome(1));
+		assertEquals(1, report.getNumberPromoted());
+		assertArrayEquals(new Student[] { STUDENT6 }, report.getPromoted());
+		assertArrayEquals(new Student[] { overCredits }, report.getSkipped());
+		assertEquals(2, testRoll.getOpenSeats());
+		assertArrayEquals(new Student[] { overCredits }, testRoll.getWaitlistedStudents());
+
+		// A conflict is reported once an open seat reaches the Student
+		overCredits.setMaxCredits(8);
+		overCredits.getSchedule().addCourseToSchedule(conflicting);
+		report = testRoll.promoteWaitlist();
+		assertEquals(PromotionReport.CONFLICT, report.getOutcome(0));
+		assertEquals(0, report.getNumberPromoted());
+		assertEquals(2, testRoll.getOpenSeats());
+		try {
+			testRoll.dropAll(new Student[] { students[2], null });
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(11, testRoll.getEnrolledStudents().length);
+		}
+		testRoll.drop(overCredits);
+		assertEquals(0, testRoll.getNumberOnWaitlist());
+		STUDENT6.getSchedule().resetSchedule();
+		STUDENT7.getSchedule().resetSchedule();
+		STUDENT8.getSchedule().resetSchedule();
+	}
+
+	/**
+	 * Tests that a waitlisted Student who enrolls in a seat the waitlist passed
+	 * over leaves the waitlist, and that a Student found both enrolled and
+	 * waitlisted is passed over without taking a seat
+	 */
+	@Test
+	public void testEnrollFromWaitlist() {
+		Student[] students = new Student[10];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw");
+			testRoll.enroll(students[i]);
+		}
+		Course conflicting = new Course("CSC226", "Discrete Math", "001", 3, "sesmith5", 10, "MW", 1100, 1200);
+		Student waiting = new Student("Wait", "Listed", "wlisted", "wlisted@ncsu.edu", "pw");
+		waiting.getSchedule().addCourseToSchedule(conflicting);
+		testRoll.enroll(waiting);
+		testRoll.drop(students[0]);
+		assertEquals(1, testRoll.getOpenSeats());
+		assertEquals(1, testRoll.getWaitlistPosition(waiting));
+
+		// Clearing the conflict and enrolling takes the open seat and leaves the
+		// waitlist
+		waiting.getSchedule().resetSchedule();
+		testRoll.enroll(waiting);
+		assertEquals(0, testRoll.getWaitlistPosition(waiting));
+		assertEquals(0, testRoll.getNumberOnWaitlist());
+		assertEquals(0, testRoll.getOpenSeats());
+		assertEquals(10, testRoll.getEnrolledStudents().length);
+		testRoll.drop(students[1]);
+		assertEquals(1, testRoll.getOpenSeats());
+		assertEquals(9, testRoll.getEnrolledStudents().length);
+
+		// An enrolled Student still on the waitlist is passed over
+		Student next = new Student("Next", "Listed", "nlisted", "nlisted@ncsu.edu", "pw");
+		Student[] enrolled = Arrays.copyOf(testRoll.getEnrolledStudents(), 10);
+		enrolled[9] = students[0];
+		testRoll.restore(enrolled, new Student[] { waiting, next });
+		PromotionReport report = testRoll.dropAll(new Student[] { students[2] });
+		assertEquals(1, report.size());
+		assertEquals(next, report.getStudent(0));
+		assertEquals(0, testRoll.getOpenSeats());
+		assertEquals(0, testRoll.getNumberOnWaitlist());
+		assertEquals(10, testRoll.getEnrolledStudents().length);
+		assertEquals(next, testRoll.getEnrolledStudents()[9]);
+		testRoll.drop(waiting);
+		assertEquals(1, testRoll.getOpenSeats());
 	}
 
+	/**
+	 * Tests that restoring with a waitlist cap sets the cap exactly and rejects
+	 * caps that cannot hold the waitlisted Students
+	 */
+	@Test
+	public void testRestoreWaitlistCap() {
+		CourseRoll roll = new CourseRoll(COURSE1, 10);
+		Student first = new Student("First", "Waiting", "fwaiting", "fwaiting@ncsu.edu", "pw");
+		Student second = new Student("Second", "Waiting", "swaiting", "swaiting@ncsu.edu", "pw");
+		roll.restore(new Student[0], new Student[] { first, second }, 500);
+		assertEquals(500, roll.getWaitlistCap());
+		assertEquals(2, roll.getNumberOnWaitlist());
+		roll.restore(new Student[0], new Student[0], 0);
+		assertEquals(0, roll.getWaitlistCap());
+		assertEquals(0, roll.getNumberOnWaitlist());
+
+		try {
+			roll.restore(new Student[0], new Student[] { first, second }, 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(0, roll.getWaitlistCap());
+		}
+		try {
+			roll.restore(new Student[0], new Student[0], -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(0, roll.getWaitlistCap());
+		}
+
+		// Without a cap, the current cap is kept unless it must be raised
+		roll.restore(new Student[0], new Student[] { first, second });
+		assertEquals(2, roll.getWaitlistCap());
+	}
+
+	/**
+	 * Tests that seats claimed from many threads at once are each claimed once,
+	 * and that released seats can be claimed again
+	 * 
+	 * @throws InterruptedException If interrupted while waiting for the threads
+	 */
+	@Test
+	public void testClaimSeat() throws InterruptedException {
+		final CourseRoll roll = new CourseRoll(COURSE1, 250);
+		final AtomicInteger claimed = new AtomicInteger();
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 100; j++) {
+					if (roll.claimSeat()) {
+						claimed.incrementAndGet();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertEquals(250, claimed.get());
+		assertEquals(0, roll.getOpenSeats());
+		assertFalse(roll.claimSeat());
+		roll.releaseSeat();
+		assertEquals(1, roll.getOpenSeats());
+		assertTrue(roll.claimSeat());
+	}
+
+	/**
+	 * Tests that Students enrolling from many threads at once never overbook the
+	 * course, and that every Student not given a seat is waitlisted
+	 * 
+	 * @throws InterruptedException If interrupted while waiting for the threads
+	 */
+	@Test
+	public void testConcurrentEnroll() throws InterruptedException {
+		final CourseRoll roll = new CourseRoll(COURSE1, 50);
+		roll.setWaitlistCap(400);
+		final Student[] students = new Student[400];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw");
+		}
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] threads = new Thread[16];
+		for (int i = 0; i < threads.length; i++) {
+			final int first = i;
+			threads[i] = new Thread(() -> {
+				try {
+					start.await();
+					for (int j = first; j < students.length; j += threads.length) {
+						roll.enroll(students[j]);
+						// Some Students drop and try again, freeing seats for others
+						if (j % 5 == 0) {
+							roll.drop(students[j]);
+							roll.enroll(students[j]);
+						}
+					}
+				} catch (InterruptedException | RuntimeException e) {
+					failures.incrementAndGet();
+				}
+			});
+			threads[i].start();
+		}
+		start.countDown();
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+		assertEquals(0, failures.get());
+		assertEquals(0, roll.getOpenSeats());
+		Student[] enrolled = roll.getEnrolledStudents();
+		Student[] waitlisted = roll.getWaitlistedStudents();
+		assertEquals(50, enrolled.length);
+		assertEquals(350, waitlisted.length);
+		HashSet<Student> all = new HashSet<Student>(Arrays.asList(enrolled));
+		all.addAll(Arrays.asList(waitlisted));
+		assertEquals(400, all.size());
+	}
 }
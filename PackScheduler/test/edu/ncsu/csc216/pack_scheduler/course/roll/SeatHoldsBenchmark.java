@@ -0,0 +1,98 @@
+package edu.ncsu.csc216.pack_scheduler.course.roll;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Benchmark measuring the time to place, release, and expire seat holds as the
+ * number of active holds grows to hundreds of thousands. Each run fills every
+ * seat of many full-size rolls with holds placed over one hold duration,
+ * releases every fourth hold, then expires the rest in steps of a second. Not a
+ * unit test; run the main method directly.
+ *
+ * @author Nick Garner
+ *
+ */
+public class SeatHoldsBenchmark {
+
+	/** Numbers of rolls to hold every seat of */
+	private static final int[] ROLLS = { 4, 40, 400, 1200 };
+	/** Seats in each roll */
+	private static final int SEATS = 250;
+	/** Length of a hold, in milliseconds */
+	private static final long HOLD = 15 * 60 * 1000;
+	/** Time between expiries, in milliseconds */
+	private static final long STEP = 1000;
+	/** Untimed runs before measuring */
+	private static final int WARMUP = 3;
+	/** Timed runs */
+	private static final int RUNS = 5;
+
+	/**
+	 * Reports the average time of each operation for each number of holds.
+	 *
+	 * @param args Unused
+	 */
+	public static void main(String[] args) {
+		Course course = new Course("CSC216", "Programming Concepts - Java", "001", 4, null, 10, "A");
+		Student[] students = new Student[SEATS];
+		for (int i = 0; i < SEATS; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw");
+		}
+		for (int i = 0; i < ROLLS.length; i++) {
+			long[] nanos = new long[3];
+			long checksum = 0;
+			for (int run = 0; run < WARMUP; run++) {
+				checksum += run(course, students, ROLLS[i], new long[3]);
+			}
+			for (int run = 0; run < RUNS; run++) {
+				checksum += run(course, students, ROLLS[i], nanos);
+			}
+			long holds = (long) RUNS * ROLLS[i] * SEATS;
+			System.out.printf("%7d holds  hold %8.1f ns  release %8.1f ns  expire %8.1f ns  (checksum %d)%n",
+					ROLLS[i] * SEATS, (double) nanos[0] / holds, (double) nanos[1] / (holds / 4),
+					(double) nanos[2] / (holds - holds / 4), checksum);
+		}
+	}
+
+	/**
+	 * Holds every seat of the given number of rolls, releases every fourth hold,
+	 * and expires the rest
+	 *
+	 * @param course   Course of the rolls
+	 * @param students Students to hold seats for, one per seat
+	 * @param rolls    Number of rolls
+	 * @param nanos    Elapsed nanoseconds of holding, releasing, and expiring,
+	 *                 added to
+	 * @return Number of seats freed by expiry
+	 */
+	private static int run(Course course, Student[] students, int rolls, long[] nanos) {
+		CourseRoll[] roll = new CourseRoll[rolls];
+		for (int i = 0; i < rolls; i++) {
+			roll[i] = new CourseRoll(course, SEATS);
+		}
+		SeatHolds seatHolds = new SeatHolds(HOLD, 0);
+		SeatHold[] holds = new SeatHold[rolls * SEATS];
+		long start = System.nanoTime();
+		for (int i = 0; i < holds.length; i++) {
+			holds[i] = seatHolds.hold(roll[i % rolls], students[i / rolls], i * HOLD / holds.length);
+		}
+		long held = System.nanoTime();
+		for (int i = 0; i < holds.length; i += 4) {
+			seatHolds.release(holds[i]);
+		}
+		long released = System.nanoTime();
+		int freed = 0;
+		for (long now = 0; now <= 2 * HOLD; now += STEP) {
+			freed += seatHolds.expire(now);
+		}
+		long expired = System.nanoTime();
+		if (freed != holds.length - (holds.length + 3) / 4 || seatHolds.getNumberPending() != 0) {
+			throw new IllegalStateException("Holds are inconsistent.");
+		}
+		nanos[0] += held - start;
+		nanos[1] += released - held;
+		nanos[2] += expired - released;
+		return freed;
+	}
+}
@@ -0,0 +1,168 @@
+package edu.ncsu.csc216.pack_scheduler.course.roll;
+
+import static org.junit.Assert.*;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class tests SeatHolds for proper functionality and exception handling.
+ * 
+ * @author Nick Garner
+ *
+ */
+public class SeatHoldsTest {
+
+	/** Length of a hold */
+	private static final long HOLD = 60000;
+	/** Time the holds start at */
+	private static final long START = 1000000;
+	/** Course to test with roll */
+	private static final Course COURSE = new Course("CSC216", "Java II", "651", 4, "jep", 10, "MW", 1030, 1130);
+
+	/** SeatHolds object to test */
+	private SeatHolds seatHolds;
+	/** CourseRoll to hold seats in */
+	private CourseRoll roll;
+	/** Students to hold seats for */
+	private Student[] students;
+
+	/**
+	 * Runs before every test to create a SeatHolds and a CourseRoll with 10 seats
+	 * 
+	 * @throws Exception If error occurs during setup.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		seatHolds = new SeatHolds(HOLD, START);
+		roll = new CourseRoll(COURSE, 10);
+		students = new Student[15];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student("First" + i, "Last" + i, "id" + i, "id" + i + "@ncsu.edu", "pw");
+		}
+	}
+
+	/**
+	 * Tests that holds claim seats, that a held seat is used when the Student
+	 * enrolls, and that invalid holds are rejected
+	 */
+	@Test
+	public void testHold() {
+		try {
+			new SeatHolds(0, START);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Hold duration is not valid.", e.getMessage());
+		}
+		assertEquals(HOLD, seatHolds.getHoldDuration());
+
+		SeatHold hold = seatHolds.hold(roll, students[0], START);
+		assertEquals(roll, hold.getRoll());
+		assertEquals(students[0], hold.getStudent());
+		assertEquals(START + HOLD, hold.getExpiration());
+		assertTrue(hold.isActive());
+		assertEquals(hold, roll.getHold(students[0]));
+		assertEquals(1, roll.getNumberOfHolds());
+		assertEquals(9, roll.getOpenSeats());
+		try {
+			seatHolds.hold(roll, students[0], START);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Seat could not be held.", e.getMessage());
+		}
+		try {
+			seatHolds.hold(roll, null, START);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(9, roll.getOpenSeats());
+		}
+
+		// Fill the rest of the roll; the Student holding a seat can still enroll
+		for (int i = 1; i < 10; i++) {
+			roll.enroll(students[i]);
+		}
+		assertEquals(0, roll.getOpenSeats());
+		assertNull(seatHolds.hold(roll, students[10], START));
+		assertTrue(roll.canEnroll(students[0]));
+		roll.enroll(students[0]);
+		assertFalse(hold.isActive());
+		assertEquals(10, roll.getEnrolledStudents().length);
+		assertEquals(0, roll.getNumberOnWaitlist());
+		try {
+			seatHolds.hold(roll, students[0], START);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Seat could not be held.", e.getMessage());
+		}
+
+		// The used hold's timer expires without freeing a seat
+		assertEquals(1, seatHolds.getNumberPending());
+		assertEquals(0, seatHolds.expire(START + HOLD));
+		assertEquals(0, seatHolds.getNumberPending());
+		assertEquals(0, roll.getOpenSeats());
+	}
+
+	/**
+	 * Tests that expired holds free their seats together, promoting waitlisted
+	 * Students first, and that holds do not expire early
+	 */
+	@Test
+	public void testExpire() {
+		for (int i = 0; i < 6; i++) {
+			seatHolds.hold(roll, students[i], START + i * 1000);
+		}
+		for (int i = 6; i < 13; i++) {
+			roll.enroll(students[i]);
+		}
+		assertEquals(4, roll.getEnrolledStudents().length);
+		assertEquals(3, roll.getNumberOnWaitlist());
+
+		assertEquals(0, seatHolds.expire(START + HOLD - 1));
+		assertEquals(6, roll.getNumberOfHolds());
+		assertEquals(4, seatHolds.expire(START + HOLD + 3000));
+		assertEquals(2, roll.getNumberOfHolds());
+		assertEquals(7, roll.getEnrolledStudents().length);
+		assertEquals(0, roll.getNumberOnWaitlist());
+		assertEquals(1, roll.getOpenSeats());
+		for (int i = 0; i < 4; i++) {
+			assertNull(roll.getHold(students[i]));
+			assertTrue(roll.canEnroll(students[i]));
+		}
+		assertEquals(2, seatHolds.expire(START + 2 * HOLD));
+		assertEquals(0, roll.getNumberOfHolds());
+		assertEquals(3, roll.getOpenSeats());
+	}
+
+	/**
+	 * Tests that released and dropped holds free their seats at once, and that the
+	 * timer of an old hold does not expire a newer hold for the same Student
+	 */
+	@Test
+	public void testRelease() {
+		SeatHold first = seatHolds.hold(roll, students[0], START);
+		SeatHold second = seatHolds.hold(roll, students[1], START);
+		assertTrue(seatHolds.release(first));
+		assertFalse(seatHolds.release(first));
+		assertEquals(1, seatHolds.getNumberPending());
+		roll.drop(students[1]);
+		assertFalse(second.isActive());
+		assertEquals(10, roll.getOpenSeats());
+
+		SeatHold renewed = seatHolds.hold(roll, students[1], START + HOLD / 2);
+		assertEquals(0, seatHolds.expire(START + HOLD));
+		assertTrue(renewed.isActive());
+		assertEquals(9, roll.getOpenSeats());
+		assertEquals(1, seatHolds.expire(START + HOLD / 2 + HOLD));
+		assertFalse(renewed.isActive());
+
+		seatHolds.hold(roll, students[2], START + 2 * HOLD);
+		roll.restore(new Student[] { students[3] }, new Student[0]);
+		assertEquals(0, roll.getNumberOfHolds());
+		assertEquals(9, roll.getOpenSeats());
+		assertEquals(0, seatHolds.expire(START + 4 * HOLD));
+		assertEquals(9, roll.getOpenSeats());
+	}
+}
@@ -123,6 +123,9 @@ public class FacultyDirectoryTest {
 
 		// Attempt to remove non-existent Faculty
 		assertFalse(testDir.removeFaculty("triddle"));
+		assertFalse(testDir.removeFaculty("AWITT"));
+		assertFalse(testDir.removeFaculty("BBrewer"));
+		assertEquals(6, testDir.getFacultyDirectory().length);
 
 		// Check for proper contents
 		String[][] dirArray = testDir.getFacultyDirectory();
@@ -162,6 +165,19 @@ public class FacultyDirectoryTest {
 		}
 		Faculty testFaculty = new Faculty(FIRST_NAME, LAST_NAME, ID, EMAIL, hashPW, MAX_COURSES);
 		assertEquals(testFaculty, testDir.getFacultyById(ID));
+		assertEquals(testFaculty, testDir.getFacultyById(ID.toUpperCase()));
+		assertNull(testDir.getFacultyById("triddle"));
+
+		// Ids differing only in case are duplicates
+		assertFalse(testDir.addFaculty(FIRST_NAME, LAST_NAME, ID.toUpperCase(), EMAIL, PASSWORD, PASSWORD, MAX_COURSES));
+		assertTrue(testDir.removeFaculty(ID));
+		assertNull(testDir.getFacultyById(ID));
+
+		// Index is rebuilt on load and cleared on reset
+		testDir.loadFacultyFromFile(validTestFile);
+		assertEquals("awitt", testDir.getFacultyById("awitt").getId());
+		testDir.newFacultyDirectory();
+		assertNull(testDir.getFacultyById("awitt"));
 	}
 
 }
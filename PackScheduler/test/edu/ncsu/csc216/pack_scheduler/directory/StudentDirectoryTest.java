@@ -192,6 +192,11 @@ public class StudentDirectoryTest {
 		assertTrue(sd5.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
 		assertFalse(sd5.addStudent(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
 		assertTrue(sd5.addStudent(FIRST_NAME, LAST_NAME, "nrgarner", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		// Ids differing only in case are duplicates
+		assertFalse(sd5.addStudent(FIRST_NAME, LAST_NAME, "NRGarner", EMAIL, PASSWORD, PASSWORD, MAX_CREDITS));
+		assertEquals("nrgarner", sd5.getStudentById("NRGARNER").getId());
+		sd5.newStudentDirectory();
+		assertNull(sd5.getStudentById(ID));
 	}
 
 //	/**
@@ -227,6 +232,10 @@ public class StudentDirectoryTest {
 
 		// Attempt to remove non-existent student
 		assertFalse(testDir.removeStudent("triddle"));
+		assertFalse(testDir.removeStudent("shansen"));
+		assertFalse(testDir.removeStudent("ZKING"));
+		assertNull(testDir.getStudentById("lberg"));
+		assertEquals("zking", testDir.getStudentById("ZKing").getId());
 
 		// Check for proper contents
 		String[][] dirArray = testDir.getStudentDirectory();
@@ -9,13 +9,16 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.collections.list.SortedList;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
 /**
  * Tests CouresRecordIO.
@@ -73,6 +76,14 @@ public class CourseRecordIOTest {
 			for (int i = 0; i < validCourses.length; i++) {
 				assertEquals(validCourses[i], courses.get(i).toString());
 			}
+
+			// Second CSC116-002 on line 4 is skipped and reported
+			ArrayList<Integer> duplicateLines = new ArrayList<Integer>();
+			courses = CourseRecordIO.readCourseRecords(validTestFile, duplicateLines);
+			assertEquals(8, courses.size());
+			assertEquals(1, duplicateLines.size());
+			assertEquals(4, (int) duplicateLines.get(0));
+			assertEquals("MW", courses.get(1).getMeetingDays());
 		} catch (FileNotFoundException e) {
 			fail("Unexpected error reading " + validTestFile);
 		}
@@ -92,6 +103,104 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that reading courses in parallel chunks gives the same courses and
+	 * duplicate lines as reading them sequentially
+	 */
+	@Test
+	public void testReadCourseRecordsParallel() {
+		String generatedFile = "test-files/actual_parallel_course_records.txt";
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			String section = String.format("%03d", i % 500);
+			if (i % 97 == 0) {
+				text.append("CSC116,Invalid Course,").append(section).append(",3\r\n");
+			} else if (i % 53 == 0) {
+				text.append("\n");
+			} else {
+				text.append("CSC").append(100 + i % 3).append(",Course ").append(i).append(",").append(section)
+						.append(",3,null,10,MW,").append(800 + i % 10).append(",1100").append(i % 2 == 0 ? "\n" : "\r\n");
+			}
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Files.write(FileSystems.getDefault().getPath(generatedFile), text.toString().getBytes());
+			String[] files = { validTestFile, invalidTestFile, generatedFile };
+			for (String file : files) {
+				ArrayList<Integer> expectedLines = new ArrayList<Integer>();
+				SortedList<Course> expected = CourseRecordIO.readCourseRecords(file, expectedLines, null);
+				ArrayList<Integer> actualLines = new ArrayList<Integer>();
+				SortedList<Course> actual = CourseRecordIO.readCourseRecords(file, actualLines, null, pool, 64);
+				assertEquals(expected.size(), actual.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.get(i).toString(), actual.get(i).toString());
+				}
+				assertEquals(expectedLines.size(), actualLines.size());
+				for (int i = 0; i < expectedLines.size(); i++) {
+					assertEquals(expectedLines.get(i), actualLines.get(i));
+				}
+			}
+			ArrayList<Integer> duplicateLines = new ArrayList<Integer>();
+			assertEquals(8, CourseRecordIO.readCourseRecords(validTestFile, duplicateLines, null, pool).size());
+			assertEquals(4, (int) duplicateLines.get(0));
+		} catch (IOException e) {
+			fail("Unexpected error reading " + generatedFile);
+		} finally {
+			pool.shutdown();
+			new File(generatedFile).delete();
+		}
+	}
+
+	/**
+	 * Tests reading courses with a given faculty directory, and without one
+	 */
+	@Test
+	public void testReadCourseRecordsFacultyDirectory() {
+		String generatedFile = "test-files/actual_bound_course_records.txt";
+		String text = "CSC216,Programming Concepts - Java,001,4,awitt,10,MW,1330,1445\n"
+				+ "CSC226,Discrete Mathematics for Computer Scientists,001,3,awitt,10,MW,1330,1445\n"
+				+ "CSC226,Discrete Mathematics for Computer Scientists,001,3,bbrewer,10,MW,1330,1445\n"
+				+ "CSC216,Programming Concepts - Java,001,4,bbrewer,10,TH,1330,1445\n"
+				+ "CSC230,C and Software Tools,001,3,nobody,10,MW,1145,1300\n";
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			Files.write(FileSystems.getDefault().getPath(generatedFile), text.getBytes());
+
+			// CSC226 conflicts for awitt, so the later record is read instead
+			for (int run = 0; run < 2; run++) {
+				FacultyDirectory faculty = new FacultyDirectory();
+				faculty.loadFacultyFromFile("test-files/faculty_records.txt");
+				ArrayList<Integer> duplicateLines = new ArrayList<Integer>();
+				SortedList<Course> courses = run == 0
+						? CourseRecordIO.readCourseRecords(generatedFile, duplicateLines, faculty)
+						: CourseRecordIO.readCourseRecords(generatedFile, duplicateLines, faculty, pool, 16);
+				assertEquals(3, courses.size());
+				assertEquals("awitt", courses.get(0).getInstructorId());
+				assertEquals("bbrewer", courses.get(1).getInstructorId());
+				assertNull(courses.get(2).getInstructorId());
+				assertEquals(1, duplicateLines.size());
+				assertEquals(4, (int) duplicateLines.get(0));
+				assertEquals(1, faculty.getFacultyById("awitt").getSchedule().getNumScheduledCourses());
+			}
+
+			// Without a directory the instructor ids of the records are kept
+			ArrayList<Integer> duplicateLines = new ArrayList<Integer>();
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(generatedFile, duplicateLines, null);
+			assertEquals(3, courses.size());
+			assertEquals("awitt", courses.get(0).getInstructorId());
+			assertEquals("awitt", courses.get(1).getInstructorId());
+			assertEquals("nobody", courses.get(2).getInstructorId());
+			assertEquals(2, duplicateLines.size());
+			assertEquals(3, (int) duplicateLines.get(0));
+			assertEquals(4, (int) duplicateLines.get(1));
+		} catch (IOException e) {
+			fail("Unexpected error reading " + generatedFile);
+		} finally {
+			pool.shutdown();
+			new File(generatedFile).delete();
+		}
+	}
+
 	/**
 	 * Tests writeCourseRecords()
 	 */
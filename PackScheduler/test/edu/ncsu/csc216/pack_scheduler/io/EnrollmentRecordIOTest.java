@@ -0,0 +1,164 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Tests EnrollmentRecordIO class.
+ *
+ * @author Nick Garner
+ *
+ */
+public class EnrollmentRecordIOTest {
+
+	/** File enrollment records are written to */
+	private final String enrollmentFile = "test-files/actual_enrollment_records.txt";
+	/** Catalog of courses */
+	private CourseCatalog catalog;
+	/** Directory of students */
+	private StudentDirectory students;
+	/** Directory of faculty */
+	private FacultyDirectory faculty;
+
+	/**
+	 * Loads courses, students, and faculty from the test files.
+	 *
+	 * @throws Exception If the files cannot be loaded
+	 */
+	@Before
+	public void setUp() throws Exception {
+		faculty = new FacultyDirectory();
+		faculty.loadFacultyFromFile("test-files/faculty_records.txt");
+		catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		students = new StudentDirectory();
+		students.loadStudentsFromFile("test-files/student_records.txt");
+	}
+
+	/**
+	 * Removes the written enrollment file.
+	 */
+	@After
+	public void tearDown() {
+		new File(enrollmentFile).delete();
+	}
+
+	/**
+	 * Tests that written enrollment records restore rolls, waitlists, schedules,
+	 * and instructors into a freshly loaded catalog and directory.
+	 */
+	@Test
+	public void testWriteAndReadEnrollmentRecords() {
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Student zking = students.getStudentById("zking");
+		Student lberg = students.getStudentById("lberg");
+		Student gstone = students.getStudentById("gstone");
+		csc216.getCourseRoll().restore(new Student[] { zking, lberg }, new Student[] { gstone }, 500);
+		catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().setWaitlistCap(0);
+		zking.getSchedule().addCourseToSchedule(csc216);
+		zking.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC226", "001"));
+		zking.getSchedule().setTitle("Fall, Year 2");
+		faculty.getFacultyById("awitt").getSchedule().addCourseToSchedule(csc216);
+
+		try {
+			EnrollmentRecordIO.writeEnrollmentRecords(enrollmentFile, catalog.getCourses(), students.getStudents());
+		} catch (IOException e) {
+			fail("Cannot write enrollment records");
+		}
+
+		try {
+			setUp();
+			EnrollmentRecordIO.readEnrollmentRecords(enrollmentFile, catalog, students, faculty);
+		} catch (Exception e) {
+			fail("Cannot read enrollment records");
+		}
+		csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Student[] enrolled = csc216.getCourseRoll().getEnrolledStudents();
+		assertEquals(2, enrolled.length);
+		assertSame(students.getStudentById("zking"), enrolled[0]);
+		assertSame(students.getStudentById("lberg"), enrolled[1]);
+		assertSame(students.getStudentById("gstone"), csc216.getCourseRoll().getWaitlistedStudents()[0]);
+		assertEquals(8, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(500, csc216.getCourseRoll().getWaitlistCap());
+		assertEquals(0, catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().getWaitlistCap());
+
+		Schedule schedule = students.getStudentById("zking").getSchedule();
+		assertEquals("Fall, Year 2", schedule.getTitle());
+		assertEquals(2, schedule.getCourses().length);
+		assertSame(csc216, schedule.getCourses()[0]);
+		assertEquals("My Schedule", students.getStudentById("lberg").getSchedule().getTitle());
+
+		assertEquals("awitt", csc216.getInstructorId());
+		assertEquals(1, faculty.getFacultyById("awitt").getSchedule().getNumScheduledCourses());
+	}
+
+	/**
+	 * Tests that a write that fails after the file is opened is reported rather
+	 * than treated as saved.
+	 */
+	@Test
+	public void testWriteEnrollmentRecordsFails() {
+		try {
+			EnrollmentRecordIO.writeEnrollmentRecords("/dev/full", catalog.getCourses(), students.getStudents());
+			fail();
+		} catch (IOException e) {
+			assertEquals("Unable to write to file /dev/full", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that invalid lines and unknown ids are skipped, and that roll records
+	 * without a waitlist cap are still read.
+	 */
+	@Test
+	public void testReadInvalidEnrollmentRecords() {
+		try {
+			PrintStream out = new PrintStream(new File(enrollmentFile));
+			out.println("C,CSC999,001,1,zking");
+			out.println("R,CSC226,001,x,0,zking");
+			out.println("R,CSC116,001,1,0,zking,lberg");
+			out.println("C,CSC216,001,2,zking,nobody,lberg");
+			out.println("S,nobody,0,My Schedule");
+			out.println("S,zking,x,My Schedule");
+			out.println("I,CSC216,001,awitt");
+			out.println("I,CSC216,001,bbrewer");
+			out.println("X,CSC216,001");
+			out.close();
+			EnrollmentRecordIO.readEnrollmentRecords(enrollmentFile, catalog, students, faculty);
+		} catch (FileNotFoundException e) {
+			fail("Cannot write enrollment records");
+		}
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(1, csc216.getCourseRoll().getEnrolledStudents().length);
+		assertSame(students.getStudentById("lberg"), csc216.getCourseRoll().getWaitlistedStudents()[0]);
+		assertEquals(CourseRoll.DEFAULT_WAITLIST_CAP, csc216.getCourseRoll().getWaitlistCap());
+		assertEquals(0, catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().getNumberOnWaitlist());
+		assertEquals(0, catalog.getCourseFromCatalog("CSC116", "001").getCourseRoll().getNumberOnWaitlist());
+		assertEquals(0, students.getStudentById("zking").getSchedule().getCourses().length);
+		assertEquals("awitt", csc216.getInstructorId());
+		assertEquals(0, faculty.getFacultyById("bbrewer").getSchedule().getNumScheduledCourses());
+
+		try {
+			EnrollmentRecordIO.readEnrollmentRecords("test-files/missing.txt", catalog, students, faculty);
+			fail();
+		} catch (FileNotFoundException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Benchmark measuring how many operations per second OperationLog makes
+ * durable as the number of threads writing to it grows. Each thread waits for
+ * its own record to reach the disk, so throughput above one thread's rate
+ * comes from records sharing an fsync. Not a unit test; run the main method
+ * directly.
+ *
+ * @author Nick Garner
+ *
+ */
+public class OperationLogBenchmark {
+
+	/** Seconds each thread count is measured for */
+	private static final int SECONDS = 2;
+	/** Thread counts to measure */
+	private static final int[] THREADS = { 1, 4, 16, 64 };
+
+	/**
+	 * Reports the durable operations per second for each thread count.
+	 *
+	 * @param args Unused
+	 * @throws Exception If the log cannot be written or a thread is interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		for (int i = 0; i < THREADS.length; i++) {
+			File file = File.createTempFile("operations", ".dat");
+			file.deleteOnExit();
+			OperationLog log = new OperationLog(file.getPath());
+			long operations = run(log, THREADS[i]);
+			log.close();
+			System.out.printf("%3d threads %10d ops/s%n", THREADS[i], operations / SECONDS);
+			file.delete();
+		}
+	}
+
+	/**
+	 * Writes enrollments from the given number of threads until time runs out
+	 *
+	 * @param log     Log to write to
+	 * @param threads Number of writing threads
+	 * @return Total number of operations made durable
+	 * @throws InterruptedException If interrupted while waiting for the threads
+	 * @throws IOException          Never; declared for symmetry with the log
+	 */
+	private static long run(final OperationLog log, int threads) throws InterruptedException, IOException {
+		final long end = System.nanoTime() + SECONDS * 1000000000L;
+		final long[] counts = new long[threads];
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			final int id = i;
+			workers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (System.nanoTime() < end) {
+						log.write(OperationLog.ENROLL, "student" + id, "CSC216", "001");
+						counts[id]++;
+					}
+				}
+			});
+			workers[i].start();
+		}
+		long total = 0;
+		for (int i = 0; i < threads; i++) {
+			workers[i].join();
+			total += counts[i];
+		}
+		return total;
+	}
+}
@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests OperationLog class.
+ *
+ * @author Nick Garner
+ *
+ */
+public class OperationLogTest {
+
+	/** File the log is written to */
+	private final String logFile = "test-files/actual_operation_log.dat";
+
+	/**
+	 * Removes the log file.
+	 */
+	@After
+	public void tearDown() {
+		new File(logFile).delete();
+	}
+
+	/**
+	 * Tests that appended operations are read back in order once synced and that
+	 * reopening the log appends after them.
+	 *
+	 * @throws IOException If the log cannot be written or read
+	 */
+	@Test
+	public void testAppendAndRead() throws IOException {
+		OperationLog log = new OperationLog(logFile);
+		long first = log.append(OperationLog.ENROLL, "zking", "CSC216", "001");
+		long second = log.append(OperationLog.DROP, "zking", "CSC216", "001");
+		assertTrue(second > first);
+		assertEquals(0, OperationLog.readOperations(logFile).length);
+		log.sync(first);
+		assertEquals(2, OperationLog.readOperations(logFile).length);
+		log.write(OperationLog.ADD_COURSE, "CSC116", "Intro to Programming - Java", "001", "3", null, "10", "A",
+				"0", "0");
+		assertEquals(3, log.getOperationCount());
+		log.close();
+
+		log = new OperationLog(logFile);
+		assertEquals(3, log.getOperationCount());
+		log.write(OperationLog.RESET_SCHEDULE, "zking");
+		log.close();
+
+		OperationLog.Operation[] operations = OperationLog.readOperations(logFile);
+		assertEquals(4, operations.length);
+		assertEquals(OperationLog.ENROLL, operations[0].getType());
+		assertArrayEquals(new String[] { "zking", "CSC216", "001" }, operations[0].getFields());
+		assertEquals(OperationLog.DROP, operations[1].getType());
+		assertEquals("", operations[2].getFields()[4]);
+		assertEquals(OperationLog.RESET_SCHEDULE, operations[3].getType());
+		assertArrayEquals(new String[] { "zking" }, operations[3].getFields());
+		for (int i = 0; i < operations.length; i++) {
+			assertEquals(i + 1, operations[i].getSequence());
+		}
+
+		try {
+			log.append(OperationLog.ENROLL, "zking");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Operation log is closed.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a torn record at the end of the log is ignored and cut off when
+	 * the log is reopened, and that truncate empties the log.
+	 *
+	 * @throws IOException If the log cannot be written or read
+	 */
+	@Test
+	public void testDamagedTailAndTruncate() throws IOException {
+		OperationLog log = new OperationLog(logFile);
+		log.write(OperationLog.ENROLL, "zking", "CSC216", "001");
+		log.write(OperationLog.ENROLL, "lberg", "CSC216", "001");
+		log.close();
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+			file.setLength(file.length() - 1);
+		}
+		assertEquals(1, OperationLog.readOperations(logFile).length);
+
+		log = new OperationLog(logFile);
+		assertEquals(1, log.getOperationCount());
+		log.write(OperationLog.DROP, "zking", "CSC216", "001");
+		OperationLog.Operation[] operations = OperationLog.readOperations(logFile);
+		assertEquals(2, operations.length);
+		assertEquals(OperationLog.DROP, operations[1].getType());
+
+		log.append(OperationLog.ENROLL, "lberg", "CSC216", "001");
+		assertEquals(3, log.getLastSequence());
+		log.truncate();
+		assertEquals(0, log.getOperationCount());
+		assertEquals(0, OperationLog.readOperations(logFile).length);
+		assertEquals(0, new File(logFile).length());
+		assertEquals(4, log.append(OperationLog.DROP, "lberg", "CSC216", "001"));
+		log.truncate();
+		log.close();
+		assertEquals(0, new File(logFile).length());
+
+		// Numbering continues after a saved sequence number
+		log = new OperationLog(logFile, 10);
+		assertEquals(10, log.getLastSequence());
+		assertEquals(11, log.append(OperationLog.DROP, "lberg", "CSC216", "001"));
+		log.close();
+		log = new OperationLog(logFile, 5);
+		assertEquals(11, log.getLastSequence());
+		log.close();
+
+		assertEquals(0, OperationLog.readOperations("test-files/missing.dat").length);
+	}
+
+	/**
+	 * Tests that once a write fails, the lost records are never reported as
+	 * durable and the log refuses new records.
+	 *
+	 * @throws IOException If the log cannot be opened
+	 */
+	@Test
+	public void testFailedWrite() throws IOException {
+		Assume.assumeTrue(new File("/dev/full").exists());
+		OperationLog log = new OperationLog("/dev/full");
+		long sequence = log.append(OperationLog.ENROLL, "zking", "CSC216", "001");
+		try {
+			log.sync(sequence);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Unable to write operation log.", e.getMessage());
+		}
+		try {
+			log.append(OperationLog.DROP, "zking", "CSC216", "001");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Unable to write operation log.", e.getMessage());
+		}
+		try {
+			log.sync(sequence);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Unable to write operation log.", e.getMessage());
+		}
+		try {
+			log.close();
+			fail();
+		} catch (IOException e) {
+			assertEquals("Unable to write operation log.", e.getMessage());
+		}
+		try {
+			log.append(OperationLog.DROP, "zking", "CSC216", "001");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Operation log is closed.", e.getMessage());
+		}
+	}
+}
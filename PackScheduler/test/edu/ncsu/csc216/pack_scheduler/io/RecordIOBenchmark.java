@@ -0,0 +1,148 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+/**
+ * Benchmark comparing the time to split and parse large record files with
+ * RecordTokenizer, reading through a stream or memory mapped windows, against
+ * the Scanner-per-line parsing it replaced. Not a unit test; run the main
+ * method directly.
+ *
+ * @author Nick Garner
+ *
+ */
+public class RecordIOBenchmark {
+
+	/** Number of lines in each generated file */
+	private static final int LINES = 100000;
+	/** Untimed runs before measuring */
+	private static final int WARMUP = 5;
+	/** Timed runs */
+	private static final int RUNS = 10;
+	/** Parse with RecordTokenizer over a FileInputStream */
+	private static final int TOKENIZER = 0;
+	/** Parse with RecordTokenizer over memory mapped windows */
+	private static final int MAPPED = 1;
+	/** Parse with a Scanner per line */
+	private static final int SCANNER = 2;
+
+	/**
+	 * Generates course and student files and reports the average parse time of
+	 * each approach.
+	 *
+	 * @param args Unused
+	 * @throws IOException If the generated files cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		File courses = File.createTempFile("courses", ".txt");
+		File students = File.createTempFile("students", ".txt");
+		courses.deleteOnExit();
+		students.deleteOnExit();
+		PrintStream out = new PrintStream(courses);
+		for (int i = 0; i < LINES; i++) {
+			out.println("CSC" + (100 + i % 900) + ",Programming Concepts - Java," + String.format("%03d", i % 1000)
+					+ ",4,sesmith5,10,MW,1330,1445");
+		}
+		out.close();
+		out = new PrintStream(students);
+		for (int i = 0; i < LINES; i++) {
+			out.println("First" + i + ",Last" + i + ",id" + i + ",id" + i + "@ncsu.edu,pw," + (3 + i % 16));
+		}
+		out.close();
+
+		report("course tokenizer", courses.getPath(), TOKENIZER, 9);
+		report("course mapped", courses.getPath(), MAPPED, 9);
+		report("course scanner", courses.getPath(), SCANNER, 9);
+		report("student tokenizer", students.getPath(), TOKENIZER, 6);
+		report("student mapped", students.getPath(), MAPPED, 6);
+		report("student scanner", students.getPath(), SCANNER, 6);
+	}
+
+	/**
+	 * Prints the average time to parse every line of a file
+	 *
+	 * @param label    Label for the measurement
+	 * @param fileName File to parse
+	 * @param approach TOKENIZER, MAPPED, or SCANNER
+	 * @param fields   Number of fields in each line
+	 * @throws IOException If the file cannot be read
+	 */
+	private static void report(String label, String fileName, int approach, int fields) throws IOException {
+		long checksum = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			checksum += parse(fileName, approach, fields);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			checksum += parse(fileName, approach, fields);
+		}
+		long average = (System.nanoTime() - start) / RUNS;
+		System.out.printf("%-18s %8.2f ms/file (%d)%n", label, average / 1e6, checksum);
+	}
+
+	/**
+	 * Parses every field of every line with the given approach
+	 *
+	 * @param fileName File to parse
+	 * @param approach TOKENIZER, MAPPED, or SCANNER
+	 * @param fields   Number of fields in each line
+	 * @return Total length of all fields, to keep the work observable
+	 * @throws IOException If the file cannot be read
+	 */
+	private static long parse(String fileName, int approach, int fields) throws IOException {
+		if (approach == SCANNER) {
+			return parseWithScanner(fileName, fields);
+		}
+		if (approach == MAPPED) {
+			return parseWithTokenizer(new RecordTokenizer(new MappedFileReader(fileName), fileName), fields);
+		}
+		return parseWithTokenizer(new RecordTokenizer(fileName), fields);
+	}
+
+	/**
+	 * Parses every field of every line with RecordTokenizer
+	 *
+	 * @param reader Tokenizer over the file to parse
+	 * @param fields Number of fields in each line
+	 * @return Total length of all fields, to keep the work observable
+	 */
+	private static long parseWithTokenizer(RecordTokenizer reader, int fields) {
+		long total = 0;
+		while (reader.nextRecord()) {
+			for (int i = 0; i < fields - 1; i++) {
+				total += reader.next().length();
+			}
+			total += reader.nextInt();
+		}
+		reader.close();
+		return total;
+	}
+
+	/**
+	 * Parses every field of every line with a Scanner per line
+	 *
+	 * @param fileName File to parse
+	 * @param fields   Number of fields in each line
+	 * @return Total length of all fields, to keep the work observable
+	 * @throws IOException If the file cannot be read
+	 */
+	private static long parseWithScanner(String fileName, int fields) throws IOException {
+		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		long total = 0;
+		while (fileReader.hasNextLine()) {
+			Scanner lineParse = new Scanner(fileReader.nextLine());
+			lineParse.useDelimiter(",");
+			for (int i = 0; i < fields - 1; i++) {
+				total += lineParse.next().length();
+			}
+			total += Integer.parseInt(lineParse.next());
+			lineParse.close();
+		}
+		fileReader.close();
+		return total;
+	}
+}
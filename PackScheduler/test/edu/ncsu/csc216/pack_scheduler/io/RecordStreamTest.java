@@ -0,0 +1,138 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests RecordStream class and the memory mapped reading behind it.
+ *
+ * @author Nick Garner
+ *
+ */
+public class RecordStreamTest {
+
+	/** File written by the mapped reader test */
+	private final String mappedFile = "test-files/actual_mapped_records.txt";
+
+	/**
+	 * Removes the written file.
+	 */
+	@After
+	public void tearDown() {
+		new File(mappedFile).delete();
+	}
+
+	/**
+	 * Tests streaming courses, filtering them without loading the catalog and
+	 * without assigning them to faculty.
+	 *
+	 * @throws FileNotFoundException If the test file is missing
+	 */
+	@Test
+	public void testStreamCourseRecords() throws FileNotFoundException {
+		RegistrationManager.getInstance().clearData();
+		RegistrationManager.getInstance().getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		RecordStream<Course> courses = CourseRecordIO.streamCourseRecords("test-files/course_records.txt");
+		assertTrue(courses.hasNext());
+		Course first = courses.next();
+		assertEquals("CSC116", first.getName());
+		assertEquals("jdyoung2", first.getInstructorId());
+		int count = 1;
+		while (courses.hasNext()) {
+			courses.next();
+			count++;
+		}
+		// The duplicate CSC116-002 record is not removed when streaming
+		assertEquals(9, count);
+		try {
+			courses.next();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertFalse(courses.hasNext());
+		}
+		Faculty awitt = RegistrationManager.getInstance().getFacultyDirectory().getFacultyById("awitt");
+		assertEquals(0, awitt.getSchedule().getNumScheduledCourses());
+
+		try (RecordStream<Course> stream = CourseRecordIO.streamCourseRecords("test-files/course_records.txt")) {
+			assertEquals("001,002,003,002",
+					stream.stream().filter(c -> c.getName().equals("CSC116")).map(Course::getSection)
+							.collect(Collectors.joining(",")));
+		}
+
+		// Invalid lines are skipped
+		try (RecordStream<Course> stream = CourseRecordIO
+				.streamCourseRecords("test-files/invalid_course_records.txt")) {
+			assertFalse(stream.hasNext());
+		}
+		try {
+			CourseRecordIO.streamCourseRecords("test-files/missing.txt");
+			fail();
+		} catch (FileNotFoundException e) {
+			assertNotNull(e.getMessage());
+		}
+		RegistrationManager.getInstance().clearData();
+	}
+
+	/**
+	 * Tests streaming students and faculty.
+	 *
+	 * @throws FileNotFoundException If the test files are missing
+	 */
+	@Test
+	public void testStreamUserRecords() throws FileNotFoundException {
+		try (RecordStream<Student> students = StudentRecordIO.streamStudentRecords("test-files/student_records.txt")) {
+			assertEquals(10, students.stream().count());
+		}
+		try (RecordStream<Faculty> faculty = FacultyRecordIO.streamFacultyRecords("test-files/faculty_records.txt")) {
+			assertEquals(8, faculty.stream().filter(f -> f.getMaxCourses() > 0).count());
+		}
+	}
+
+	/**
+	 * Tests that the mapped reader decodes characters split across windows.
+	 *
+	 * @throws IOException If the file cannot be written or read
+	 */
+	@Test
+	public void testMappedFileReader() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 50; i++) {
+			text.append("caf\u00e9,na\u00efve,").append(i).append('\n');
+		}
+		PrintStream out = new PrintStream(new File(mappedFile));
+		out.print(text);
+		out.close();
+		// Characters the platform charset cannot encode were written as replacements
+		String expected = new String(text.toString().getBytes());
+
+		for (int windowSize = 1; windowSize <= 7; windowSize++) {
+			MappedFileReader reader = new MappedFileReader(mappedFile, 0, -1, windowSize);
+			StringBuilder read = new StringBuilder();
+			char[] buffer = new char[5];
+			for (int n = reader.read(buffer, 0, buffer.length); n >= 0; n = reader.read(buffer, 0, buffer.length)) {
+				read.append(buffer, 0, n);
+			}
+			reader.close();
+			assertEquals(expected, read.toString());
+		}
+
+		new PrintStream(new File(mappedFile)).close();
+		MappedFileReader reader = new MappedFileReader(mappedFile);
+		assertEquals(-1, reader.read(new char[5], 0, 5));
+		reader.close();
+	}
+}
@@ -0,0 +1,80 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * Tests RecordTokenizer class.
+ *
+ * @author Nick Garner
+ *
+ */
+public class RecordTokenizerTest {
+
+	/**
+	 * Tests nextRecord() with each kind of line ending and blank lines
+	 */
+	@Test
+	public void testNextRecord() {
+		RecordTokenizer tokenizer = new RecordTokenizer(new StringReader("a,b\r\nc\rd\n\ne"), "test");
+		assertTrue(tokenizer.nextRecord());
+		assertEquals("a", tokenizer.next());
+		assertEquals("b", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+		assertTrue(tokenizer.nextRecord());
+		assertEquals("c", tokenizer.next());
+		assertTrue(tokenizer.nextRecord());
+		assertEquals("d", tokenizer.next());
+		assertTrue(tokenizer.nextRecord());
+		assertFalse(tokenizer.hasNext());
+		assertTrue(tokenizer.nextRecord());
+		assertEquals("e", tokenizer.next());
+		assertFalse(tokenizer.nextRecord());
+		tokenizer.close();
+	}
+
+	/**
+	 * Tests next() and nextInt() on valid and invalid fields
+	 */
+	@Test
+	public void testFields() {
+		RecordTokenizer tokenizer = new RecordTokenizer(new StringReader("CSC216,,4,-12,+3,2147483647,x1,,"), "test");
+		assertTrue(tokenizer.nextRecord());
+		assertEquals("CSC216", tokenizer.next());
+		assertEquals("", tokenizer.next());
+		assertEquals(4, tokenizer.nextInt());
+		assertEquals(-12, tokenizer.nextInt());
+		assertEquals(3, tokenizer.nextInt());
+		assertEquals(Integer.MAX_VALUE, tokenizer.nextInt());
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(tokenizer.hasNext());
+		}
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertFalse(tokenizer.hasNext());
+		}
+		try {
+			tokenizer.next();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertNull(e.getMessage());
+		}
+
+		tokenizer = new RecordTokenizer(new StringReader("2147483648,-2147483648"), "test");
+		assertTrue(tokenizer.nextRecord());
+		try {
+			tokenizer.nextInt();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(Integer.MIN_VALUE, tokenizer.nextInt());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests SegmentedRecordFile class.
+ *
+ * @author Nick Garner
+ *
+ */
+public class SegmentedRecordFileTest {
+
+	/** Main file records are saved to */
+	private final String recordFile = "test-files/actual_segmented_records.txt";
+
+	/**
+	 * Removes the main file and its segments.
+	 */
+	@After
+	public void tearDown() {
+		new File(recordFile).delete();
+		for (int i = 1; i < 10; i++) {
+			new File(recordFile + ".seg" + i).delete();
+		}
+	}
+
+	/**
+	 * Reads every record of the main file with its segments applied
+	 *
+	 * @return Records joined by semicolons
+	 * @throws FileNotFoundException If the main file is missing
+	 */
+	private String readAll() throws FileNotFoundException {
+		RecordTokenizer reader = SegmentedRecordFile.openRecords(recordFile, 0);
+		StringBuilder records = new StringBuilder();
+		while (reader.nextRecord()) {
+			records.append(reader.rest()).append(';');
+		}
+		reader.close();
+		return records.toString();
+	}
+
+	/**
+	 * Tests that changes are saved to segments and applied in order when read.
+	 *
+	 * @throws IOException If the files cannot be written
+	 */
+	@Test
+	public void testSave() throws IOException {
+		SegmentedRecordFile file = new SegmentedRecordFile(recordFile, new String[0], 0);
+		String[] records = { "a,1", "b,1", "c,1", "d,1", "e,1" };
+		assertEquals(5, file.saveAll(records));
+		assertEquals("a,1;b,1;c,1;d,1;e,1;", readAll());
+
+		assertEquals(1, file.save(new String[] { "a,1", "b,2", "c,1", "d,1", "e,1" }));
+		assertEquals(1, file.save(new String[] { "a,1", "b,3", "c,1", "d,1", "e,1" }));
+		assertEquals(0, file.save(new String[] { "a,1", "b,3", "c,1", "d,1", "e,1" }));
+		assertTrue(new File(recordFile + ".seg2").exists());
+		assertEquals("a,1;b,3;c,1;d,1;e,1;", readAll());
+
+		// A new tracker finds the segments already written
+		file = new SegmentedRecordFile(recordFile, new String[] { "a,1", "b,3", "c,1", "d,1", "e,1" }, 0);
+		assertEquals(1, file.save(new String[] { "a,1", "b,3", "c,1", "d,1", "e,1", "f,1" }));
+		assertTrue(new File(recordFile + ".seg3").exists());
+		assertEquals("a,1;b,3;c,1;d,1;e,1;f,1;", readAll());
+
+		// The next change would make the segments larger than half the file
+		assertEquals(5, file.save(new String[] { "b,3", "c,1", "d,1", "e,1", "f,1" }));
+		assertFalse(new File(recordFile + ".seg1").exists());
+		assertEquals("b,3;c,1;d,1;e,1;f,1;", readAll());
+	}
+
+	/**
+	 * Tests that segments written for a different main file are ignored.
+	 *
+	 * @throws IOException If the files cannot be written
+	 */
+	@Test
+	public void testStaleSegment() throws IOException {
+		SegmentedRecordFile file = new SegmentedRecordFile(recordFile, new String[0], 0);
+		file.saveAll(new String[] { "a,1", "b,1", "c,1" });
+		file.save(new String[] { "a,2", "b,1", "c,1" });
+
+		// Replace the main file as a crash during compaction would leave it
+		PrintStream out = new PrintStream(new File(recordFile));
+		out.println("a,3");
+		out.println("b,1");
+		out.close();
+		assertEquals("a,3;b,1;", readAll());
+
+		file = new SegmentedRecordFile(recordFile, new String[] { "a,3", "b,1" }, 0);
+		assertEquals(2, file.save(new String[] { "a,3", "b,1", "c,1", "d,1" }));
+		assertTrue(new File(recordFile + ".seg2").exists());
+		assertEquals("a,3;b,1;c,1;d,1;", readAll());
+	}
+}
@@ -0,0 +1,108 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests the SnapshotIO class
+ *
+ * @author Nick Garner
+ *
+ */
+public class SnapshotIOTest {
+
+	/** File snapshots are written to */
+	private static final String SNAPSHOT_FILE = "test-files/actual_snapshot.dat";
+
+	/**
+	 * Tests that each course's waitlist cap is written and restored exactly
+	 *
+	 * @throws IOException If the snapshot cannot be written or read
+	 */
+	@Test
+	public void testWaitlistCapRoundTrip() throws IOException {
+		Course wide = new Course("CSC216", "Programming Concepts - Java", "001", 4, null, 10, "TH", 1330, 1445);
+		Course closed = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, null, 10,
+				"MWF", 935, 1025);
+		Course plain = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		Student waiting = new Student("Zahir", "King", "zking", "zking@ncsu.edu", "pw");
+		wide.getCourseRoll().restore(new Student[0], new Student[] { waiting }, 500);
+		closed.getCourseRoll().setWaitlistCap(0);
+
+		SnapshotIO.writeSnapshot(SNAPSHOT_FILE, new Course[] { wide, closed, plain }, new Student[] { waiting },
+				new Faculty[0], 7);
+		SnapshotIO.Snapshot snapshot = SnapshotIO.readSnapshot(SNAPSHOT_FILE);
+
+		Course[] courses = snapshot.getCourses();
+		assertEquals(7, snapshot.getSequence());
+		assertEquals(500, courses[0].getCourseRoll().getWaitlistCap());
+		assertEquals(1, courses[0].getCourseRoll().getNumberOnWaitlist());
+		assertSame(snapshot.getStudents()[0], courses[0].getCourseRoll().getWaitlistedStudents()[0]);
+		assertEquals(0, courses[1].getCourseRoll().getWaitlistCap());
+		assertEquals(CourseRoll.DEFAULT_WAITLIST_CAP, courses[2].getCourseRoll().getWaitlistCap());
+	}
+
+	/**
+	 * Tests that version 2 snapshots, which have no waitlist caps, are still read
+	 *
+	 * @throws IOException If the snapshot cannot be written or read
+	 */
+	@Test
+	public void testReadVersion2() throws IOException {
+		CRC32 crc = new CRC32();
+		try (DataOutputStream out = new DataOutputStream(
+				new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(SNAPSHOT_FILE)), crc))) {
+			out.writeInt(0x504B5353);
+			out.writeInt(2);
+			out.writeLong(3);
+			// One course with no instructor
+			out.writeInt(1);
+			out.writeUTF("CSC216");
+			out.writeUTF("Programming Concepts - Java");
+			out.writeUTF("001");
+			out.writeInt(4);
+			out.writeBoolean(false);
+			out.writeInt(10);
+			out.writeUTF("TH");
+			out.writeInt(1330);
+			out.writeInt(1445);
+			// One student with an empty schedule
+			out.writeInt(1);
+			out.writeUTF("Zahir");
+			out.writeUTF("King");
+			out.writeUTF("zking");
+			out.writeUTF("zking@ncsu.edu");
+			out.writeUTF("pw");
+			out.writeInt(18);
+			out.writeUTF("My Schedule");
+			out.writeInt(0);
+			// No faculty
+			out.writeInt(0);
+			// Roll with no one enrolled and the student waitlisted
+			out.writeInt(0);
+			out.writeInt(1);
+			out.writeInt(0);
+			out.flush();
+			out.writeLong(crc.getValue());
+		}
+
+		SnapshotIO.Snapshot snapshot = SnapshotIO.readSnapshot(SNAPSHOT_FILE);
+		CourseRoll roll = snapshot.getCourses()[0].getCourseRoll();
+		assertEquals(3, snapshot.getSequence());
+		assertEquals(CourseRoll.DEFAULT_WAITLIST_CAP, roll.getWaitlistCap());
+		assertSame(snapshot.getStudents()[0], roll.getWaitlistedStudents()[0]);
+	}
+}
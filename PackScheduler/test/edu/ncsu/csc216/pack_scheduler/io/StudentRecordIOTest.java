@@ -7,11 +7,13 @@ import org.junit.Test;
 
 import edu.ncsu.csc216.collections.list.SortedList;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests StudentRecordIO class.
@@ -84,6 +86,40 @@ public class StudentRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that reading students in parallel chunks gives the same students and
+	 * duplicate lines as reading them sequentially
+	 */
+	@Test
+	public void testReadStudentRecordsParallel() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			String[] files = { validTestFile, invalidTestFile };
+			for (String file : files) {
+				ArrayList<Integer> expectedLines = new ArrayList<Integer>();
+				SortedList<Student> expected = StudentRecordIO.readStudentRecords(file, expectedLines);
+				ArrayList<Integer> actualLines = new ArrayList<Integer>();
+				SortedList<Student> actual = StudentRecordIO.readStudentRecords(file, actualLines, pool, 64);
+				assertEquals(expected.size(), actual.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.get(i).toString(), actual.get(i).toString());
+				}
+				assertEquals(expectedLines.size(), actualLines.size());
+				for (int i = 0; i < expectedLines.size(); i++) {
+					assertEquals(expectedLines.get(i), actualLines.get(i));
+				}
+			}
+			SortedList<Student> students = StudentRecordIO.readStudentRecords(validTestFile, null, pool);
+			for (int i = 0; i < validStudents.length; i++) {
+				assertEquals(validStudents[i], students.get(i).toString());
+			}
+		} catch (FileNotFoundException e) {
+			fail("Could not find file: " + validTestFile);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	/**
 	 * Tests readInvalidStudentRecords().
 	 */
@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+
+/**
+ * Benchmark measuring a registrar import of one million enrollments with
+ * RegistrationManager.enrollStudentsInCourses. The catalog holds 4000 one
+ * credit sections of 250 seats, and each Student is imported into 18 of them,
+ * filling every seat. Building the catalog and directory is not timed, and
+ * takes minutes, as each Student added is checked against the whole sorted
+ * directory. Not a unit test; run the main method directly from the project
+ * directory, where the registrar properties are found.
+ *
+ * @author Nick Garner
+ *
+ */
+public class BulkEnrollmentBenchmark {
+
+	/** Number of course names */
+	private static final int NAMES = 1000;
+	/** Sections of each course name */
+	private static final int SECTIONS = 4;
+	/** Seats in each section */
+	private static final int SEATS = 250;
+	/** Courses each Student is imported into */
+	private static final int COURSES_PER_STUDENT = 18;
+	/** Untimed runs before measuring */
+	private static final int WARMUP = 1;
+	/** Timed runs */
+	private static final int RUNS = 3;
+
+	/**
+	 * Reports the average time of the import and of each row.
+	 *
+	 * @param args Unused
+	 */
+	public static void main(String[] args) {
+		int sections = NAMES * SECTIONS;
+		int students = sections * SEATS / COURSES_PER_STUDENT;
+		String[][] rows = new String[students * COURSES_PER_STUDENT][];
+		for (int i = 0; i < rows.length; i++) {
+			// Spread each Student's rows over different course names
+			int section = (int) ((long) i * 7919 % sections);
+			rows[i] = new String[] { "s" + i / COURSES_PER_STUDENT, String.format("CSC%03d", section % NAMES),
+					"00" + (1 + section / NAMES) };
+		}
+		RegistrationManager manager = RegistrationManager.getInstance();
+		long nanos = 0;
+		long checksum = 0;
+		for (int run = 0; run < WARMUP + RUNS; run++) {
+			manager.logout();
+			manager.clearData();
+			CourseCatalog catalog = manager.getCourseCatalog();
+			for (int i = 0; i < sections; i++) {
+				catalog.addCourseToCatalog(String.format("CSC%03d", i % NAMES), "Course", "00" + (1 + i / NAMES), 1,
+						null, SEATS, "A", 0, 0);
+			}
+			StudentDirectory directory = manager.getStudentDirectory();
+			for (int i = 0; i < students; i++) {
+				directory.addStudent("First", "Last", "s" + i, "s" + i + "@ncsu.edu", "pw", "pw", 18);
+			}
+			manager.login("registrar", "Regi5tr@r");
+			long start = System.nanoTime();
+			BulkEnrollmentReport report = manager.enrollStudentsInCourses(rows);
+			long elapsed = System.nanoTime() - start;
+			checksum += report.getCount(BulkEnrollmentReport.ENROLLED);
+			if (run >= WARMUP) {
+				nanos += elapsed;
+			}
+		}
+		manager.logout();
+		System.out.printf("%d rows  %8.1f ms per import  %6.1f ns per row  (checksum %d)%n", rows.length,
+				nanos / 1e6 / RUNS, (double) nanos / RUNS / rows.length, checksum);
+	}
+}
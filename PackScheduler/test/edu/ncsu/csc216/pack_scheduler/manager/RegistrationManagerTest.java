@@ -7,17 +7,27 @@ import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
+import edu.ncsu.csc216.pack_scheduler.course.roll.PromotionReport;
+import edu.ncsu.csc216.pack_scheduler.course.roll.SeatHolds;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Tests RegistrationManager class
@@ -589,4 +599,802 @@ public class RegistrationManagerTest {
 		assertNull(c.getInstructorId());
 		assertEquals(0, f.getSchedule().getNumScheduledCourses());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that saveSnapshot and loadSnapshot restore rolls, waitlists,
+	 * schedules, and instructor assignments.
+	 */
+	@Test
+	public void testSnapshot() {
+		String snapshotFile = "test-files/actual_snapshot.dat";
+		manager.logout();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		directory.addStudent("Fred", "Weasley", "fweasle", "fweasle@ncsu.edu", "pw", "pw", 15);
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+
+		// Fill CSC226 so the last student is waitlisted
+		String[] ids = { "zking", "cschwartz", "shansen", "daustin", "rbrennan", "efrost", "lberg", "gstone",
+				"ahicks", "dnolan", "fweasle" };
+		for (int i = 0; i < ids.length; i++) {
+			Session session = manager.openSession(ids[i], "pw");
+			assertTrue(manager.enrollStudentInCourse(session, csc226));
+			manager.closeSession(session);
+		}
+		Session rbrennan = manager.openSession("rbrennan", "pw");
+		assertTrue(manager.enrollStudentInCourse(rbrennan, catalog.getCourseFromCatalog("CSC116", "002")));
+		directory.getStudentById("rbrennan").getSchedule().setTitle("Fall");
+		manager.closeSession(rbrennan);
+		Faculty awitt = manager.getFacultyDirectory().getFacultyById("awitt");
+		awitt.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC216", "001"));
+		csc226.getCourseRoll().setWaitlistCap(500);
+		catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().setWaitlistCap(0);
+
+		manager.saveSnapshot(snapshotFile);
+		assertFalse(new File(snapshotFile + ".tmp").exists());
+		manager.clearData();
+		assertEquals(0, catalog.getCourseCatalog().length);
+		manager.loadSnapshot(snapshotFile);
+
+		assertEquals(8, catalog.getCourseCatalog().length);
+		assertEquals(11, directory.getStudentDirectory().length);
+		assertEquals(8, manager.getFacultyDirectory().getFacultyDirectory().length);
+		csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+		assertEquals(0, csc226.getCourseRoll().getOpenSeats());
+		assertEquals(1, csc226.getCourseRoll().getNumberOnWaitlist());
+		assertSame(directory.getStudentById("fweasle"), csc226.getCourseRoll().getWaitlistedStudents()[0]);
+		assertSame(directory.getStudentById("zking"), csc226.getCourseRoll().getEnrolledStudents()[0]);
+		assertEquals(500, csc226.getCourseRoll().getWaitlistCap());
+		assertEquals(0, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getWaitlistCap());
+		assertEquals(CourseRoll.DEFAULT_WAITLIST_CAP,
+				catalog.getCourseFromCatalog("CSC116", "002").getCourseRoll().getWaitlistCap());
+
+		Schedule schedule = directory.getStudentById("rbrennan").getSchedule();
+		assertEquals("Fall", schedule.getTitle());
+		assertEquals(2, schedule.getCourses().length);
+		assertSame(csc226, schedule.getCourses()[0]);
+		assertEquals(9, catalog.getCourseFromCatalog("CSC116", "002").getCourseRoll().getOpenSeats());
+
+		awitt = manager.getFacultyDirectory().getFacultyById("awitt");
+		assertEquals(1, awitt.getSchedule().getNumScheduledCourses());
+		assertEquals("awitt", catalog.getCourseFromCatalog("CSC216", "001").getInstructorId());
+
+		// Restored students can log in and drop, promoting the waitlist
+		Session zking = manager.openSession("zking", "pw");
+		assertTrue(manager.dropStudentFromCourse(zking, csc226));
+		assertEquals(0, csc226.getCourseRoll().getNumberOnWaitlist());
+		manager.closeSession(zking);
+
+		// Damaged snapshot is rejected
+		try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+			file.setLength(file.length() - 1);
+		} catch (IOException e) {
+			fail("Cannot truncate snapshot");
+		}
+		try {
+			manager.loadSnapshot(snapshotFile);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Unable to read file " + snapshotFile, e.getMessage());
+		}
+		assertEquals(8, catalog.getCourseCatalog().length);
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that logged operations are replayed when the log is reopened and that
+	 * checkpoints fold the log into the snapshot.
+	 */
+	@Test
+	public void testOperationLog() {
+		String logFile = "test-files/actual_operation_log.dat";
+		String snapshotFile = "test-files/actual_checkpoint.dat";
+		manager.logout();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+
+		manager.openLog(logFile, snapshotFile, 0);
+		manager.checkpoint();
+		assertTrue(new File(snapshotFile).exists());
+
+		Session zking = manager.openSession("zking", "pw");
+		assertTrue(manager.enrollStudentInCourse(zking, catalog.getCourseFromCatalog("CSC216", "001")));
+		assertTrue(manager.enrollStudentInCourse(zking, catalog.getCourseFromCatalog("CSC226", "001")));
+		assertTrue(manager.dropStudentFromCourse(zking, catalog.getCourseFromCatalog("CSC216", "001")));
+		assertFalse(manager.dropStudentFromCourse(zking, catalog.getCourseFromCatalog("CSC216", "001")));
+		manager.closeSession(zking);
+		assertTrue(catalog.addCourseToCatalog("CSC492", "Senior Design", "001", 3, null, 10, "MW", 1000, 1100));
+		assertTrue(catalog.setCourseMeeting("CSC492", "001", "TH", 1200, 1300));
+		assertTrue(catalog.removeCourseFromCatalog("CSC116", "001"));
+		Properties prop = new Properties();
+		try (InputStream input = new FileInputStream(PROP_FILE)) {
+			prop.load(input);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot load properties file");
+		}
+		assertTrue(manager.login(prop.getProperty("id"), prop.getProperty("pw")));
+		Faculty awitt = manager.getFacultyDirectory().getFacultyById("awitt");
+		assertTrue(manager.addFacultyToCourse(catalog.getCourseFromCatalog("CSC216", "001"), awitt));
+		manager.logout();
+
+		// Simulate a crash by discarding state, then recover from the files
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 2);
+		directory = manager.getStudentDirectory();
+		String[][] schedule = directory.getStudentById("zking").getSchedule().getScheduledCourses();
+		assertEquals(1, schedule.length);
+		assertEquals("CSC226", schedule[0][0]);
+		assertEquals(9, catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().getOpenSeats());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		Course csc492 = catalog.getCourseFromCatalog("CSC492", "001");
+		assertNull(csc492.getInstructorId());
+		assertEquals("TH", csc492.getMeetingDays());
+		assertNull(catalog.getCourseFromCatalog("CSC116", "001"));
+		assertEquals("awitt", catalog.getCourseFromCatalog("CSC216", "001").getInstructorId());
+
+		// Reaching the interval checkpoints and empties the log
+		manager.checkpoint();
+		assertEquals(0, new File(logFile).length());
+		Session lberg = manager.openSession("lberg", "pw");
+		assertTrue(manager.enrollStudentInCourse(lberg, catalog.getCourseFromCatalog("CSC216", "001")));
+		assertTrue(new File(logFile).length() > 0);
+		assertTrue(manager.enrollStudentInCourse(lberg, csc492));
+		assertEquals(0, new File(logFile).length());
+		manager.closeSession(lberg);
+
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		assertEquals(2, manager.getStudentDirectory().getStudentById("lberg").getSchedule().getCourses().length);
+		manager.closeLog();
+		manager.clearData();
+
+		try {
+			manager.checkpoint();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Operation log is not open.", e.getMessage());
+		}
+		new File(logFile).delete();
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that operations a snapshot already includes are not replayed when the
+	 * log was not emptied after the checkpoint, and that catalog edits count
+	 * toward the checkpoint interval.
+	 * 
+	 * @throws IOException If the log file cannot be copied
+	 */
+	@Test
+	public void testOperationLogAfterCheckpoint() throws IOException {
+		String logFile = "test-files/actual_operation_log.dat";
+		String snapshotFile = "test-files/actual_checkpoint.dat";
+		manager.logout();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+
+		manager.openLog(logFile, snapshotFile, 0);
+		manager.checkpoint();
+		Session zking = manager.openSession("zking", "pw");
+		assertTrue(manager.enrollStudentInCourse(zking, csc216));
+		byte[] staleLog = Files.readAllBytes(Paths.get(logFile));
+		assertTrue(manager.dropStudentFromCourse(zking, csc216));
+		assertTrue(catalog.addCourseToCatalog("CSC492", "Senior Design", "001", 3, null, 10, "MW", 1000, 1100));
+		manager.checkpoint();
+		manager.closeSession(zking);
+		manager.closeLog();
+
+		// Crash after the new snapshot was moved into place but before the log was
+		// emptied
+		Files.write(Paths.get(logFile), staleLog);
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(0, directory.getStudentById("zking").getSchedule().getCourses().length);
+		assertEquals(10, csc216.getCourseRoll().getOpenSeats());
+		assertNotNull(catalog.getCourseFromCatalog("CSC492", "001"));
+
+		// New operations are numbered after the snapshot and are replayed
+		zking = manager.openSession("zking", "pw");
+		assertTrue(manager.enrollStudentInCourse(zking, catalog.getCourseFromCatalog("CSC226", "001")));
+		manager.closeSession(zking);
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 2);
+		assertEquals(1, directory.getStudentById("zking").getSchedule().getCourses().length);
+
+		// Catalog edits are logged like registration operations
+		assertTrue(new File(logFile).length() > 0);
+		assertTrue(catalog.setCourseMeeting("CSC492", "001", "TH", 1200, 1300));
+		assertEquals(0, new File(logFile).length());
+		assertTrue(catalog.removeCourseFromCatalog("CSC492", "001"));
+		assertTrue(new File(logFile).length() > 0);
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		assertNull(catalog.getCourseFromCatalog("CSC492", "001"));
+		assertEquals(1, directory.getStudentById("zking").getSchedule().getCourses().length);
+		manager.closeLog();
+		manager.clearData();
+		new File(logFile).delete();
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that several sessions can be open at once and that each session
+	 * registers its own student.
+	 */
+	@Test
+	public void testSessions() {
+		manager.logout();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+
+		Session efrost = manager.openSession("efrost", "pw");
+		Session ahicks = manager.openSession("ahicks", "pw");
+		assertNotNull(efrost);
+		assertNotNull(ahicks);
+		assertNull(manager.openSession("ahicks", "badpassword"));
+		assertNotEquals(efrost.getId(), ahicks.getId());
+
+		// Opening sessions does not log in the single user
+		assertNull(manager.getCurrentUser());
+
+		assertTrue(manager.enrollStudentInCourse(efrost, csc226));
+		assertTrue(manager.enrollStudentInCourse(ahicks, csc226));
+		assertFalse(manager.enrollStudentInCourse(ahicks, csc226));
+		assertEquals(8, csc226.getCourseRoll().getOpenSeats());
+		assertEquals(1, directory.getStudentById("efrost").getSchedule().getScheduledCourses().length);
+
+		assertTrue(manager.dropStudentFromCourse(efrost, csc226));
+		assertEquals(9, csc226.getCourseRoll().getOpenSeats());
+		manager.resetSchedule(ahicks);
+		assertEquals(10, csc226.getCourseRoll().getOpenSeats());
+		assertEquals(0, directory.getStudentById("ahicks").getSchedule().getScheduledCourses().length);
+
+		// Closed sessions cannot register
+		assertTrue(manager.closeSession(efrost));
+		assertFalse(manager.isSessionOpen(efrost));
+		assertFalse(manager.closeSession(efrost));
+		try {
+			manager.enrollStudentInCourse(efrost, csc226);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Illegal Action", e.getMessage());
+		}
+		assertTrue(manager.isSessionOpen(ahicks));
+		manager.closeSession(ahicks);
+	}
+
+	/**
+	 * Tests that concurrent sessions enrolling in the same course never overbook
+	 * the course roll or waitlist.
+	 * 
+	 * @throws InterruptedException if a registration thread is interrupted
+	 */
+	@Test
+	public void testConcurrentSessions() throws InterruptedException {
+		manager.logout();
+		final int numStudents = 40;
+		for (int i = 0; i < numStudents; i++) {
+			manager.getStudentDirectory().addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw",
+					"pw", 18);
+		}
+		manager.getCourseCatalog().addCourseToCatalog("CSC216", "Java II", "001", 4, null, 10, "MW", 1330, 1445);
+		final Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+
+		final Session[] userSessions = new Session[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			userSessions[i] = manager.openSession("student" + i, "pw");
+		}
+		final boolean[] results = new boolean[numStudents];
+		Thread[] threads = new Thread[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			final int index = i;
+			threads[i] = new Thread(() -> results[index] = manager.enrollStudentInCourse(userSessions[index], c));
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		int enrolled = 0;
+		for (int i = 0; i < numStudents; i++) {
+			if (results[i]) {
+				enrolled++;
+			}
+			manager.closeSession(userSessions[i]);
+		}
+		// 10 seats and 10 waitlist spots
+		assertEquals(20, enrolled);
+		assertEquals(0, c.getCourseRoll().getOpenSeats());
+		assertEquals(10, c.getCourseRoll().getNumberOnWaitlist());
+	}
+
+	/**
+	 * Stress tests concurrent enrolls and drops across several courses. Checks
+	 * that no course is overbooked, that no student is left on a waitlist while a
+	 * seat is open, and that every student on a roll or waitlist has the course on
+	 * their schedule.
+	 * 
+	 * @throws InterruptedException if a registration thread is interrupted
+	 */
+	@Test
+	public void testConcurrentEnrollAndDrop() throws InterruptedException {
+		manager.logout();
+		final int numStudents = 60;
+		final int iterations = 300;
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC116", "Java I", "001", 3, null, 10, "MW", 800, 850);
+		catalog.addCourseToCatalog("CSC216", "Java II", "001", 3, null, 10, "MW", 900, 950);
+		catalog.addCourseToCatalog("CSC226", "Discrete", "001", 3, null, 10, "TH", 800, 850);
+		catalog.addCourseToCatalog("CSC230", "C", "001", 3, null, 10, "TH", 900, 950);
+		final Course[] courses = { catalog.getCourseFromCatalog("CSC116", "001"),
+				catalog.getCourseFromCatalog("CSC216", "001"), catalog.getCourseFromCatalog("CSC226", "001"),
+				catalog.getCourseFromCatalog("CSC230", "001") };
+
+		final Session[] userSessions = new Session[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			manager.getStudentDirectory().addStudent("First", "Last", "stress" + i, "stress" + i + "@ncsu.edu", "pw",
+					"pw", 18);
+			userSessions[i] = manager.openSession("stress" + i, "pw");
+		}
+
+		Thread[] threads = new Thread[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			final Session session = userSessions[i];
+			final Random random = new Random(i);
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < iterations; j++) {
+					Course c = courses[random.nextInt(courses.length)];
+					if (random.nextBoolean()) {
+						manager.enrollStudentInCourse(session, c);
+					} else {
+						manager.dropStudentFromCourse(session, c);
+					}
+				}
+			});
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		for (Course c : courses) {
+			int openSeats = c.getCourseRoll().getOpenSeats();
+			int waitlisted = c.getCourseRoll().getNumberOnWaitlist();
+			assertTrue(openSeats >= 0);
+			assertTrue(waitlisted == 0 || openSeats == 0);
+
+			int scheduled = 0;
+			for (int i = 0; i < numStudents; i++) {
+				String[][] schedule = ((Student) userSessions[i].getUser()).getSchedule().getScheduledCourses();
+				for (int j = 0; j < schedule.length; j++) {
+					if (schedule[j][0].equals(c.getName()) && schedule[j][1].equals(c.getSection())) {
+						scheduled++;
+					}
+				}
+			}
+			assertEquals(c.getCourseRoll().getEnrollmentCap() - openSeats + waitlisted, scheduled);
+		}
+		for (int i = 0; i < numStudents; i++) {
+			manager.closeSession(userSessions[i]);
+		}
+	}
+
+	/**
+	 * Tests that resetting a schedule while another session of the same student
+	 * enrolls leaves every roll matching the schedule, and that replaying the log
+	 * gives the same schedule.
+	 * 
+	 * @throws InterruptedException if a registration thread is interrupted
+	 */
+	@Test
+	public void testConcurrentResetAndEnroll() throws InterruptedException {
+		String logFile = "test-files/actual_operation_log.dat";
+		String snapshotFile = "test-files/actual_checkpoint.dat";
+		manager.logout();
+		final int iterations = 200000;
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC116", "Java I", "001", 3, null, 10, "MW", 800, 850);
+		catalog.addCourseToCatalog("CSC216", "Java II", "001", 3, null, 10, "MW", 900, 950);
+		catalog.addCourseToCatalog("CSC226", "Discrete", "001", 3, null, 10, "TH", 800, 850);
+		catalog.addCourseToCatalog("CSC230", "C", "001", 3, null, 10, "TH", 900, 950);
+		final Course[] courses = { catalog.getCourseFromCatalog("CSC116", "001"),
+				catalog.getCourseFromCatalog("CSC216", "001"), catalog.getCourseFromCatalog("CSC226", "001"),
+				catalog.getCourseFromCatalog("CSC230", "001") };
+		manager.getStudentDirectory().addStudent("First", "Last", "racer", "racer@ncsu.edu", "pw", "pw", 18);
+		manager.openLog(logFile, snapshotFile, 0);
+		manager.checkpoint();
+
+		final Session resetting = manager.openSession("racer", "pw");
+		final Session enrolling = manager.openSession("racer", "pw");
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread reset = new Thread(() -> {
+			while (!done.get()) {
+				manager.resetSchedule(resetting);
+			}
+		});
+		Thread enroll = new Thread(() -> {
+			for (int i = 0; i < iterations; i++) {
+				manager.enrollStudentInCourse(enrolling, courses[i % courses.length]);
+			}
+			done.set(true);
+		});
+		reset.start();
+		enroll.start();
+		reset.join();
+		enroll.join();
+		manager.closeSession(resetting);
+		manager.closeSession(enrolling);
+
+		Student racer = manager.getStudentDirectory().getStudentById("racer");
+		Schedule schedule = racer.getSchedule();
+		boolean[] expected = new boolean[courses.length];
+		for (int i = 0; i < courses.length; i++) {
+			boolean scheduled = schedule.contains(courses[i]);
+			assertEquals(scheduled ? 9 : 10, courses[i].getCourseRoll().getOpenSeats());
+			assertEquals(scheduled ? 1 : 0, courses[i].getCourseRoll().getEnrolledStudents().length);
+			expected[i] = scheduled;
+		}
+
+		// Replaying the log gives the same schedule
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		schedule = manager.getStudentDirectory().getStudentById("racer").getSchedule();
+		for (int i = 0; i < courses.length; i++) {
+			Course c = catalog.getCourseFromCatalog(courses[i].getName(), "001");
+			assertEquals(expected[i], schedule.contains(c));
+			assertEquals(expected[i] ? 9 : 10, c.getCourseRoll().getOpenSeats());
+		}
+		manager.closeLog();
+		manager.clearData();
+		new File(logFile).delete();
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that dropping courses while another session of the same student
+	 * enrolls in them leaves every roll matching the schedule, and that replaying
+	 * the log gives the same schedule.
+	 * 
+	 * @throws InterruptedException if a registration thread is interrupted
+	 */
+	@Test
+	public void testConcurrentDropAndEnroll() throws InterruptedException {
+		String logFile = "test-files/actual_operation_log.dat";
+		String snapshotFile = "test-files/actual_checkpoint.dat";
+		manager.logout();
+		final int iterations = 200000;
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC116", "Java I", "001", 3, null, 10, "MW", 800, 850);
+		catalog.addCourseToCatalog("CSC216", "Java II", "001", 3, null, 10, "MW", 900, 950);
+		final Course[] courses = { catalog.getCourseFromCatalog("CSC116", "001"),
+				catalog.getCourseFromCatalog("CSC216", "001") };
+		manager.getStudentDirectory().addStudent("First", "Last", "racer", "racer@ncsu.edu", "pw", "pw", 18);
+		manager.openLog(logFile, snapshotFile, 0);
+		manager.checkpoint();
+
+		final Session dropping = manager.openSession("racer", "pw");
+		final Session enrolling = manager.openSession("racer", "pw");
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread drop = new Thread(() -> {
+			for (int i = 0; !done.get(); i++) {
+				manager.dropStudentFromCourse(dropping, courses[i % courses.length]);
+			}
+		});
+		Thread enroll = new Thread(() -> {
+			for (int i = 0; i < iterations; i++) {
+				manager.enrollStudentInCourse(enrolling, courses[i % courses.length]);
+			}
+			done.set(true);
+		});
+		drop.start();
+		enroll.start();
+		drop.join();
+		enroll.join();
+		manager.closeSession(dropping);
+		manager.closeSession(enrolling);
+
+		Schedule schedule = manager.getStudentDirectory().getStudentById("racer").getSchedule();
+		boolean[] expected = new boolean[courses.length];
+		for (int i = 0; i < courses.length; i++) {
+			boolean scheduled = schedule.contains(courses[i]);
+			assertEquals(scheduled ? 9 : 10, courses[i].getCourseRoll().getOpenSeats());
+			assertEquals(scheduled ? 1 : 0, courses[i].getCourseRoll().getEnrolledStudents().length);
+			expected[i] = scheduled;
+		}
+
+		// Replaying the log gives the same schedule
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		schedule = manager.getStudentDirectory().getStudentById("racer").getSchedule();
+		for (int i = 0; i < courses.length; i++) {
+			Course c = catalog.getCourseFromCatalog(courses[i].getName(), "001");
+			assertEquals(expected[i], schedule.contains(c));
+			assertEquals(expected[i] ? 9 : 10, c.getCourseRoll().getOpenSeats());
+		}
+		manager.closeLog();
+		manager.clearData();
+		new File(logFile).delete();
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that enrolling in an open seat does not wait on the course's roll,
+	 * and that an enrollment that must be waitlisted does
+	 * 
+	 * @throws InterruptedException if a registration thread is interrupted
+	 */
+	@Test
+	public void testEnrollWithoutRollLock() throws InterruptedException {
+		manager.logout();
+		manager.getCourseCatalog().addCourseToCatalog("CSC216", "Java II", "001", 4, null, 10, "MW", 1330, 1445);
+		Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		CourseRoll roll = c.getCourseRoll();
+		final int numStudents = 11;
+		final Session[] userSessions = new Session[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			manager.getStudentDirectory().addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw",
+					"pw", 18);
+			userSessions[i] = manager.openSession("student" + i, "pw");
+		}
+
+		final boolean[] results = new boolean[numStudents];
+		Thread[] threads = new Thread[numStudents];
+		for (int i = 0; i < numStudents; i++) {
+			final int index = i;
+			threads[i] = new Thread(() -> results[index] = manager.enrollStudentInCourse(userSessions[index], c));
+		}
+		synchronized (roll) {
+			for (int i = 0; i < 10; i++) {
+				threads[i].start();
+				threads[i].join(10000);
+				assertFalse(threads[i].isAlive());
+				assertTrue(results[i]);
+			}
+			assertEquals(0, roll.getOpenSeats());
+			threads[10].start();
+			threads[10].join(200);
+			assertTrue(threads[10].isAlive());
+		}
+		threads[10].join();
+		assertTrue(results[10]);
+		assertEquals(1, roll.getNumberOnWaitlist());
+		assertEquals(10, roll.getEnrolledStudents().length);
+		for (int i = 0; i < numStudents; i++) {
+			manager.closeSession(userSessions[i]);
+		}
+	}
+
+	/**
+	 * Tests that seat holds are not logged or saved, so a held seat is open again
+	 * once the log is reopened, and that the promotion made when a hold expires
+	 * is kept by a checkpoint
+	 */
+	@Test
+	public void testSeatHoldsNotLogged() {
+		String logFile = "test-files/actual_operation_log.dat";
+		String snapshotFile = "test-files/actual_checkpoint.dat";
+		manager.logout();
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		catalog.addCourseToCatalog("CSC216", "Java II", "001", 4, null, 10, "MW", 1330, 1445);
+		for (int i = 0; i <= 10; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		manager.openLog(logFile, snapshotFile, 0);
+		manager.checkpoint();
+
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		SeatHolds seatHolds = new SeatHolds(1000, 0);
+		assertNotNull(seatHolds.hold(c.getCourseRoll(), directory.getStudentById("student0"), 0));
+		assertEquals(9, c.getCourseRoll().getOpenSeats());
+
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		c = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(0, c.getCourseRoll().getNumberOfHolds());
+		assertEquals(10, c.getCourseRoll().getOpenSeats());
+
+		// A student waitlisted behind a hold is promoted when it expires
+		seatHolds = new SeatHolds(1000, 0);
+		assertNotNull(seatHolds.hold(c.getCourseRoll(), directory.getStudentById("student0"), 0));
+		for (int i = 1; i <= 10; i++) {
+			Session session = manager.openSession("student" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, c));
+			manager.closeSession(session);
+		}
+		assertEquals(1, c.getCourseRoll().getWaitlistPosition(directory.getStudentById("student10")));
+		assertEquals(1, seatHolds.expire(2000));
+		assertEquals(0, c.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(10, c.getCourseRoll().getEnrolledStudents().length);
+
+		manager.checkpoint();
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		c = catalog.getCourseFromCatalog("CSC216", "001");
+		Student promoted = directory.getStudentById("student10");
+		assertEquals(0, c.getCourseRoll().getNumberOnWaitlist());
+		assertTrue(promoted.getSchedule().contains(c));
+		assertTrue(Arrays.asList(c.getCourseRoll().getEnrolledStudents()).contains(promoted));
+		manager.closeLog();
+		manager.clearData();
+		new File(logFile).delete();
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that setEnrollmentCap and dropStudentsFromCourse report the
+	 * promotions they make, and that replaying the log repeats them
+	 */
+	@Test
+	public void testRegistrarPromotionsLogged() {
+		String logFile = "test-files/actual_operation_log.dat";
+		String snapshotFile = "test-files/actual_checkpoint.dat";
+		manager.logout();
+		CourseCatalog catalog = manager.getCourseCatalog();
+		StudentDirectory directory = manager.getStudentDirectory();
+		catalog.addCourseToCatalog("CSC216", "Java II", "001", 4, null, 10, "MW", 1330, 1445);
+		for (int i = 0; i < 15; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		manager.openLog(logFile, snapshotFile, 0);
+		manager.checkpoint();
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		for (int i = 0; i < 14; i++) {
+			Session session = manager.openSession("student" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(session, c));
+			manager.closeSession(session);
+		}
+		assertEquals(4, c.getCourseRoll().getNumberOnWaitlist());
+
+		try {
+			manager.setEnrollmentCap(c, 12);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Must be logged in as registrar.", e.getMessage());
+		}
+		try {
+			manager.dropStudentsFromCourse(c, new Student[0]);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Must be logged in as registrar.", e.getMessage());
+		}
+		manager.login("registrar", "Regi5tr@r");
+
+		// Raising the cap promotes from the waitlist
+		PromotionReport report = manager.setEnrollmentCap(c, 12);
+		assertEquals(2, report.getNumberPromoted());
+		assertEquals(directory.getStudentById("student10"), report.getStudent(0));
+		assertEquals(directory.getStudentById("student11"), report.getStudent(1));
+
+		// Dropping enrolled and waitlisted students fills the freed seats at once
+		report = manager.dropStudentsFromCourse(c,
+				new Student[] { directory.getStudentById("student0"), directory.getStudentById("student1"),
+						directory.getStudentById("student12"), directory.getStudentById("student14") });
+		assertEquals(1, report.size());
+		assertEquals(directory.getStudentById("student13"), report.getPromoted()[0]);
+		assertEquals(1, c.getCourseRoll().getOpenSeats());
+		assertEquals(0, c.getCourseRoll().getNumberOnWaitlist());
+
+		// Lowering the cap promotes no one
+		assertEquals(0, manager.setEnrollmentCap(c, 11).size());
+		assertEquals(0, c.getCourseRoll().getOpenSeats());
+		try {
+			manager.setEnrollmentCap(c, 9);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(11, c.getCourseRoll().getEnrollmentCap());
+		}
+		try {
+			manager.dropStudentsFromCourse(c, new Student[] { null });
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(11, c.getCourseRoll().getEnrolledStudents().length);
+		}
+		manager.logout();
+
+		// Replaying the log makes the same promotions
+		manager.closeLog();
+		manager.clearData();
+		manager.openLog(logFile, snapshotFile, 0);
+		c = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(11, c.getCourseRoll().getEnrollmentCap());
+		assertEquals(0, c.getCourseRoll().getOpenSeats());
+		assertEquals(0, c.getCourseRoll().getNumberOnWaitlist());
+		for (int i = 0; i < 15; i++) {
+			boolean dropped = i == 0 || i == 1 || i == 12 || i == 14;
+			Student s = directory.getStudentById("student" + i);
+			assertEquals(!dropped, s.getSchedule().contains(c));
+			assertEquals(!dropped, Arrays.asList(c.getCourseRoll().getEnrolledStudents()).contains(s));
+		}
+		manager.closeLog();
+		manager.clearData();
+		new File(logFile).delete();
+		new File(snapshotFile).delete();
+	}
+
+	/**
+	 * Tests that enrollStudentsInCourses applies each row under the usual
+	 * enrollment rules, fills courses and their waitlists in row order, and
+	 * reports the result of every row
+	 */
+	@Test
+	public void testEnrollStudentsInCourses() {
+		manager.logout();
+		StudentDirectory directory = manager.getStudentDirectory();
+		directory.loadStudentsFromFile("test-files/student_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.loadCoursesFromFile("test-files/course_records.txt");
+		String[][] rows = { { "zking", "CSC216", "001" }, { "zking", "CSC216", "002" },
+				{ "cschwartz", "CSC216", "001" }, { "cschwartz", "CSC226", "001" }, { "nobody", "CSC216", "001" },
+				{ "zking", "CSC999", "001" }, { "zking" }, { "zking", "CSC216", "001" }, null };
+		try {
+			manager.enrollStudentsInCourses(rows);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Must be logged in as registrar.", e.getMessage());
+		}
+		manager.login("registrar", "Regi5tr@r");
+
+		BulkEnrollmentReport report = manager.enrollStudentsInCourses(rows);
+		assertEquals(rows.length, report.size());
+		assertEquals(BulkEnrollmentReport.ENROLLED, report.getResult(0));
+		assertEquals(BulkEnrollmentReport.CONFLICT, report.getResult(1));
+		assertEquals(BulkEnrollmentReport.ENROLLED, report.getResult(2));
+		assertEquals(BulkEnrollmentReport.OVER_CREDITS, report.getResult(3));
+		assertEquals(BulkEnrollmentReport.UNKNOWN_STUDENT, report.getResult(4));
+		assertEquals(BulkEnrollmentReport.UNKNOWN_COURSE, report.getResult(5));
+		assertEquals(BulkEnrollmentReport.INVALID_ROW, report.getResult(6));
+		assertEquals(BulkEnrollmentReport.ALREADY_ENROLLED, report.getResult(7));
+		assertEquals(BulkEnrollmentReport.INVALID_ROW, report.getResult(8));
+		assertEquals(2, report.getCount(BulkEnrollmentReport.ENROLLED));
+		assertEquals(8, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getOpenSeats());
+		assertEquals(4, directory.getStudentById("zking").getSchedule().getScheduleCredits());
+
+		// Rows beyond the roll and waitlist are reported as full
+		String[][] cohort = new String[21][];
+		for (int i = 0; i < cohort.length; i++) {
+			directory.addStudent("First", "Last", "cohort" + i, "cohort" + i + "@ncsu.edu", "pw", "pw", 18);
+			cohort[i] = new String[] { "cohort" + i, "CSC230", "001" };
+		}
+		report = manager.enrollStudentsInCourses(cohort);
+		assertEquals(10, report.getCount(BulkEnrollmentReport.ENROLLED));
+		assertEquals(10, report.getCount(BulkEnrollmentReport.WAITLISTED));
+		assertEquals(BulkEnrollmentReport.WAITLISTED, report.getResult(10));
+		assertEquals(BulkEnrollmentReport.FULL, report.getResult(20));
+		assertEquals(0, directory.getStudentById("cohort20").getSchedule().getScheduleCredits());
+		assertEquals(3, directory.getStudentById("cohort19").getSchedule().getScheduleCredits());
+		try {
+			report.getCount(9);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid result.", e.getMessage());
+		}
+		manager.logout();
+	}
+}
@@ -6,6 +6,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
 
 /**
  * Class tests Schedule class for proper behavior
@@ -169,6 +170,48 @@ public class ScheduleTest {
 		assertTrue(testSchedule.addCourseToSchedule(COURSE5));
 		assertEquals(5, testSchedule.getScheduledCourses().length);
 		assertEquals(16, testSchedule.getScheduleCredits());
+
+		// The total follows removals, failed adds, resets, and restores
+		assertTrue(testSchedule.removeCourseFromSchedule(COURSE5));
+		assertFalse(testSchedule.removeCourseFromSchedule(COURSE5));
+		try {
+			testSchedule.addCourseToSchedule(COURSEDUPE);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(12, testSchedule.getScheduleCredits());
+		}
+		testSchedule.resetSchedule();
+		assertEquals(0, testSchedule.getScheduleCredits());
+		testSchedule.restore("Restored", new Course[] { COURSE5, COURSEMIA });
+		assertEquals(7, testSchedule.getScheduleCredits());
+		assertEquals(2, testSchedule.getScheduledCourses().length);
+	}
+
+	/**
+	 * Tests that getScheduledCourses keeps each course's row in schedule order,
+	 * shows current open seats and meeting times, and cannot be changed through
+	 * the returned array
+	 */
+	@Test
+	public void testGetScheduledCourses() {
+		Course potions = new Course("CH330", "Advanced Potions", "001", 4, "ssnape", 10, "TH", 900, 1130);
+		assertTrue(testSchedule.addCourseToSchedule(COURSE1));
+		assertTrue(testSchedule.addCourseToSchedule(potions));
+		assertTrue(testSchedule.addCourseToSchedule(COURSE3));
+		assertTrue(testSchedule.removeCourseFromSchedule(COURSE1));
+		String[][] rows = testSchedule.getScheduledCourses();
+		assertEquals(2, rows.length);
+		assertArrayEquals(potions.getShortDisplayArray(), rows[0]);
+		assertArrayEquals(COURSE3.getShortDisplayArray(), rows[1]);
+		assertEquals("10", rows[0][4]);
+
+		potions.getCourseRoll().enroll(new Student("Harry", "Potter", "hpotter", "hpotter@ncsu.edu", "pw"));
+		potions.setMeetingDays("MW");
+		rows[1][0] = "changed";
+		rows = testSchedule.getScheduledCourses();
+		assertEquals("9", rows[0][4]);
+		assertEquals(potions.getMeetingString(), rows[0][3]);
+		assertArrayEquals(COURSE3.getShortDisplayArray(), rows[1]);
 	}
 
 	/**
@@ -137,4 +137,53 @@ public class ArrayQueueTest {
 		assertEquals(6, queue.size());
 		assertEquals(STRING1, queue.dequeue());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that elements keep their order as the buffer wraps around and grows,
+	 * and that a dequeued element may be added again
+	 */
+	@Test
+	public void testWrapAround() {
+		ArrayQueue<Integer> numbers = new ArrayQueue<Integer>(1000);
+		int next = 0;
+		int expected = 0;
+		for (int round = 0; round < 50; round++) {
+			for (int i = 0; i < 2 + round % 7; i++) {
+				numbers.enqueue(next++);
+			}
+			for (int i = 0; i < 1 + round % 5 && !numbers.isEmpty(); i++) {
+				assertEquals(expected++, (int) numbers.dequeue());
+			}
+		}
+		assertEquals(next - expected, numbers.size());
+		assertTrue(numbers.contains(expected));
+		assertFalse(numbers.contains(expected - 1));
+		int readded = expected - 1;
+		numbers.enqueue(readded);
+		while (numbers.size() > 1) {
+			assertEquals(expected++, (int) numbers.dequeue());
+		}
+		assertEquals(readded, (int) numbers.dequeue());
+		assertTrue(numbers.isEmpty());
+	}
+
+	/**
+	 * Tests a queue that allows duplicate elements
+	 */
+	@Test
+	public void testAllowDuplicates() {
+		queue = new ArrayQueue<String>(3, false);
+		queue.enqueue(STRING1);
+		queue.enqueue(STRING1);
+		assertTrue(queue.contains(STRING1));
+		assertFalse(queue.contains(STRING2));
+		assertEquals(STRING1, queue.dequeue());
+		assertTrue(queue.contains(STRING1));
+		try {
+			queue.enqueue(null);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals(1, queue.size());
+		}
+	}
+}
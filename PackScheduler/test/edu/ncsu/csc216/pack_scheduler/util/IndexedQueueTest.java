@@ -0,0 +1,175 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests IndexedQueue class for proper functionality and exception handling
+ * 
+ * @author Nick Garner
+ *
+ */
+public class IndexedQueueTest {
+
+	/** Queue object to test */
+	private IndexedQueue<String> queue;
+	/** String object to test with Queue */
+	private static final String STRING1 = "first";
+	/** String object to test with Queue */
+	private static final String STRING2 = "second";
+	/** String object to test with Queue */
+	private static final String STRING3 = "third";
+	/** String object to test with Queue */
+	private static final String STRING4 = "fourth";
+
+	/**
+	 * Runs before each test to instantiate a new IndexedQueue object for testing
+	 * 
+	 * @throws Exception If an error occurs during setup
+	 */
+	@Before
+	public void setUp() throws Exception {
+		queue = new IndexedQueue<String>(3);
+	}
+
+	/**
+	 * Tests that enqueue properly throws exceptions for null or duplicate
+	 * elements or full queue, and that dequeue returns elements in order
+	 */
+	@Test
+	public void testEnqueueDequeue() {
+		assertTrue(queue.isEmpty());
+		queue.enqueue(STRING1);
+		queue.enqueue(STRING2);
+		try {
+			queue.enqueue(STRING2);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Object to add cannot be a duplicate", e.getMessage());
+		}
+		try {
+			queue.enqueue(null);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals(2, queue.size());
+		}
+		queue.enqueue(STRING3);
+		try {
+			queue.enqueue(STRING4);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Queue is full.", e.getMessage());
+		}
+		assertEquals(STRING1, queue.dequeue());
+		assertEquals(STRING2, queue.dequeue());
+		assertEquals(STRING3, queue.dequeue());
+		try {
+			queue.dequeue();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertTrue(queue.isEmpty());
+		}
+	}
+
+	/**
+	 * Tests contains, remove, and positionOf for elements anywhere in the queue
+	 */
+	@Test
+	public void testRemoveAndPosition() {
+		queue.enqueue(STRING1);
+		queue.enqueue(STRING2);
+		queue.enqueue(STRING3);
+		assertTrue(queue.contains(STRING2));
+		assertEquals(2, queue.positionOf(STRING2));
+		assertEquals(0, queue.positionOf(STRING4));
+		assertTrue(queue.remove(STRING2));
+		assertFalse(queue.remove(STRING2));
+		assertFalse(queue.contains(STRING2));
+		assertEquals(2, queue.positionOf(STRING3));
+		queue.enqueue(STRING2);
+		assertEquals(3, queue.positionOf(STRING2));
+		Iterator<String> it = queue.iterator();
+		assertEquals(STRING1, it.next());
+		assertEquals(STRING3, it.next());
+		assertEquals(STRING2, it.next());
+		assertFalse(it.hasNext());
+		try {
+			it.remove();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(3, queue.size());
+		}
+	}
+
+	/**
+	 * Tests positions stay correct over many more elements than the initial
+	 * ticket range, with removals from the front and middle
+	 */
+	@Test
+	public void testManyElements() {
+		IndexedQueue<Integer> numbers = new IndexedQueue<Integer>(1000);
+		java.util.LinkedList<Integer> expected = new java.util.LinkedList<Integer>();
+		for (int i = 0; i < 5000; i++) {
+			numbers.enqueue(i);
+			expected.add(i);
+			if (i % 3 == 0) {
+				assertEquals(expected.removeFirst(), numbers.dequeue());
+			}
+			if (i % 7 == 0 && !expected.isEmpty()) {
+				Integer middle = expected.remove(expected.size() / 2);
+				assertTrue(numbers.remove(middle));
+			}
+			if (expected.size() > 900) {
+				assertEquals(expected.removeFirst(), numbers.dequeue());
+			}
+		}
+		assertEquals(expected.size(), numbers.size());
+		for (int i = 0; i < expected.size(); i += 17) {
+			assertEquals(i + 1, numbers.positionOf(expected.get(i)));
+		}
+		numbers.setCapacity(numbers.size());
+		try {
+			numbers.setCapacity(numbers.size() - 1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Capacity is invalid.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that elements keyed by a function are still found after their equals
+	 * and hashCode change, and that elements with equal keys are duplicates
+	 */
+	@Test
+	public void testKey() {
+		IndexedQueue<StringBuilder> builders = new IndexedQueue<StringBuilder>(3, b -> b.charAt(0));
+		StringBuilder first = new StringBuilder("a");
+		StringBuilder second = new StringBuilder("b");
+		builders.enqueue(first);
+		builders.enqueue(second);
+		try {
+			builders.enqueue(new StringBuilder("a2"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Object to add cannot be a duplicate", e.getMessage());
+		}
+		second.append("cd");
+		assertTrue(builders.contains(second));
+		assertEquals(2, builders.positionOf(second));
+		assertEquals(0, builders.positionOf(new StringBuilder("c")));
+		assertTrue(builders.remove(second));
+		assertEquals(1, builders.size());
+		assertEquals(first, builders.dequeue());
+		try {
+			new IndexedQueue<String>(3, null);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals("Key cannot be null", e.getMessage());
+		}
+	}
+}
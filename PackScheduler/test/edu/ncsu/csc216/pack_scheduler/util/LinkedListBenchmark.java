@@ -0,0 +1,186 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Iterator;
+
+/**
+ * Benchmark comparing LinkedListRecursive against LinkedListIterative at list
+ * sizes from 10 to 1,000,000. Each list is built with add, then timed while it
+ * gets and sets its last element, searches for an element it does not hold,
+ * and visits every element in order. The recursive list visits its elements
+ * with get, and the iterative list with its iterator. Every add checks for
+ * duplicates, so building a list with add takes time proportional to the
+ * square of its size, and lists larger than ADD_LIMIT are built with addAll
+ * instead, which only the iterative list has. The recursive list is built
+ * once at those sizes, to report the size it reached before a
+ * StackOverflowError. Not a unit test; run the main method directly.
+ *
+ * @author Nick Garner
+ *
+ */
+public class LinkedListBenchmark {
+
+	/** List sizes to measure */
+	private static final int[] SIZES = { 10, 100, 1000, 10000, 100000, 1000000 };
+	/** Largest list built with add */
+	private static final int ADD_LIMIT = 10000;
+	/** Largest list visited with get, which walks from the front each time */
+	private static final int GET_LIMIT = 10000;
+	/** Times each get, set, and contains is repeated per run */
+	private static final int REPEAT = 100;
+	/** Untimed runs before measuring */
+	private static final int WARMUP = 3;
+	/** Timed runs */
+	private static final int RUNS = 5;
+	/** Label of each column */
+	private static final String[] LABELS = { "add", "get last", "set last", "contains", "visit" };
+
+	/**
+	 * Reports the average time of each operation for each list and size.
+	 *
+	 * @param args Unused
+	 */
+	public static void main(String[] args) {
+		for (int i = 0; i < SIZES.length; i++) {
+			Integer[] elements = new Integer[SIZES[i]];
+			for (int j = 0; j < elements.length; j++) {
+				elements[j] = j;
+			}
+			long checksum = 0;
+			for (int run = 0; run < WARMUP; run++) {
+				if (SIZES[i] <= ADD_LIMIT) {
+					checksum += runRecursive(elements, new long[LABELS.length]);
+				}
+				checksum += runIterative(elements, new long[LABELS.length]);
+			}
+			long[] recursive = new long[LABELS.length];
+			long[] iterative = new long[LABELS.length];
+			for (int run = 0; run < RUNS; run++) {
+				if (SIZES[i] <= ADD_LIMIT || run == 0) {
+					checksum += runRecursive(elements, recursive);
+				}
+				checksum += runIterative(elements, iterative);
+			}
+			report("LinkedListRecursive", SIZES[i], recursive, checksum);
+			report("LinkedListIterative", SIZES[i], iterative, checksum);
+		}
+	}
+
+	/**
+	 * Prints the average time of each operation for one list and size
+	 *
+	 * @param label    Name of the list
+	 * @param size     Number of elements in the list
+	 * @param nanos    Elapsed nanoseconds of each operation over all runs, or -1
+	 *                 if it was not measured. The first is the negated size of
+	 *                 the list if it ran out of stack.
+	 * @param checksum Checksum of the elements returned
+	 */
+	private static void report(String label, int size, long[] nanos, long checksum) {
+		StringBuilder line = new StringBuilder(String.format("%-20s %8d", label, size));
+		if (nanos[0] < 0) {
+			line.append(String.format("  stack overflow after %d elements", -nanos[0]));
+		} else {
+			for (int i = 0; i < LABELS.length; i++) {
+				if (nanos[i] < 0) {
+					line.append(String.format("  %s %12s", LABELS[i], "-"));
+				} else {
+					long ops = (long) RUNS * (i == 0 || i == LABELS.length - 1 ? size : REPEAT);
+					line.append(String.format("  %s %9.1f ns", LABELS[i], (double) nanos[i] / ops));
+				}
+			}
+		}
+		System.out.println(line.append(String.format("  (checksum %d)", checksum)));
+	}
+
+	/**
+	 * Builds a LinkedListRecursive of the elements and times its operations
+	 *
+	 * @param elements Elements to add
+	 * @param nanos    Elapsed nanoseconds of each operation, added to
+	 * @return Checksum of the elements returned
+	 */
+	private static long runRecursive(Integer[] elements, long[] nanos) {
+		LinkedListRecursive<Integer> list = new LinkedListRecursive<Integer>();
+		int last = elements.length - 1;
+		long checksum = 0;
+		try {
+			long start = System.nanoTime();
+			for (int i = 0; i < elements.length; i++) {
+				list.add(elements[i]);
+			}
+			long added = System.nanoTime();
+			for (int k = 0; k < REPEAT; k++) {
+				checksum += list.get(last);
+			}
+			long got = System.nanoTime();
+			for (int k = 0; k < REPEAT; k++) {
+				checksum += list.set(last, elements.length + k);
+			}
+			long set = System.nanoTime();
+			for (int k = 0; k < REPEAT; k++) {
+				checksum += list.contains(-1) ? 1 : 0;
+			}
+			long searched = System.nanoTime();
+			nanos[0] += added - start;
+			nanos[1] += got - added;
+			nanos[2] += set - got;
+			nanos[3] += searched - set;
+			if (elements.length <= GET_LIMIT) {
+				for (int i = 0; i < elements.length; i++) {
+					checksum += list.get(i);
+				}
+				nanos[4] += System.nanoTime() - searched;
+			} else {
+				nanos[4] = -1;
+			}
+		} catch (StackOverflowError e) {
+			nanos[0] = -list.size();
+		}
+		return checksum;
+	}
+
+	/**
+	 * Builds a LinkedListIterative of the elements and times its operations
+	 *
+	 * @param elements Elements to add
+	 * @param nanos    Elapsed nanoseconds of each operation, added to
+	 * @return Checksum of the elements returned
+	 */
+	private static long runIterative(Integer[] elements, long[] nanos) {
+		LinkedListIterative<Integer> list = new LinkedListIterative<Integer>();
+		int last = elements.length - 1;
+		long checksum = 0;
+		long start = System.nanoTime();
+		if (elements.length <= ADD_LIMIT) {
+			for (int i = 0; i < elements.length; i++) {
+				list.add(elements[i]);
+			}
+		} else {
+			list.addAll(elements);
+		}
+		long added = System.nanoTime();
+		for (int k = 0; k < REPEAT; k++) {
+			checksum += list.get(last);
+		}
+		long got = System.nanoTime();
+		for (int k = 0; k < REPEAT; k++) {
+			checksum += list.set(last, elements.length + k);
+		}
+		long set = System.nanoTime();
+		for (int k = 0; k < REPEAT; k++) {
+			checksum += list.contains(-1) ? 1 : 0;
+		}
+		long searched = System.nanoTime();
+		Iterator<Integer> it = list.iterator();
+		while (it.hasNext()) {
+			checksum += it.next();
+		}
+		long visited = System.nanoTime();
+		nanos[0] += added - start;
+		nanos[1] += got - added;
+		nanos[2] += set - got;
+		nanos[3] += searched - set;
+		nanos[4] += visited - searched;
+		return checksum;
+	}
+}
@@ -285,6 +285,55 @@ public class LinkedListTest {
 		}
 	}
 
+	/**
+	 * Tests that addAll adds elements to the end of the list in order, and adds
+	 * nothing when an element is null or a duplicate
+	 */
+	@Test
+	public void testAddAll() {
+		assertTrue(testList.add(STRING1));
+		testList.addAll(new String[] { STRING2, STRING3 });
+		assertEquals(3, testList.size());
+		assertEquals(STRING1, testList.get(0));
+		assertEquals(STRING3, testList.get(2));
+
+		// Duplicate of an element already in the list
+		try {
+			testList.addAll(new String[] { STRING4, STRING1 });
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("List cannot contain duplicate elements.", e.getMessage());
+			assertEquals(3, testList.size());
+		}
+
+		// Duplicate within the elements added
+		try {
+			testList.addAll(new String[] { STRING10, STRING4, STRINGDUPE });
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("List cannot contain duplicate elements.", e.getMessage());
+			assertEquals(3, testList.size());
+		}
+
+		// Null element
+		try {
+			testList.addAll(new String[] { STRING4, STRINGNULL });
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals("Object to add cannot be null.", e.getMessage());
+			assertEquals(3, testList.size());
+		}
+
+		// The list links both ways after a bulk add
+		testList.addAll(new String[] { STRING4 });
+		assertTrue(testList.add(STRING5));
+		assertEquals(STRING5, testList.get(4));
+		ListIterator<String> it = testList.listIterator(5);
+		assertEquals(STRING5, it.previous());
+		assertEquals(STRING4, it.previous());
+		assertEquals(STRING3, it.previous());
+	}
+
 	/**
 	 * Tests LinkedListIterator inner class methods
 	 */
@@ -0,0 +1,84 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+/**
+ * Benchmark comparing ArrayQueue against LinkedQueue at waitlist sizes from 10
+ * to 100,000. Each queue is filled to the size being measured, then timed
+ * while it cycles elements through, dequeuing one for every one enqueued as a
+ * waitlist does when seats open. Not a unit test; run the main method
+ * directly.
+ *
+ * @author Nick Garner
+ *
+ */
+public class QueueBenchmark {
+
+	/** Waitlist sizes to measure */
+	private static final int[] SIZES = { 10, 100, 1000, 10000, 100000 };
+	/** Timed enqueue and dequeue pairs per run */
+	private static final int OPERATIONS = 20000;
+	/** Untimed runs before measuring */
+	private static final int WARMUP = 3;
+	/** Timed runs */
+	private static final int RUNS = 5;
+	/** Measure an ArrayQueue that rejects duplicates */
+	private static final int ARRAY = 0;
+	/** Measure an ArrayQueue that allows duplicates */
+	private static final int ARRAY_NO_DUPLICATE_CHECK = 1;
+	/** Measure a LinkedQueue */
+	private static final int LINKED = 2;
+	/** Label of each kind of queue */
+	private static final String[] LABELS = { "ArrayQueue", "ArrayQueue (duplicates allowed)", "LinkedQueue" };
+
+	/**
+	 * Reports the average time of an enqueue and dequeue pair for each queue and
+	 * size.
+	 *
+	 * @param args Unused
+	 */
+	public static void main(String[] args) {
+		for (int i = 0; i < SIZES.length; i++) {
+			for (int kind = ARRAY; kind <= LINKED; kind++) {
+				long checksum = 0;
+				for (int run = 0; run < WARMUP; run++) {
+					checksum += cycle(kind, SIZES[i], OPERATIONS)[1];
+				}
+				long nanos = 0;
+				for (int run = 0; run < RUNS; run++) {
+					long[] result = cycle(kind, SIZES[i], OPERATIONS);
+					nanos += result[0];
+					checksum += result[1];
+				}
+				System.out.printf("%-32s %7d waiting %10.1f ns/op (checksum %d)%n", LABELS[kind], SIZES[i],
+						(double) nanos / RUNS / OPERATIONS, checksum);
+			}
+		}
+	}
+
+	/**
+	 * Fills a new queue to the given size, then times enqueue and dequeue pairs
+	 *
+	 * @param kind       ARRAY, ARRAY_NO_DUPLICATE_CHECK, or LINKED
+	 * @param size       Number of elements waiting in the queue
+	 * @param operations Number of timed pairs
+	 * @return Elapsed nanoseconds of the timed pairs, and a checksum of the
+	 *         dequeued elements
+	 */
+	private static long[] cycle(int kind, int size, int operations) {
+		Queue<Integer> queue;
+		if (kind == LINKED) {
+			queue = new LinkedQueue<Integer>(size + 1);
+		} else {
+			queue = new ArrayQueue<Integer>(size + 1, kind == ARRAY);
+		}
+		for (int i = 0; i < size; i++) {
+			queue.enqueue(i);
+		}
+		long checksum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < operations; i++) {
+			queue.enqueue(size + i);
+			checksum += queue.dequeue();
+		}
+		return new long[] { System.nanoTime() - start, checksum };
+	}
+}
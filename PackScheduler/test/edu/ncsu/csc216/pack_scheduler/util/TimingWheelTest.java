@@ -0,0 +1,135 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests TimingWheel class for proper functionality and exception handling
+ * 
+ * @author Nick Garner
+ *
+ */
+public class TimingWheelTest {
+
+	/** TimingWheel object to test, with ticks of 10 and 8 buckets */
+	private TimingWheel<String> wheel;
+
+	/**
+	 * Runs before each test to instantiate a new TimingWheel object starting at
+	 * time 1000
+	 * 
+	 * @throws Exception If an error occurs during setup
+	 */
+	@Before
+	public void setUp() throws Exception {
+		wheel = new TimingWheel<String>(10, 8, 1000);
+	}
+
+	/**
+	 * Tests that the constructor rejects invalid sizes
+	 */
+	@Test
+	public void testTimingWheel() {
+		try {
+			new TimingWheel<String>(0, 8, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Timing wheel size is invalid.", e.getMessage());
+		}
+		try {
+			new TimingWheel<String>(10, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Timing wheel size is invalid.", e.getMessage());
+		}
+		assertTrue(wheel.isEmpty());
+	}
+
+	/**
+	 * Tests that elements expire once their deadlines pass and never before
+	 */
+	@Test
+	public void testAdvance() {
+		wheel.schedule("a", 1005);
+		wheel.schedule("b", 1030);
+		wheel.schedule("c", 1036);
+		try {
+			wheel.schedule(null, 1000);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals(3, wheel.size());
+		}
+		assertTrue(wheel.advance(1004).isEmpty());
+		assertEquals(Collections.singletonList("a"), wheel.advance(1005));
+		assertTrue(wheel.advance(1029).isEmpty());
+		assertEquals(Collections.singletonList("b"), wheel.advance(1030));
+		assertTrue(wheel.advance(1035).isEmpty());
+		assertEquals(Collections.singletonList("c"), wheel.advance(1040));
+		assertTrue(wheel.isEmpty());
+
+		// Times before the last advance expire nothing, and past deadlines expire
+		// on the next advance
+		assertTrue(wheel.advance(900).isEmpty());
+		wheel.schedule("d", 500);
+		assertEquals(Collections.singletonList("d"), wheel.advance(1040));
+	}
+
+	/**
+	 * Tests that elements further away than one turn of the wheel expire on the
+	 * turn they are due, including after advancing past many turns at once
+	 */
+	@Test
+	public void testRounds() {
+		// The wheel covers 80 time units per turn
+		wheel.schedule("near", 1050);
+		wheel.schedule("far", 1050 + 80 * 3);
+		assertEquals(Collections.singletonList("near"), wheel.advance(1100));
+		assertTrue(wheel.advance(1200).isEmpty());
+		assertEquals(1, wheel.size());
+		assertEquals(Collections.singletonList("far"), wheel.advance(1300));
+
+		for (int i = 0; i < 100; i++) {
+			wheel.schedule("e" + i, 1301 + 7 * i);
+		}
+		List<String> expired = wheel.advance(1301 + 7 * 49);
+		assertEquals(50, expired.size());
+		for (int i = 0; i < 50; i++) {
+			assertTrue(expired.contains("e" + i));
+		}
+		assertEquals(50, wheel.size());
+		assertEquals(50, wheel.advance(100000).size());
+		assertTrue(wheel.isEmpty());
+	}
+
+	/**
+	 * Tests that cancelled elements do not expire and that each Timer can only be
+	 * cancelled once
+	 */
+	@Test
+	public void testCancel() {
+		TimingWheel.Timer<String> first = wheel.schedule("first", 1020);
+		TimingWheel.Timer<String> second = wheel.schedule("second", 1020);
+		TimingWheel.Timer<String> third = wheel.schedule("third", 1020);
+		assertEquals("second", second.getElement());
+		assertEquals(1020, second.getDeadline());
+		assertTrue(second.isPending());
+
+		assertTrue(wheel.cancel(second));
+		assertFalse(second.isPending());
+		assertFalse(wheel.cancel(second));
+		assertFalse(wheel.cancel(null));
+		assertFalse(new TimingWheel<String>(10, 8, 1000).cancel(first));
+		assertTrue(wheel.cancel(third));
+		assertEquals(1, wheel.size());
+
+		assertEquals(Collections.singletonList("first"), wheel.advance(1020));
+		assertFalse(first.isPending());
+		assertFalse(wheel.cancel(first));
+		assertTrue(wheel.isEmpty());
+	}
+}